@@ -15,9 +15,11 @@
  */
 package reactor.aeron;
 
+import java.io.File;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import reactor.aeron.publisher.AeronProcessor;
 import reactor.aeron.subscriber.AeronSubscriber;
@@ -26,10 +28,16 @@ import reactor.aeron.utils.AeronUtils;
 import reactor.aeron.utils.BasicAeronInfra;
 import reactor.aeron.utils.BasicExceptionSerializer;
 import reactor.aeron.utils.Serializer;
+import reactor.aeron.utils.SharedPollerRunner;
+import reactor.aeron.utils.SlowConsumerPolicy;
 import reactor.core.util.Logger;
 import reactor.core.util.PlatformDependent;
 import uk.co.real_logic.aeron.Aeron;
+import uk.co.real_logic.aeron.driver.Configuration;
+import uk.co.real_logic.aeron.driver.MediaDriver;
+import uk.co.real_logic.aeron.driver.ThreadingMode;
 import uk.co.real_logic.aeron.logbuffer.FragmentHandler;
+import uk.co.real_logic.agrona.concurrent.IdleStrategy;
 
 /**
  *
@@ -39,6 +47,8 @@ import uk.co.real_logic.aeron.logbuffer.FragmentHandler;
  */
 public class Context {
 
+	private static final Logger logger = Logger.getLogger(Context.class);
+
 	public static final int DEFAULT_SIGNAL_STREAM_ID = 1;
 
 	/**
@@ -72,6 +82,60 @@ public class Context {
 	 */
 	private Aeron aeron;
 
+	/**
+	 * Threading mode of the embedded media driver, the driver default is used when null.
+	 * The embedded media driver settings are applied only by the functionality which launches it
+	 * and are ignored when {@link #aeron} is provided
+	 */
+	private ThreadingMode driverThreadingMode;
+
+	/**
+	 * Idle strategy of the embedded media driver conductor, also used by all the driver agents
+	 * in {@link ThreadingMode#SHARED} mode. The driver default is used when null
+	 */
+	private Supplier<IdleStrategy> driverConductorIdleStrategy;
+
+	/**
+	 * Idle strategy of the embedded media driver sender, also used by the receiver
+	 * in {@link ThreadingMode#SHARED_NETWORK} mode. The driver default is used when null
+	 */
+	private Supplier<IdleStrategy> driverSenderIdleStrategy;
+
+	/**
+	 * Idle strategy of the embedded media driver receiver, the driver default is used when null
+	 */
+	private Supplier<IdleStrategy> driverReceiverIdleStrategy;
+
+	/**
+	 * Length of publication term buffers of the embedded media driver, the driver default is used when 0
+	 */
+	private int driverTermBufferLength = 0;
+
+	/**
+	 * MTU of the embedded media driver, the driver default is used when 0
+	 */
+	private int driverMtuLength = 0;
+
+	/**
+	 * SO_SNDBUF of the embedded media driver sockets, the OS default is used when 0.
+	 * The driver only reads it from system property {@link Configuration#SOCKET_SNDBUF_LENGTH_PROP_NAME},
+	 * a warning is logged when the driver uses another value
+	 */
+	private int driverSocketSndbufLength = 0;
+
+	/**
+	 * SO_RCVBUF of the embedded media driver sockets, the OS default is used when 0.
+	 * The driver only reads it from system property {@link Configuration#SOCKET_RCVBUF_LENGTH_PROP_NAME},
+	 * a warning is logged when the driver uses another value
+	 */
+	private int driverSocketRcvbufLength = 0;
+
+	/**
+	 * If the Aeron directory of the embedded media driver is placed on /dev/shm or into the temp directory,
+	 * the driver default is used when null
+	 */
+	private Boolean driverAeronDirOnShm;
+
 	/**
 	 * Number of fragments that could be read by the signals receiver during
 	 * a single call to {@link uk.co.real_logic.aeron.Subscription#poll(FragmentHandler, int)}
@@ -86,6 +150,109 @@ public class Context {
 	 */
 	private int serviceMessagePollerFragmentLimit = 1;
 
+	/**
+	 * Demand requested from the signals receiver is accumulated and sent to the signals sender
+	 * in a single Request service message once per poll of the receiver. Accumulated demand reaching
+	 * this value is sent immediately by the requesting thread, 1 to send every request on its own
+	 */
+	private long requestCoalescingLimit = 64;
+
+	/**
+	 * If the signals receiver should deliver Next signals as a read-only view over
+	 * the Aeron term buffer instead of a copy. The view is reused and only valid until
+	 * {@link org.reactivestreams.Subscriber#onNext(Object)} returns, a subscriber
+	 * keeping it longer should call {@link reactor.io.buffer.Buffer#copy()}
+	 */
+	private boolean zeroCopySignals = false;
+
+	/**
+	 * Max size in bytes of a message packing several Next signals together,
+	 * 0 to publish every Next signal as a message of its own.
+	 * A batch is additionally limited to the max payload of a single frame, i.e. the driver MTU
+	 */
+	private int signalBatchSize = 0;
+
+	/**
+	 * Max time in milliseconds a Next signal waits for more signals
+	 * to be packed with when {@link #signalBatchSize} is enabled
+	 */
+	private long signalBatchLingerMillis = 1;
+
+	/**
+	 * Creates an idle strategy for the signals receiver of every subscription,
+	 * e.g. {@link uk.co.real_logic.agrona.concurrent.BusySpinIdleStrategy} to trade
+	 * a dedicated core for the lowest latency or
+	 * {@link uk.co.real_logic.agrona.concurrent.SleepingIdleStrategy} to keep CPU usage low
+	 */
+	private Supplier<IdleStrategy> signalPollerIdleStrategy = AeronUtils::newBackoffIdleStrategy;
+
+	/**
+	 * Creates an idle strategy for the service message receiver of the signals sender
+	 */
+	private Supplier<IdleStrategy> serviceMessagePollerIdleStrategy = AeronUtils::newBackoffIdleStrategy;
+
+	/**
+	 * Creates an idle strategy used between attempts to publish a message
+	 * into a backpressured Aeron publication
+	 */
+	private Supplier<IdleStrategy> senderIdleStrategy = AeronUtils::newBackoffIdleStrategy;
+
+	/**
+	 * Runs the signals receiver and the service message receiver on its shared threads
+	 * instead of a thread of their own when provided.
+	 * The idle strategies of the pollers are not used then, the runner idles its threads itself.
+	 * A subscriber slow to process a signal stalls every poller run by the same thread.
+	 * Signals the service message receiver publishes itself, such as replayed signals, are tried once
+	 * and published again on a later duty cycle when back pressured, instead of being retried
+	 * for up to {@link #publicationRetryMillis}. Service messages of the signals receiver, such as demand,
+	 * are still retried and stall the shared thread while their publication is back pressured
+	 */
+	private SharedPollerRunner sharedPollerRunner;
+
+	/**
+	 * Directory of a log of published Next signals which are replayed to sessions joining
+	 * a multicast {@link AeronSubscriber} late, null to disable the log.
+	 * Subscribers can share the directory, every subscriber logs into a subdirectory of its own.
+	 * Replayed signals go over the multicast publication shared by all the sessions,
+	 * see {@link #replayFromSequence}
+	 */
+	private File signalLogDir;
+
+	/**
+	 * Size in bytes of a memory-mapped segment file of the signal log
+	 */
+	private int signalLogSegmentSize = 16 * 1024 * 1024;
+
+	/**
+	 * Max total size in bytes of the signal log, the oldest segments are dropped above that
+	 */
+	private long signalLogMaxSize = 256 * 1024 * 1024;
+
+	/**
+	 * Time in milliseconds a segment of the signal log is kept for after its last signal
+	 */
+	private long signalLogRetentionMillis = Long.MAX_VALUE;
+
+	/**
+	 * Sequence of the first signal published before the subscription the receiver asks the sender
+	 * to replay before switching to live signals, counting Next signals published since the sender
+	 * started. 0 replays all the signals the sender retained, -1 disables replay.
+	 * A multicast sender replays over the publication shared by all the receivers, so every receiver
+	 * gets and drops the replay traffic of every other session joining late
+	 */
+	private long replayFromSequence = -1;
+
+	/**
+	 * What a multicast sender does with a session lagging behind the session which requested the most
+	 * by more than {@link #slowConsumerLagThreshold} signals
+	 */
+	private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.BLOCK;
+
+	/**
+	 * Number of signals a multicast session is allowed to lag behind before {@link #slowConsumerPolicy} applies
+	 */
+	private long slowConsumerLagThreshold = 1024;
+
 	/**
 	 * A timeout during which a message is retied to be published into Aeron.
 	 * If the timeout elapses and the message cannot be published the corresponding
@@ -184,6 +351,63 @@ public class Context {
 		return this;
 	}
 
+	public Context driverThreadingMode(ThreadingMode driverThreadingMode) {
+		this.driverThreadingMode = Objects.requireNonNull(driverThreadingMode);
+		return this;
+	}
+
+	public Context driverConductorIdleStrategy(Supplier<IdleStrategy> driverConductorIdleStrategy) {
+		this.driverConductorIdleStrategy = Objects.requireNonNull(driverConductorIdleStrategy);
+		return this;
+	}
+
+	public Context driverSenderIdleStrategy(Supplier<IdleStrategy> driverSenderIdleStrategy) {
+		this.driverSenderIdleStrategy = Objects.requireNonNull(driverSenderIdleStrategy);
+		return this;
+	}
+
+	public Context driverReceiverIdleStrategy(Supplier<IdleStrategy> driverReceiverIdleStrategy) {
+		this.driverReceiverIdleStrategy = Objects.requireNonNull(driverReceiverIdleStrategy);
+		return this;
+	}
+
+	public Context driverTermBufferLength(int driverTermBufferLength) {
+		if(driverTermBufferLength <= 0){
+			throw new IllegalArgumentException("driverTermBufferLength should be > 0");
+		}
+		this.driverTermBufferLength = driverTermBufferLength;
+		return this;
+	}
+
+	public Context driverMtuLength(int driverMtuLength) {
+		if(driverMtuLength <= 0){
+			throw new IllegalArgumentException("driverMtuLength should be > 0");
+		}
+		this.driverMtuLength = driverMtuLength;
+		return this;
+	}
+
+	public Context driverSocketSndbufLength(int driverSocketSndbufLength) {
+		if(driverSocketSndbufLength <= 0){
+			throw new IllegalArgumentException("driverSocketSndbufLength should be > 0");
+		}
+		this.driverSocketSndbufLength = driverSocketSndbufLength;
+		return this;
+	}
+
+	public Context driverSocketRcvbufLength(int driverSocketRcvbufLength) {
+		if(driverSocketRcvbufLength <= 0){
+			throw new IllegalArgumentException("driverSocketRcvbufLength should be > 0");
+		}
+		this.driverSocketRcvbufLength = driverSocketRcvbufLength;
+		return this;
+	}
+
+	public Context driverAeronDirOnShm(boolean driverAeronDirOnShm) {
+		this.driverAeronDirOnShm = driverAeronDirOnShm;
+		return this;
+	}
+
 	public Context signalPollerFragmentLimit(int limit) {
 		if(limit <= 0){
 			throw new IllegalArgumentException("limit should be > 0");
@@ -200,6 +424,102 @@ public class Context {
 		return this;
 	}
 
+	public Context requestCoalescingLimit(long requestCoalescingLimit) {
+		if(requestCoalescingLimit <= 0){
+			throw new IllegalArgumentException("requestCoalescingLimit should be > 0");
+		}
+		this.requestCoalescingLimit = requestCoalescingLimit;
+		return this;
+	}
+
+	public Context zeroCopySignals(boolean zeroCopySignals) {
+		this.zeroCopySignals = zeroCopySignals;
+		return this;
+	}
+
+	public Context signalBatchSize(int signalBatchSize) {
+		if(signalBatchSize < 0){
+			throw new IllegalArgumentException("signalBatchSize should be >= 0");
+		}
+		this.signalBatchSize = signalBatchSize;
+		return this;
+	}
+
+	public Context signalBatchLingerMillis(long signalBatchLingerMillis) {
+		if(signalBatchLingerMillis <= 0){
+			throw new IllegalArgumentException("signalBatchLingerMillis should be > 0");
+		}
+		this.signalBatchLingerMillis = signalBatchLingerMillis;
+		return this;
+	}
+
+	public Context signalPollerIdleStrategy(Supplier<IdleStrategy> signalPollerIdleStrategy) {
+		this.signalPollerIdleStrategy = Objects.requireNonNull(signalPollerIdleStrategy);
+		return this;
+	}
+
+	public Context serviceMessagePollerIdleStrategy(Supplier<IdleStrategy> serviceMessagePollerIdleStrategy) {
+		this.serviceMessagePollerIdleStrategy = Objects.requireNonNull(serviceMessagePollerIdleStrategy);
+		return this;
+	}
+
+	public Context senderIdleStrategy(Supplier<IdleStrategy> senderIdleStrategy) {
+		this.senderIdleStrategy = Objects.requireNonNull(senderIdleStrategy);
+		return this;
+	}
+
+	public Context sharedPollerRunner(SharedPollerRunner sharedPollerRunner) {
+		this.sharedPollerRunner = sharedPollerRunner;
+		return this;
+	}
+
+	public Context signalLogDir(File signalLogDir) {
+		this.signalLogDir = signalLogDir;
+		return this;
+	}
+
+	public Context signalLogSegmentSize(int signalLogSegmentSize) {
+		if(signalLogSegmentSize <= 0){
+			throw new IllegalArgumentException("signalLogSegmentSize should be > 0");
+		}
+		this.signalLogSegmentSize = signalLogSegmentSize;
+		return this;
+	}
+
+	public Context signalLogMaxSize(long signalLogMaxSize) {
+		if(signalLogMaxSize <= 0){
+			throw new IllegalArgumentException("signalLogMaxSize should be > 0");
+		}
+		this.signalLogMaxSize = signalLogMaxSize;
+		return this;
+	}
+
+	public Context signalLogRetentionMillis(long signalLogRetentionMillis) {
+		if(signalLogRetentionMillis <= 0){
+			throw new IllegalArgumentException("signalLogRetentionMillis should be > 0");
+		}
+		this.signalLogRetentionMillis = signalLogRetentionMillis;
+		return this;
+	}
+
+	public Context replayFromSequence(long replayFromSequence) {
+		this.replayFromSequence = replayFromSequence;
+		return this;
+	}
+
+	public Context slowConsumerPolicy(SlowConsumerPolicy slowConsumerPolicy) {
+		this.slowConsumerPolicy = Objects.requireNonNull(slowConsumerPolicy);
+		return this;
+	}
+
+	public Context slowConsumerLagThreshold(long slowConsumerLagThreshold) {
+		if(slowConsumerLagThreshold <= 0){
+			throw new IllegalArgumentException("slowConsumerLagThreshold should be > 0");
+		}
+		this.slowConsumerLagThreshold = slowConsumerLagThreshold;
+		return this;
+	}
+
 	public Context serviceRequestStreamId(int serviceRequestStreamId) {
 		this.serviceRequestStreamId = serviceRequestStreamId;
 		return this;
@@ -268,6 +588,66 @@ public class Context {
 		return serviceMessagePollerFragmentLimit;
 	}
 
+	public long requestCoalescingLimit() {
+		return requestCoalescingLimit;
+	}
+
+	public boolean zeroCopySignals() {
+		return zeroCopySignals;
+	}
+
+	public int signalBatchSize() {
+		return signalBatchSize;
+	}
+
+	public long signalBatchLingerMillis() {
+		return signalBatchLingerMillis;
+	}
+
+	public Supplier<IdleStrategy> signalPollerIdleStrategy() {
+		return signalPollerIdleStrategy;
+	}
+
+	public Supplier<IdleStrategy> serviceMessagePollerIdleStrategy() {
+		return serviceMessagePollerIdleStrategy;
+	}
+
+	public Supplier<IdleStrategy> senderIdleStrategy() {
+		return senderIdleStrategy;
+	}
+
+	public SharedPollerRunner sharedPollerRunner() {
+		return sharedPollerRunner;
+	}
+
+	public File signalLogDir() {
+		return signalLogDir;
+	}
+
+	public int signalLogSegmentSize() {
+		return signalLogSegmentSize;
+	}
+
+	public long signalLogMaxSize() {
+		return signalLogMaxSize;
+	}
+
+	public long signalLogRetentionMillis() {
+		return signalLogRetentionMillis;
+	}
+
+	public long replayFromSequence() {
+		return replayFromSequence;
+	}
+
+	public SlowConsumerPolicy slowConsumerPolicy() {
+		return slowConsumerPolicy;
+	}
+
+	public long slowConsumerLagThreshold() {
+		return slowConsumerLagThreshold;
+	}
+
 	public long publicationRetryMillis() {
 		return publicationRetryMillis;
 	}
@@ -298,10 +678,63 @@ public class Context {
 
 	public AeronInfra aeronInfra() {
 		if (aeronInfra == null) {
-			aeronInfra = new BasicAeronInfra(aeron, publicationRetryMillis);
+			aeronInfra = new BasicAeronInfra(aeron, publicationRetryMillis,
+					hasDriverSettings() ? this::tuneDriver : null);
 			aeronInfra.initialise();
 		}
 		return aeronInfra;
 	}
 
+	private boolean hasDriverSettings() {
+		return driverThreadingMode != null || driverConductorIdleStrategy != null ||
+				driverSenderIdleStrategy != null || driverReceiverIdleStrategy != null ||
+				driverTermBufferLength > 0 || driverMtuLength > 0 || driverSocketSndbufLength > 0 ||
+				driverSocketRcvbufLength > 0 || driverAeronDirOnShm != null;
+	}
+
+	/**
+	 * Applies the embedded media driver settings provided
+	 *
+	 * @param driverContext of the embedded media driver about to be launched
+	 */
+	private void tuneDriver(MediaDriver.Context driverContext) {
+		if (driverThreadingMode != null) {
+			driverContext.threadingMode(driverThreadingMode);
+		}
+		if (driverConductorIdleStrategy != null) {
+			driverContext.conductorIdleStrategy(driverConductorIdleStrategy.get());
+			driverContext.sharedIdleStrategy(driverConductorIdleStrategy.get());
+		}
+		if (driverSenderIdleStrategy != null) {
+			driverContext.senderIdleStrategy(driverSenderIdleStrategy.get());
+			driverContext.sharedNetworkIdleStrategy(driverSenderIdleStrategy.get());
+		}
+		if (driverReceiverIdleStrategy != null) {
+			driverContext.receiverIdleStrategy(driverReceiverIdleStrategy.get());
+		}
+		if (driverTermBufferLength > 0) {
+			driverContext.publicationTermBufferLength(driverTermBufferLength);
+			driverContext.maxImageTermBufferLength(driverTermBufferLength);
+		}
+		if (driverMtuLength > 0) {
+			driverContext.mtuLength(driverMtuLength);
+		}
+		// the driver context has no socket buffer lengths, the driver reads them from system properties
+		// when its configuration is loaded, which happened already
+		if (driverSocketSndbufLength > 0 && driverSocketSndbufLength != Configuration.SOCKET_SNDBUF_LENGTH) {
+			logger.warn("driverSocketSndbufLength {} is not applied, set system property {} before the driver " +
+					"is created instead", driverSocketSndbufLength, Configuration.SOCKET_SNDBUF_LENGTH_PROP_NAME);
+		}
+		if (driverSocketRcvbufLength > 0 && driverSocketRcvbufLength != Configuration.SOCKET_RCVBUF_LENGTH) {
+			logger.warn("driverSocketRcvbufLength {} is not applied, set system property {} before the driver " +
+					"is created instead", driverSocketRcvbufLength, Configuration.SOCKET_RCVBUF_LENGTH_PROP_NAME);
+		}
+		if (driverAeronDirOnShm != null) {
+			String dirName = "aeron-" + System.getProperty("user.name", "default");
+			driverContext.aeronDirectoryName(driverAeronDirOnShm ?
+					new File("/dev/shm", dirName).getPath() :
+					new File(System.getProperty("java.io.tmpdir"), dirName).getPath());
+		}
+	}
+
 }
@@ -87,6 +87,9 @@ public final class AeronFlux extends Flux<Buffer> implements Producer {
 
 	private final Context context;
 
+	/**
+	 * Null when the signal poller is run by {@link Context#sharedPollerRunner()}
+	 */
 	private final ExecutorService executor;
 
 	private final Publication serviceRequestPub;
@@ -122,16 +125,17 @@ public final class AeronFlux extends Flux<Buffer> implements Producer {
 
 		this.context = context;
 		this.aeronInfra = context.aeronInfra();
-		this.executor =
+		this.executor = context.sharedPollerRunner() != null ? null :
 				Executors.newCachedThreadPool(r -> new Thread(r, AeronUtils.makeThreadName(
 						context.name(),
 						"publisher",
 						"signal-poller")));
 		this.serviceRequestPub = createServiceRequestPub(context, this.aeronInfra);
 		this.sessionId = getSessionId(context);
-		this.serviceMessageSender = new ServiceMessageSender(this, serviceRequestPub, sessionId);
+		this.serviceMessageSender = new ServiceMessageSender(this, serviceRequestPub, sessionId, context.senderIdleStrategy());
 		this.heartbeatSender = new HeartbeatSender(context,
-				new ServiceMessageSender(this, serviceRequestPub, sessionId), new Consumer<Throwable>() {
+				new ServiceMessageSender(this, serviceRequestPub, sessionId, context.senderIdleStrategy()),
+				new Consumer<Throwable>() {
 			@Override
 			public void accept(Throwable throwable) {
 				shutdown();
@@ -163,7 +167,11 @@ public final class AeronFlux extends Flux<Buffer> implements Producer {
 
 		signalPoller = createSignalsPoller(subscriber);
 		try {
-			executor.execute(signalPoller);
+			if (executor != null) {
+				executor.execute(signalPoller);
+			} else {
+				context.sharedPollerRunner().add(signalPoller);
+			}
 			heartbeatSender.start();
 		} catch (Throwable t) {
 			signalPoller = null;
@@ -202,12 +210,15 @@ public final class AeronFlux extends Flux<Buffer> implements Producer {
 					if (signalPoller != null) {
 						signalPoller.shutdown();
 					}
-					executor.shutdown();
+					if (executor != null) {
+						executor.shutdown();
+					}
 
 					globalTimer.schedule(new Runnable() {
 						@Override
 						public void run() {
-							if (!executor.isTerminated()) {
+							// a poller run by a shared runner resets the field once closed
+							if (executor != null ? !executor.isTerminated() : signalPoller != null) {
 								globalTimer.schedule(this);
 								return;
 							}
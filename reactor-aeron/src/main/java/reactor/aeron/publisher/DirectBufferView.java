@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.publisher;
+
+import java.nio.ByteBuffer;
+
+import reactor.io.buffer.Buffer;
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.UnsafeAccess;
+
+/**
+ * A reusable read-only {@link Buffer} over a fragment of an Aeron {@link DirectBuffer}.
+ * The view is only valid until the {@link org.reactivestreams.Subscriber#onNext(Object)}
+ * it was passed to returns, subscribers keeping it longer should take a {@link #copy()}.
+ * When the fragment memory cannot be viewed directly its bytes are copied into a pooled
+ * array instead.
+ *
+ * @author Anatoly Kadyshev
+ */
+final class DirectBufferView extends Buffer {
+
+	private static final long ARRAY_BASE_OFFSET = UnsafeAccess.UNSAFE.arrayBaseOffset(byte[].class);
+
+	private byte[] pooledBytes = new byte[0];
+
+	private ByteBuffer pooled = ByteBuffer.wrap(pooledBytes);
+
+	/**
+	 * Points this view at {@code length} bytes of {@code source} starting at {@code index}
+	 *
+	 * @param source the Aeron buffer holding the fragment
+	 * @param index index of the first byte in {@code source}
+	 * @param length number of bytes to view
+	 * @return this view
+	 */
+	Buffer wrap(DirectBuffer source, int index, int length) {
+		ByteBuffer view = slice(source, index, length);
+		if (view == null) {
+			view = pooledCopy(source, index, length);
+		}
+		this.buffer = view;
+		return this;
+	}
+
+	static ByteBuffer slice(DirectBuffer source, int index, int length) {
+		byte[] array = source.byteArray();
+		if (array != null) {
+			long start = source.addressOffset() - ARRAY_BASE_OFFSET + index;
+			if (start < 0 || start + length > array.length) {
+				return null;
+			}
+			return ByteBuffer.wrap(array, (int) start, length)
+			                 .slice()
+			                 .asReadOnlyBuffer();
+		}
+
+		ByteBuffer byteBuffer = source.byteBuffer();
+		if (byteBuffer != null && byteBuffer.isDirect()) {
+			long start = source.addressOffset() - ((sun.nio.ch.DirectBuffer) byteBuffer).address() + index;
+			if (start < 0 || start + length > byteBuffer.capacity()) {
+				return null;
+			}
+			ByteBuffer view = byteBuffer.asReadOnlyBuffer();
+			view.limit((int) start + length)
+			    .position((int) start);
+			return view.slice();
+		}
+		return null;
+	}
+
+	private ByteBuffer pooledCopy(DirectBuffer source, int index, int length) {
+		if (pooledBytes.length < length) {
+			pooledBytes = new byte[length];
+			pooled = ByteBuffer.wrap(pooledBytes);
+		}
+		source.getBytes(index, pooledBytes, 0, length);
+		pooled.clear();
+		pooled.limit(length);
+		return pooled;
+	}
+
+	@Override
+	public String toString() {
+		return "DirectBufferView{" + buffer + "}";
+	}
+}
@@ -15,6 +15,8 @@
  */
 package reactor.aeron.publisher;
 
+import java.util.function.Supplier;
+
 import reactor.aeron.utils.AeronUtils;
 import reactor.aeron.utils.ServiceMessageType;
 import reactor.core.flow.Loopback;
@@ -22,10 +24,13 @@ import reactor.core.flow.Producer;
 import uk.co.real_logic.aeron.Publication;
 import uk.co.real_logic.aeron.logbuffer.BufferClaim;
 import uk.co.real_logic.agrona.MutableDirectBuffer;
-import uk.co.real_logic.agrona.concurrent.BackoffIdleStrategy;
+import uk.co.real_logic.agrona.concurrent.IdleStrategy;
 
 
 /**
+ * Publishes service messages without locking, each calling thread claims
+ * into a {@link BufferClaim} and backs off with an idle strategy of its own
+ *
  * @author Anatoly Kadyshev
  * @author Stephane Maldini
  */
@@ -33,9 +38,7 @@ class ServiceMessageSender implements Producer, Loopback {
 
 	private final Publication serviceRequestPub;
 
-	private final BufferClaim bufferClaim = new BufferClaim();
-
-	private final BackoffIdleStrategy idleStrategy = AeronUtils.newBackoffIdleStrategy();
+	private final ThreadLocal<ClaimState> claimState;
 
 	private final byte[] sessionIdEncoded;
 
@@ -43,8 +46,21 @@ class ServiceMessageSender implements Producer, Loopback {
 
 	private final String sessionId;
 
-	public ServiceMessageSender(AeronFlux parent, Publication serviceRequestPub, String sessionId) {
+	private static final class ClaimState {
+
+		final BufferClaim bufferClaim = new BufferClaim();
+
+		final IdleStrategy idleStrategy;
+
+		ClaimState(IdleStrategy idleStrategy) {
+			this.idleStrategy = idleStrategy;
+		}
+	}
+
+	public ServiceMessageSender(AeronFlux parent, Publication serviceRequestPub, String sessionId,
+								Supplier<IdleStrategy> idleStrategy) {
 		this.parent = parent;
+		this.claimState = ThreadLocal.withInitial(() -> new ClaimState(idleStrategy.get()));
 		this.serviceRequestPub = serviceRequestPub;
 		this.sessionId = sessionId;
 		this.sessionIdEncoded = sessionId.getBytes(AeronUtils.UTF_8_CHARSET);
@@ -59,8 +75,9 @@ class ServiceMessageSender implements Producer, Loopback {
 	 * @throws IllegalStateException
 	 * @throws IllegalArgumentException if publication is closed
 	 */
-	public synchronized void sendRequest(long n) {
-		if (claimBuffer(1 + 8 + (sessionIdEncoded.length + 1)) >= 0) {
+	public void sendRequest(long n) {
+		BufferClaim bufferClaim = claimBuffer(1 + 8 + (sessionIdEncoded.length + 1));
+		if (bufferClaim != null) {
 			commitRequest(bufferClaim, n, sessionIdEncoded);
 		} else {
 			throw new RuntimeException("Failed to send request service message" +
@@ -68,6 +85,25 @@ class ServiceMessageSender implements Producer, Loopback {
 		}
 	}
 
+	/**
+	 * Sends service message requesting to replay signals published before the session joined
+	 *
+	 * @param fromSequence sequence of the first signal to replay
+	 *
+	 * @throws RuntimeException when Aeron publication was either backpressured or not connected
+	 * @throws IllegalStateException
+	 * @throws IllegalArgumentException if publication is closed
+	 */
+	public void sendReplay(long fromSequence) {
+		BufferClaim bufferClaim = claimBuffer(1 + 8 + (sessionIdEncoded.length + 1));
+		if (bufferClaim != null) {
+			commitReplay(bufferClaim, fromSequence, sessionIdEncoded);
+		} else {
+			throw new RuntimeException("Failed to send replay service message" +
+					" due to backpressured/not connected publication");
+		}
+	}
+
 	/**
 	 * Sends service cancel message
 	 *
@@ -75,9 +111,9 @@ class ServiceMessageSender implements Producer, Loopback {
 	 * @throws IllegalStateException
 	 * @throws IllegalArgumentException if publication is closed
 	 */
-	public synchronized void sendCancel() {
-		long position = claimBuffer(1 + (sessionIdEncoded.length + 1));
-		if (position >= 0) {
+	public void sendCancel() {
+		BufferClaim bufferClaim = claimBuffer(1 + (sessionIdEncoded.length + 1));
+		if (bufferClaim != null) {
 			commitCancel(bufferClaim, sessionIdEncoded);
 		} else {
 			throw new RuntimeException("Failed to send cancel service message" +
@@ -92,10 +128,11 @@ class ServiceMessageSender implements Producer, Loopback {
 	 * @throws IllegalStateException
 	 * @throws IllegalArgumentException if publication is closed
 	 */
-	public synchronized long sendHeartbeat() {
-		long result = claimBuffer(1 + (sessionIdEncoded.length + 1));
+	public long sendHeartbeat() {
+		ClaimState state = claimState.get();
+		long result = claim(state, 1 + (sessionIdEncoded.length + 1));
 		if (result >= 0) {
-			commitHeartbeat(bufferClaim, sessionIdEncoded);
+			commitHeartbeat(state.bufferClaim, sessionIdEncoded);
 		}
 		return result;
 	}
@@ -108,8 +145,13 @@ class ServiceMessageSender implements Producer, Loopback {
 	 *
 	 * @return buffer claim when successful and null when Aeron publication was either backpressured or not connected
 	 */
-	private long claimBuffer(int length) {
-		return parent.aeronInfra.claim(serviceRequestPub, bufferClaim, length,	idleStrategy, true);
+	private BufferClaim claimBuffer(int length) {
+		ClaimState state = claimState.get();
+		return claim(state, length) >= 0 ? state.bufferClaim : null;
+	}
+
+	private long claim(ClaimState state, int length) {
+		return parent.aeronInfra.claim(serviceRequestPub, state.bufferClaim, length, state.idleStrategy, true);
 	}
 
 	private void putSessionId(MutableDirectBuffer mutableBuffer, int offset, byte[] sessionId) {
@@ -129,6 +171,18 @@ class ServiceMessageSender implements Producer, Loopback {
 		}
 	}
 
+	private void commitReplay(BufferClaim bufferClaim, long fromSequence, byte[] sessionId) {
+		try {
+			MutableDirectBuffer mutableBuffer = bufferClaim.buffer();
+			int offset = bufferClaim.offset();
+			mutableBuffer.putByte(offset, ServiceMessageType.Replay.getCode());
+			mutableBuffer.putLong(offset + 1, fromSequence);
+			putSessionId(mutableBuffer, offset + 1 + 8, sessionId);
+		} finally {
+			bufferClaim.commit();
+		}
+	}
+
 	private void commitCancel(BufferClaim bufferClaim, byte[] sessionId) {
 		try {
 			MutableDirectBuffer mutableBuffer = bufferClaim.buffer();
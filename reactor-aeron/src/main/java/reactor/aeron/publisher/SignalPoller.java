@@ -34,13 +34,15 @@ import uk.co.real_logic.aeron.logbuffer.Header;
 import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.agrona.concurrent.IdleStrategy;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Iterator;
 
 /**
  * Signals receiver functionality which polls for signals sent by senders
  */
-class SignalPoller implements org.reactivestreams.Subscription, Runnable, Producer,
+class SignalPoller implements org.reactivestreams.Subscription, Runnable, PollerAgent, Producer,
                                      Requestable, Completable,
                                      Cancellable, MultiProducer, Introspectable {
 
@@ -52,6 +54,11 @@ class SignalPoller implements org.reactivestreams.Subscription, Runnable, Produc
 
 	private final DemandTracker demandTracker;
 
+	/**
+	 * Demand requested by the subscriber but not sent to the signals sender yet
+	 */
+	private final DemandTracker pendingRequest;
+
 	private final Context context;
 
 	private volatile boolean running;
@@ -69,29 +76,58 @@ class SignalPoller implements org.reactivestreams.Subscription, Runnable, Produc
 	private final ControlledFragmentHandler fragmentAssembler = new ControlledFragmentAssembler(new ControlledFragmentHandler() {
 		@Override
 		public Action onFragment(DirectBuffer buffer, int offset, int length, Header header) {
-			byte[] bytes = new byte[length - 1];
-			buffer.getBytes(offset + 1, bytes);
 			byte signalTypeCode = buffer.getByte(offset);
 			Throwable error = null;
 			try {
-				if (signalTypeCode == SignalType.Next.getCode()) {
+				if (replaying && (signalTypeCode == SignalType.Next.getCode() ||
+						signalTypeCode == SignalType.NextBatch.getCode())) {
+					// published before the replay started, the replay delivers it
+				} else if (signalTypeCode == SignalType.Next.getCode()) {
 					if (demand > 0) {
 						demand--;
 						isLastSignalAborted = false;
-						subscriber.onNext(Buffer.wrap(bytes));
+						subscriber.onNext(nextSignal(buffer, offset + 1, length - 1));
 					} else {
 						isLastSignalAborted = true;
 						return Action.ABORT;
 					}
+				} else if (signalTypeCode == SignalType.NextBatch.getCode()) {
+					if (!deliverBatch(buffer, offset + 1, offset + length)) {
+						isLastSignalAborted = true;
+						return Action.ABORT;
+					}
+					isLastSignalAborted = false;
+				} else if (signalTypeCode == SignalType.Replay.getCode()) {
+					if (replaying && isAddressedToSession(buffer, offset + 1)) {
+						if (demand > 0) {
+							demand--;
+							isLastSignalAborted = false;
+							int index = offset + 1 + 1 + sessionIdEncoded.length;
+							subscriber.onNext(nextSignal(buffer, index, offset + length - index));
+						} else {
+							isLastSignalAborted = true;
+							return Action.ABORT;
+						}
+					}
+				} else if (signalTypeCode == SignalType.ReplayEnd.getCode()) {
+					if (isAddressedToSession(buffer, offset + 1)) {
+						replaying = false;
+					}
+				} else if (signalTypeCode == SignalType.Evicted.getCode()) {
+					if (isAddressedToSession(buffer, offset + 1)) {
+						error = new SlowConsumerEvictedException(serviceMessageSender.getSessionId());
+					}
 				} else if (signalTypeCode == SignalType.Complete.getCode()) {
 					running = false;
 					subscriber.onComplete();
 				} else if (signalTypeCode == SignalType.Error.getCode()) {
+					byte[] bytes = new byte[length - 1];
+					buffer.getBytes(offset + 1, bytes);
 					error = exceptionSerializer.deserialize(bytes);
 				} else {
 					error = Exceptions.propagate(new IllegalStateException(
 							String.format("Received message with unknown signal type code of %d and length of %d",
-									signalTypeCode, bytes.length)));
+									signalTypeCode, length - 1)));
 				}
 			} catch (Throwable t) {
 				Exceptions.throwIfFatal(t);
@@ -106,6 +142,19 @@ class SignalPoller implements org.reactivestreams.Subscription, Runnable, Produc
 		}
 	});
 
+	/**
+	 * If live signals are skipped till the sender replays the signals requested by
+	 * {@link Context#replayFromSequence()}
+	 */
+	private boolean replaying;
+
+	private final byte[] sessionIdEncoded;
+
+	/**
+	 * Reused for every Next signal when {@link Context#zeroCopySignals()} is enabled
+	 */
+	private final DirectBufferView signalView;
+
 
 	@Override
 	public int getMode() {
@@ -125,37 +174,147 @@ class SignalPoller implements org.reactivestreams.Subscription, Runnable, Produc
 		this.aeronInfra = aeronInfra;
 		this.shutdownTask = shutdownTask;
 		this.demandTracker = new DemandTracker();
+		this.pendingRequest = new DemandTracker();
 		this.exceptionSerializer = context.exceptionSerializer();
+		this.signalView = context.zeroCopySignals() ? new DirectBufferView() : null;
+		this.replaying = context.replayFromSequence() >= 0;
+		this.sessionIdEncoded = serviceMessageSender.getSessionId().getBytes(AeronUtils.UTF_8_CHARSET);
+	}
+
+	/**
+	 * @param index of the session id a Replay, ReplayEnd or Evicted signal is addressed to
+	 */
+	private boolean isAddressedToSession(DirectBuffer buffer, int index) {
+		if ((buffer.getByte(index) & 0xFF) != sessionIdEncoded.length) {
+			return false;
+		}
+		for (int i = 0; i < sessionIdEncoded.length; i++) {
+			if (buffer.getByte(index + 1 + i) != sessionIdEncoded[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Number of signals of the last aborted batch already delivered,
+	 * skipped when the batch is polled again
+	 */
+	private int batchDelivered = 0;
+
+	/**
+	 * Delivers the Next signals packed into a batch as long as there is demand
+	 *
+	 * @return false if the batch was delivered partially and needs to be polled again
+	 */
+	private boolean deliverBatch(DirectBuffer buffer, int index, int end) {
+		int signal = 0;
+		while (index < end) {
+			int length = buffer.getInt(index, ByteOrder.BIG_ENDIAN);
+			if (signal++ >= batchDelivered) {
+				if (demand == 0) {
+					return false;
+				}
+				demand--;
+				batchDelivered++;
+				subscriber.onNext(nextSignal(buffer, index + 4, length));
+			}
+			index += 4 + length;
+		}
+		batchDelivered = 0;
+		return true;
+	}
+
+	private Buffer nextSignal(DirectBuffer buffer, int index, int length) {
+		if (signalView != null) {
+			return signalView.wrap(buffer, index, length);
+		}
+		ByteBuffer bytes = ByteBuffer.allocate(length);
+		buffer.getBytes(index, bytes.array(), 0, length);
+		return new Buffer(bytes);
 	}
 
 	long demand = 0;
 
 	@Override
 	public void run() {
+		onStart();
+
+		final IdleStrategy idleStrategy = context.signalPollerIdleStrategy().get();
+		try {
+			while (running) {
+				idleStrategy.idle(doWork());
+			}
+		} finally {
+			onClose();
+		}
+	}
+
+	@Override
+	public void onStart() {
 		running = true;
 		logger.debug("Signal poller started, sessionId: {}", serviceMessageSender.getSessionId());
 
 		this.signalSub = aeronInfra.addSubscription(context.receiverChannel(), context.streamId());
 
+		if (replaying) {
+			try {
+				serviceMessageSender.sendReplay(context.replayFromSequence());
+			} catch (Exception e) {
+				replaying = false;
+				context.errorConsumer().accept(new ServiceMessagePublicationFailedException(ServiceMessageType.Replay, e));
+			}
+		}
+
 		setSubscriberSubscription();
+	}
+
+	@Override
+	public int doWork() {
+		if (demand == 0) {
+			demand = demandTracker.getAndReset();
+		}
+
+		int fragmentLimit = (int) Math.min(demand, context.signalPollerFragmentLimit());
+		if (fragmentLimit == 0 && !isLastSignalAborted) {
+			fragmentLimit = 1;
+		}
+		int fragmentsReceived = signalSub.controlledPoll(fragmentAssembler, fragmentLimit);
 
-		final IdleStrategy idleStrategy = AeronUtils.newBackoffIdleStrategy();
+		// demand requested from onNext of the polled signals goes in a single message
+		return fragmentsReceived + sendPendingRequest();
+	}
+
+	/**
+	 * Sends demand accumulated by {@link #request(long)} to the signals sender
+	 *
+	 * @return 1 if a Request service message was sent and 0 otherwise
+	 */
+	private int sendPendingRequest() {
+		long n = pendingRequest.getAndReset();
+		if (n == 0) {
+			return 0;
+		}
 		try {
-			while (running) {
-				if (demand == 0) {
-					demand = demandTracker.getAndReset();
-				}
+			serviceMessageSender.sendRequest(n);
+		} catch (Exception e) {
+			subscriber.onError(new ServiceMessagePublicationFailedException(ServiceMessageType.Request, e));
+		}
+		return 1;
+	}
 
-				int fragmentLimit = (int) Math.min(demand, context.signalPollerFragmentLimit());
-				if (fragmentLimit == 0 && !isLastSignalAborted) {
-					fragmentLimit = 1;
-				}
-				int fragmentsReceived = signalSub.controlledPoll(fragmentAssembler, fragmentLimit);
-				idleStrategy.idle(fragmentsReceived);
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public void onClose() {
+		try {
+			if (signalSub != null) {
+				aeronInfra.close(signalSub);
 			}
 		} finally {
-			aeronInfra.close(signalSub);
-
 			logger.trace("about to execute shutdownTask");
 			shutdownTask.run();
 		}
@@ -220,11 +379,11 @@ class SignalPoller implements org.reactivestreams.Subscription, Runnable, Produc
 	@Override
 	public void request(long n) {
 		if (running && BackpressureUtils.checkRequest(n, subscriber)) {
-			try {
-				serviceMessageSender.sendRequest(n);
-				demandTracker.request(n);
-			} catch (Exception e) {
-				subscriber.onError(new ServiceMessagePublicationFailedException(ServiceMessageType.Request, e));
+			demandTracker.request(n);
+
+			long pending = BackpressureUtils.addCap(pendingRequest.request(n), n);
+			if (pending >= context.requestCoalescingLimit()) {
+				sendPendingRequest();
 			}
 		}
 	}
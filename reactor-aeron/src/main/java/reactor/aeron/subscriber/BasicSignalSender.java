@@ -15,6 +15,7 @@
  */
 package reactor.aeron.subscriber;
 
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import reactor.aeron.utils.AeronInfra;
@@ -24,8 +25,10 @@ import reactor.aeron.utils.SignalType;
 import reactor.io.buffer.Buffer;
 import uk.co.real_logic.aeron.Publication;
 import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.MutableDirectBuffer;
 import uk.co.real_logic.agrona.concurrent.IdleStrategy;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
 /**
  * Publishes signals into Aeron
@@ -42,15 +45,26 @@ public final class BasicSignalSender implements SignalSender {
 
 	private final BufferClaim bufferClaim = new BufferClaim();
 
-	private final IdleStrategy idleStrategy = AeronUtils.newBackoffIdleStrategy();
+	private final IdleStrategy idleStrategy;
+
+	/**
+	 * Holds the signal type code followed by the payload of signals too large to be claimed
+	 */
+	private UnsafeBuffer offerBuffer = new UnsafeBuffer(new byte[0]);
 
 	public BasicSignalSender(AeronInfra aeronInfra, Consumer<Throwable> errorConsumer) {
+		this(aeronInfra, errorConsumer, AeronUtils.newBackoffIdleStrategy());
+	}
+
+	public BasicSignalSender(AeronInfra aeronInfra, Consumer<Throwable> errorConsumer, IdleStrategy idleStrategy) {
 		this.aeronInfra = aeronInfra;
 		this.errorConsumer = errorConsumer;
+		this.idleStrategy = idleStrategy;
 	}
 
 	/**
-	 * Publishes a signals into Aeron and reports an exception into {@link #errorConsumer} when publication fails
+	 * Publishes a signals into Aeron and reports an exception into {@link #errorConsumer} when publication fails.
+	 * A publication tried once which failed on back pressure is not reported, the caller tries it again later
 	 *
 	 * @param buffer to be published
 	 * @param signalType type of signal
@@ -67,13 +81,21 @@ public final class BasicSignalSender implements SignalSender {
 			result = Integer.MIN_VALUE;
 			cause = t;
 		}
-		if (result < 0) {
+		if (result < 0 && (retryPublication || !isBackPressured(result))) {
 			errorConsumer.accept(
 					new SignalPublicationFailedException(sessionId, buffer, signalType, cause));
 		}
 		return result;
 	}
 
+	/**
+	 * @param result of a publication
+	 * @return true if the publication failed only because the publication could not take the signal at the moment
+	 */
+	static boolean isBackPressured(long result) {
+		return result == Publication.BACK_PRESSURED || result == Publication.ADMIN_ACTION;
+	}
+
 	/**
 	 * Publishes a signal into Aeron publication and either returns fails or throws an exception when publication fails
 	 *
@@ -87,17 +109,45 @@ public final class BasicSignalSender implements SignalSender {
 	 * @return true if signal was published and false otherwise
 	 */
 	private long doPublishSignal(Publication publication, Buffer buffer, SignalType signalType, boolean retryPublication) {
-		long result = aeronInfra.claim(publication, bufferClaim, buffer.limit() + 1, idleStrategy, retryPublication);
-		if (result >= 0) {
-			try {
-				MutableDirectBuffer mutableBuffer = bufferClaim.buffer();
-				int offset = bufferClaim.offset();
-				mutableBuffer.putByte(offset, signalType.getCode());
-				mutableBuffer.putBytes(offset + 1, buffer.byteBuffer().array(), buffer.position(), buffer.limit());
-			} finally {
-				bufferClaim.commit();
+		ByteBuffer byteBuffer = buffer.byteBuffer();
+		int length = byteBuffer != null ? byteBuffer.remaining() : 0;
+		// signals longer than a frame of the publication are offered and fragmented by Aeron
+		if (length + 1 <= aeronInfra.maxPayloadLength(publication)) {
+			long result = aeronInfra.claim(publication, bufferClaim, length + 1, idleStrategy, retryPublication);
+			if (result >= 0) {
+				try {
+					MutableDirectBuffer mutableBuffer = bufferClaim.buffer();
+					int offset = bufferClaim.offset();
+					mutableBuffer.putByte(offset, signalType.getCode());
+					putPayload(mutableBuffer, offset + 1, byteBuffer, length);
+				} finally {
+					bufferClaim.commit();
+				}
 			}
+			return result;
+		}
+
+		if (offerBuffer.capacity() < length + 1) {
+			offerBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(BitUtil.findNextPositivePowerOfTwo(length + 1)));
+		}
+		offerBuffer.putByte(0, signalType.getCode());
+		putPayload(offerBuffer, 1, byteBuffer, length);
+		return aeronInfra.offer(publication, offerBuffer, length + 1, idleStrategy, retryPublication);
+	}
+
+	private static void putPayload(MutableDirectBuffer mutableBuffer, int offset, ByteBuffer byteBuffer, int length) {
+		if (length == 0) {
+			return;
+		}
+		if (byteBuffer.hasArray()) {
+			mutableBuffer.putBytes(offset, byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), length);
+		} else if (byteBuffer.isDirect()) {
+			mutableBuffer.putBytes(offset, byteBuffer, byteBuffer.position(), length);
+		} else {
+			// read-only heap buffer
+			byte[] bytes = new byte[length];
+			byteBuffer.duplicate().get(bytes);
+			mutableBuffer.putBytes(offset, bytes);
 		}
-		return result;
 	}
 }
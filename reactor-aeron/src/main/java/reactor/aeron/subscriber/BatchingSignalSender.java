@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import reactor.aeron.Context;
+import reactor.aeron.utils.AeronInfra;
+import reactor.aeron.utils.SignalType;
+import reactor.io.buffer.Buffer;
+import uk.co.real_logic.aeron.Publication;
+
+/**
+ * Packs consecutive Next signals published into the same {@link Publication} into a single
+ * {@link SignalType#NextBatch} message of up to {@link Context#signalBatchSize()} bytes,
+ * every packed signal being prefixed with its length as a big-endian int.
+ * A batch never exceeds {@link AeronInfra#maxPayloadLength(Publication)} so that it is published as a single frame,
+ * a signal which does not fit into an empty batch is published on its own.
+ * A batch is published when the next signal does not fit into it, before any other signal
+ * and by {@link #flushExpired(long)} once it is older than {@link Context#signalBatchLingerMillis()}.
+ * <p>
+ * Buffering a Next signal returns 0. The result of a failed batch publication replaces the result of
+ * the call publishing the batch. An expired batch is published by {@link #flushExpired(long)} only,
+ * its failure is reported by the delegate into {@link Context#errorConsumer()} with the batch.
+ * When {@link Context#sharedPollerRunner()} calls {@link #flushExpired(long)} an expired batch is tried once
+ * and kept for the next call if the publication is back pressured, so that the shared threads are not stalled.
+ *
+ * @author Anatoly Kadyshev
+ */
+final class BatchingSignalSender implements SignalSender {
+
+	private final SignalSender delegate;
+
+	private final AeronInfra aeronInfra;
+
+	private final long lingerNs;
+
+	/**
+	 * If {@link #flushExpired(long)} retries back pressured publications
+	 */
+	private final boolean retryExpired;
+
+	private ByteBuffer batch;
+
+	/**
+	 * Notified when a batch is started, to have {@link #flushExpired(long)} called until it is published
+	 */
+	private final Consumer<? super BatchingSignalSender> onPending;
+
+	private String sessionId;
+
+	private Publication publication;
+
+	private boolean retryPublication;
+
+	private long firstSignalNs;
+
+	/**
+	 * Checked by {@link #flushExpired(long)} without locking
+	 */
+	private volatile boolean pending;
+
+	BatchingSignalSender(SignalSender delegate, AeronInfra aeronInfra, Context context) {
+		this(delegate, aeronInfra, context, sender -> {});
+	}
+
+	BatchingSignalSender(SignalSender delegate, AeronInfra aeronInfra, Context context,
+						 Consumer<? super BatchingSignalSender> onPending) {
+		this.delegate = delegate;
+		this.aeronInfra = aeronInfra;
+		this.onPending = onPending;
+		this.lingerNs = TimeUnit.MILLISECONDS.toNanos(context.signalBatchLingerMillis());
+		this.retryExpired = context.sharedPollerRunner() == null;
+		// the signal type code takes a byte of the message
+		this.batch = ByteBuffer.allocate(context.signalBatchSize() - 1);
+	}
+
+	@Override
+	public synchronized long publishSignal(String sessionId, Publication publication, Buffer buffer,
+										   SignalType signalType, boolean retryPublication) {
+		ByteBuffer byteBuffer = buffer.byteBuffer();
+		int length = byteBuffer != null ? byteBuffer.remaining() : 0;
+		// the signal type code takes a byte of the frame payload
+		int batchLimit = Math.min(batch.capacity(), aeronInfra.maxPayloadLength(publication) - 1);
+		if (signalType != SignalType.Next || 4 + length > batchLimit) {
+			long flushed = flush(retryPublication);
+			if (pending) {
+				// the batch tried once was back pressured and should be published first
+				return flushed;
+			}
+			long result = delegate.publishSignal(sessionId, publication, buffer, signalType, retryPublication);
+			return flushed < 0 ? flushed : result;
+		}
+
+		long flushed = 0;
+		if (publication != this.publication || 4 + length > batch.remaining()) {
+			flushed = flush(retryPublication);
+			if (pending) {
+				return flushed;
+			}
+		}
+
+		if (this.publication == null) {
+			batch.limit(batchLimit);
+		}
+		batch.putInt(length);
+		if (length > 0) {
+			batch.put(byteBuffer.duplicate());
+		}
+
+		if (this.publication == null) {
+			this.sessionId = sessionId;
+			this.publication = publication;
+			this.retryPublication = retryPublication;
+			this.firstSignalNs = System.nanoTime();
+			this.pending = true;
+			onPending.accept(this);
+		}
+		return flushed;
+	}
+
+	boolean isPending() {
+		return pending;
+	}
+
+	@Override
+	public int flushExpired(long nowNs) {
+		if (!pending) {
+			return 0;
+		}
+		synchronized (this) {
+			if (publication == null || nowNs - firstSignalNs < lingerNs) {
+				return 0;
+			}
+			flush(this.retryPublication && retryExpired);
+			return pending ? 0 : 1;
+		}
+	}
+
+	/**
+	 * A batch tried once is kept when back pressured
+	 */
+	@Override
+	public synchronized long flush(boolean retry) {
+		if (publication == null) {
+			return 0;
+		}
+
+		int limit = batch.limit();
+		batch.flip();
+		long result = Integer.MIN_VALUE;
+		try {
+			result = delegate.publishSignal(sessionId, publication, new Buffer(batch), SignalType.NextBatch, retry);
+		} finally {
+			if (!retry && BasicSignalSender.isBackPressured(result)) {
+				// kept for the next attempt
+				batch.position(batch.limit());
+				batch.limit(limit);
+			} else {
+				if (result < 0) {
+					// the failed batch is left to the reported error
+					batch = ByteBuffer.allocate(batch.capacity());
+				} else {
+					batch.clear();
+				}
+				sessionId = null;
+				publication = null;
+				pending = false;
+			}
+		}
+		return result;
+	}
+
+}
@@ -15,6 +15,10 @@
  */
 package reactor.aeron.subscriber;
 
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.reactivestreams.Subscriber;
@@ -23,6 +27,7 @@ import reactor.aeron.Context;
 import reactor.aeron.utils.AeronInfra;
 import reactor.aeron.utils.Serializer;
 import reactor.aeron.utils.SignalType;
+import reactor.aeron.utils.SlowConsumerPolicy;
 import reactor.core.publisher.FluxProcessor;
 import reactor.core.util.Logger;
 import reactor.io.buffer.Buffer;
@@ -59,10 +64,52 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 	 */
 	private volatile long minSequence = -1;
 
+	/**
+	 * Sessions pacing upstream demand ordered by their sequences, guards changes of the sequences.
+	 * Replaying and lagging sessions are not there
+	 */
+	private final SessionHeap liveSessions = new SessionHeap();
+
+	/**
+	 * Ids of sessions evicted as slow consumers, their service messages are ignored till they cancel
+	 */
+	private final Set<String> evictedSessionIds = ConcurrentHashMap.newKeySet();
+
 	private final HeartbeatWatchdog heartbeatWatchdog;
 
 	private final InnerSubscriber subscriber;
 
+	/**
+	 * Published Next signals replayed to sessions joining late, null unless {@link Context#signalLogDir()}
+	 * is provided
+	 */
+	private final SignalLog signalLog;
+
+	/**
+	 * Guards publication of live signals against replay and signals addressed to a single session,
+	 * so that a session receives all replayed signals before the live signals not logged yet
+	 */
+	private final Object publicationLock = new Object();
+
+	private final ReplaySignals replaySignals = new ReplaySignals();
+
+	/**
+	 * If signals published on the thread of {@link ServiceMessagePoller} are retried while back pressured,
+	 * otherwise they are tried once and published again by {@link #flushExpiredSignals(long)}
+	 * not to stall the other agents of {@link Context#sharedPollerRunner()}
+	 */
+	private final boolean retryPollerPublication;
+
+	/**
+	 * Replaying sessions whose replay was stopped by a back pressured publication
+	 */
+	private final Set<MulticastSession> stalledReplays = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Signals addressed to a session whose publication was back pressured by session id
+	 */
+	private final Map<String, SignalType> stalledAddressedSignals = new ConcurrentHashMap<>();
+
 	class InnerSubscriber implements Subscriber<Buffer> {
 
 		private static final String SESSION_ID = "<multicast>";
@@ -81,7 +128,10 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 						AeronInfra aeronInfra) {
 			this.exceptionSerializer = context.exceptionSerializer();
 			this.signalPub = aeronInfra.addPublication(context.receiverChannel(), context.streamId());
-			this.signalSender = new BasicSignalSender(aeronInfra, context.errorConsumer());
+			SignalSender signalSender = new BasicSignalSender(aeronInfra, context.errorConsumer(),
+					context.senderIdleStrategy().get());
+			this.signalSender = context.signalBatchSize() > 0 ?
+					new BatchingSignalSender(signalSender, aeronInfra, context) : signalSender;
 		}
 
 		@Override
@@ -93,7 +143,7 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 
 		@Override
 		public void onNext(Buffer buffer) {
-			signalSender.publishSignal(SESSION_ID, signalPub, buffer, SignalType.Next, true);
+			publishSignal(buffer, SignalType.Next);
 
 			incrementCursor();
 		}
@@ -102,7 +152,7 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 		public void onError(Throwable t) {
 			Buffer buffer = Buffer.wrap(exceptionSerializer.serialize(t));
 
-			signalSender.publishSignal(SESSION_ID, signalPub, buffer, SignalType.Error, true);
+			publishSignal(buffer, SignalType.Error);
 
 			terminal = true;
 		}
@@ -111,11 +161,75 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 		public void onComplete() {
 			Buffer buffer = new Buffer(0, true);
 
-			signalSender.publishSignal(SESSION_ID, signalPub, buffer, SignalType.Complete, true);
+			publishSignal(buffer, SignalType.Complete);
 
 			terminal = true;
 		}
 
+		private long publishSignal(Buffer buffer, SignalType signalType) {
+			synchronized (publicationLock) {
+				if (signalLog != null && signalType == SignalType.Next && !signalLog.isClosed()) {
+					ByteBuffer byteBuffer = buffer.byteBuffer();
+					signalLog.append(byteBuffer != null ? byteBuffer : ByteBuffer.allocate(0));
+				}
+				return signalSender.publishSignal(SESSION_ID, signalPub, buffer, signalType, true);
+			}
+		}
+
+		/**
+		 * Publishes logged signals to a replaying session as long as it has demand and sends
+		 * {@link SignalType#ReplayEnd} once it caught up with live signals
+		 *
+		 * @return the result of the publication which stopped the replay or 0
+		 */
+		private long replay(MulticastSession session) {
+			synchronized (publicationLock) {
+				if (signalLog.isClosed()) {
+					return 0;
+				}
+
+				// batched live signals are logged already and should not follow the replay
+				long result = signalSender.flush(retryPollerPublication);
+				if (result < 0) {
+					return result;
+				}
+
+				String sessionId = session.getSessionId();
+				long sequence = Math.max(session.getReplaySequence(), signalLog.firstSequence());
+				long end = signalLog.nextSequence();
+				while (sequence < end && session.getReplayDemand() > 0) {
+					Buffer buffer = replaySignals.replay(sessionId, signalLog, sequence);
+					result = signalSender.publishSignal(SESSION_ID, signalPub, buffer, SignalType.Replay,
+							retryPollerPublication);
+					if (result < 0) {
+						break;
+					}
+					session.consumeReplayDemand();
+					sequence++;
+				}
+				session.setReplaySequence(sequence);
+
+				if (sequence == end) {
+					result = publishAddressed(sessionId, SignalType.ReplayEnd);
+					if (result < 0) {
+						return result;
+					}
+					session.endReplay(end - 1);
+				}
+				return Math.min(result, 0);
+			}
+		}
+
+		/**
+		 * Publishes a signal skipped by all the sessions except the one with id provided
+		 */
+		private long publishAddressed(String sessionId, SignalType signalType) {
+			synchronized (publicationLock) {
+				return signalSender.publishSignal(SESSION_ID, signalPub, ReplaySignals.addressedTo(sessionId),
+						signalType, retryPollerPublication);
+			}
+		}
+
 		public boolean isTerminal() {
 			return terminal;
 		}
@@ -128,8 +242,12 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 			Runnable shutdownTask) {
 		this.context = context;
 		this.shutdownTask = shutdownTask;
+		this.retryPollerPublication = context.sharedPollerRunner() == null;
 		this.sessionTracker = new BasicSessionTracker<>();
 		this.heartbeatWatchdog = new HeartbeatWatchdog(context, this, sessionTracker);
+		this.signalLog = context.signalLogDir() != null ?
+				new SignalLog(context.signalLogDir(), context.signalLogSegmentSize(), context.signalLogMaxSize(),
+						context.signalLogRetentionMillis()) : null;
 		this.subscriber = new InnerSubscriber(context, aeronInfra);
 		processor.subscribe(subscriber);
 	}
@@ -137,9 +255,27 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 	@Override
 	public void handleMore(String sessionId, long n) {
 		MulticastSession session = getOrCreateSession(sessionId);
-		session.requestMore(n);
+		if (session == null) {
+			return;
+		}
 
-		minSequence = getMinSequence();
+		if (session.isReplaying()) {
+			session.addReplayDemand(n);
+			replay(session);
+		} else {
+			synchronized (liveSessions) {
+				session.requestMore(n);
+				if (!session.isLagging()) {
+					liveSessions.update(session);
+					isolateSlowConsumers(session.getSequence());
+				} else if (session.getSequence() >= cursor) {
+					session.setLagging(false);
+					liveSessions.add(session);
+					logger.debug("Session with Id: {} caught up with live signals", sessionId);
+				}
+				updateMinSequence();
+			}
+		}
 
 		if (subscriber.subscription == null) {
 			return;
@@ -158,16 +294,102 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 		}
 	}
 
-	private long getMinSequence() {
-		if (sessionTracker.getSessionCounter() == 0) {
-			return cursor;
+	@Override
+	public void handleReplay(String sessionId, long fromSequence) {
+		MulticastSession session = getOrCreateSession(sessionId);
+		if (session == null) {
+			return;
+		}
+
+		if (signalLog == null) {
+			publishAddressed(sessionId, SignalType.ReplayEnd);
+			return;
 		}
 
-		long minSequence = Long.MAX_VALUE;
-		for (MulticastSession session: sessionTracker.getSessions()) {
-			minSequence = Math.min(session.getSequence(), minSequence);
+		synchronized (liveSessions) {
+			liveSessions.remove(session);
+			session.setLagging(false);
+			session.startReplay(Math.max(fromSequence, 0), cursor);
+			updateMinSequence();
 		}
-		return minSequence;
+		replay(session);
+
+		if (subscriber.subscription != null) {
+			requestFromUpstream();
+		}
+	}
+
+	/**
+	 * Replays logged signals to a session and makes it pace upstream demand again once it caught up
+	 */
+	private void replay(MulticastSession session) {
+		if (isStalled(subscriber.replay(session))) {
+			stalledReplays.add(session);
+		}
+
+		if (!session.isReplaying()) {
+			synchronized (liveSessions) {
+				liveSessions.add(session);
+				updateMinSequence();
+			}
+		}
+	}
+
+	/**
+	 * Applies {@link Context#slowConsumerPolicy()} to the sessions lagging behind a sequence
+	 * by more than {@link Context#slowConsumerLagThreshold()} signals.
+	 * Should be called holding the lock of {@link #liveSessions}
+	 *
+	 * @param sequence of the session which requested more
+	 */
+	private void isolateSlowConsumers(long sequence) {
+		SlowConsumerPolicy policy = context.slowConsumerPolicy();
+		if (policy == SlowConsumerPolicy.BLOCK) {
+			return;
+		}
+
+		long minAllowedSequence = sequence - context.slowConsumerLagThreshold();
+		MulticastSession slowest;
+		while ((slowest = liveSessions.peek()) != null && slowest.getSequence() < minAllowedSequence) {
+			liveSessions.remove(slowest);
+
+			String sessionId = slowest.getSessionId();
+			if (policy == SlowConsumerPolicy.EVICT) {
+				sessionTracker.remove(sessionId);
+				evictedSessionIds.add(sessionId);
+				publishAddressed(sessionId, SignalType.Evicted);
+				logger.debug("Evicted session with Id: {} as a slow consumer", sessionId);
+			} else {
+				slowest.setLagging(true);
+				logger.debug("Session with Id: {} doesn't pace upstream demand as a slow consumer", sessionId);
+			}
+		}
+	}
+
+	/**
+	 * Publishes a signal addressed to a session, it is published again by {@link #flushExpiredSignals(long)}
+	 * if the publication is back pressured
+	 */
+	private void publishAddressed(String sessionId, SignalType signalType) {
+		if (isStalled(subscriber.publishAddressed(sessionId, signalType))) {
+			stalledAddressedSignals.put(sessionId, signalType);
+		}
+	}
+
+	/**
+	 * @return true if a publication tried once on the thread of {@link ServiceMessagePoller}
+	 * was back pressured and should be published again
+	 */
+	private boolean isStalled(long result) {
+		return !retryPollerPublication && BasicSignalSender.isBackPressured(result);
+	}
+
+	/**
+	 * Should be called holding the lock of {@link #liveSessions}
+	 */
+	private void updateMinSequence() {
+		MulticastSession slowest = liveSessions.peek();
+		minSequence = slowest != null ? slowest.getSequence() : cursor;
 	}
 
 	public void incrementCursor() {
@@ -175,10 +397,21 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 		requestFromUpstream();
 	}
 
+	/**
+	 * @return a session with the id provided or null if the session was evicted
+	 */
 	public MulticastSession getOrCreateSession(String sessionId) {
 		MulticastSession session = sessionTracker.get(sessionId);
 		if (session == null) {
+			if (evictedSessionIds.contains(sessionId)) {
+				return null;
+			}
+
 			session = new MulticastSession(sessionId, cursor);
+			synchronized (liveSessions) {
+				liveSessions.add(session);
+				updateMinSequence();
+			}
 			sessionTracker.put(sessionId, session);
 
 			logger.debug("New session established with Id: {}", sessionId);
@@ -189,14 +422,21 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 	@Override
 	public void handleHeartbeat(String sessionId) {
 		MulticastSession session = getOrCreateSession(sessionId);
-		session.setLastHeartbeatTimeNs(System.nanoTime());
+		if (session != null) {
+			session.setLastHeartbeatTimeNs(System.nanoTime());
+		}
 	}
 
 	@Override
 	public void handleCancel(String sessionId) {
+		stalledAddressedSignals.remove(sessionId);
 		MulticastSession session = sessionTracker.remove(sessionId);
 		if (session != null) {
-			minSequence = getMinSequence();
+			stalledReplays.remove(session);
+			synchronized (liveSessions) {
+				liveSessions.remove(session);
+				updateMinSequence();
+			}
 
 			if (sessionTracker.getSessionCounter() == 0) {
 				if (context.autoCancel()) {
@@ -208,11 +448,33 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 					shutdownTask.run();
 				}
 			}
-		} else {
+		} else if (!evictedSessionIds.remove(sessionId)) {
 			logger.debug("Could not find a session to close with Id: {}", sessionId);
 		}
 	}
 
+	/**
+	 * Also publishes again the replays and addressed signals whose publication was back pressured
+	 */
+	@Override
+	public int flushExpiredSignals(long nowNs) {
+		int published = subscriber.signalSender.flushExpired(nowNs);
+		for (Map.Entry<String, SignalType> stalled : stalledAddressedSignals.entrySet()) {
+			if (!isStalled(subscriber.publishAddressed(stalled.getKey(), stalled.getValue()))) {
+				stalledAddressedSignals.remove(stalled.getKey(), stalled.getValue());
+				published++;
+			}
+		}
+		for (MulticastSession session : stalledReplays) {
+			stalledReplays.remove(session);
+			if (session.isReplaying()) {
+				replay(session);
+				published++;
+			}
+		}
+		return published;
+	}
+
 	@Override
 	public void start() {
 		heartbeatWatchdog.start();
@@ -221,6 +483,10 @@ class MulticastServiceMessageHandler implements ServiceMessageHandler {
 	@Override
 	public void shutdown() {
 		heartbeatWatchdog.shutdown();
+
+		if (signalLog != null) {
+			signalLog.close();
+		}
 	}
 
 	protected long getCursor() {
@@ -35,6 +35,26 @@ class MulticastSession implements Session {
 
 	private volatile long lastHeartbeatTimeNs;
 
+	/**
+	 * Sequence of the next signal to replay or -1 when the session receives live signals
+	 */
+	private long replaySequence = -1;
+
+	/**
+	 * Demand of the session while it is replaying
+	 */
+	private long replayDemand;
+
+	/**
+	 * Index of the session in {@link SessionHeap} or -1 when the session doesn't pace upstream demand
+	 */
+	private int heapIndex = -1;
+
+	/**
+	 * If the demand of the session is ignored due to {@link reactor.aeron.utils.SlowConsumerPolicy#LOSSY}
+	 */
+	private boolean lagging;
+
 	MulticastSession(String sessionId, long sequence) {
 		try {
 			UUID.fromString(sessionId);
@@ -55,6 +75,70 @@ class MulticastSession implements Session {
 		return BackpressureUtils.getAndAddCap(sequence, n);
 	}
 
+	/**
+	 * Switches the session to replaying, the demand it has for live signals is taken for replay
+	 *
+	 * @param fromSequence of the first signal to replay
+	 * @param cursor sequence of the last live signal published
+	 */
+	void startReplay(long fromSequence, long cursor) {
+		this.replayDemand = Math.max(0, getSequence() - cursor);
+		this.replaySequence = fromSequence;
+	}
+
+	/**
+	 * Switches the session back to live signals with the demand left from replay
+	 *
+	 * @param cursor sequence of the last live signal published
+	 */
+	void endReplay(long cursor) {
+		sequence.set(replayDemand > Long.MAX_VALUE - cursor ? Long.MAX_VALUE : cursor + replayDemand);
+		this.replaySequence = -1;
+		this.replayDemand = 0;
+	}
+
+	boolean isReplaying() {
+		return replaySequence >= 0;
+	}
+
+	long getReplaySequence() {
+		return replaySequence;
+	}
+
+	void setReplaySequence(long replaySequence) {
+		this.replaySequence = replaySequence;
+	}
+
+	long getReplayDemand() {
+		return replayDemand;
+	}
+
+	void addReplayDemand(long n) {
+		replayDemand = BackpressureUtils.addCap(replayDemand, n);
+	}
+
+	void consumeReplayDemand() {
+		if (replayDemand != Long.MAX_VALUE) {
+			replayDemand--;
+		}
+	}
+
+	int getHeapIndex() {
+		return heapIndex;
+	}
+
+	void setHeapIndex(int heapIndex) {
+		this.heapIndex = heapIndex;
+	}
+
+	boolean isLagging() {
+		return lagging;
+	}
+
+	void setLagging(boolean lagging) {
+		this.lagging = lagging;
+	}
+
 	@Override
 	public long getLastHeartbeatTimeNs() {
 		return lastHeartbeatTimeNs;
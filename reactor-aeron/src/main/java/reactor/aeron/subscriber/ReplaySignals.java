@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import java.nio.ByteBuffer;
+
+import reactor.aeron.utils.AeronUtils;
+import reactor.io.buffer.Buffer;
+
+/**
+ * Encodes payloads of {@link reactor.aeron.utils.SignalType#Replay},
+ * {@link reactor.aeron.utils.SignalType#ReplayEnd} and {@link reactor.aeron.utils.SignalType#Evicted}
+ * signals. All of them start with the id of the session
+ * they are addressed to prefixed by its length in a byte, so that other sessions listening
+ * to a multicast channel can skip them.
+ *
+ * @author Anatoly Kadyshev
+ */
+final class ReplaySignals {
+
+	private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+	/**
+	 * @return payload of a ReplayEnd or Evicted signal
+	 */
+	static Buffer addressedTo(String sessionId) {
+		byte[] sessionIdEncoded = sessionId.getBytes(AeronUtils.UTF_8_CHARSET);
+		ByteBuffer byteBuffer = ByteBuffer.allocate(1 + sessionIdEncoded.length);
+		byteBuffer.put((byte) sessionIdEncoded.length).put(sessionIdEncoded).flip();
+		return new Buffer(byteBuffer);
+	}
+
+	/**
+	 * Encodes payload of a Replay signal into a buffer reused by the next call
+	 *
+	 * @param log to read the signal from
+	 * @param sequence of the signal
+	 * @return payload of a Replay signal
+	 */
+	Buffer replay(String sessionId, SignalLog log, long sequence) {
+		byte[] sessionIdEncoded = sessionId.getBytes(AeronUtils.UTF_8_CHARSET);
+		int length = 1 + sessionIdEncoded.length + log.length(sequence);
+		if (buffer.capacity() < length) {
+			buffer = ByteBuffer.allocate(Math.max(length, buffer.capacity() * 2));
+		}
+		buffer.clear();
+		buffer.put((byte) sessionIdEncoded.length).put(sessionIdEncoded);
+		log.read(sequence, buffer);
+		buffer.flip();
+		return new Buffer(buffer);
+	}
+
+}
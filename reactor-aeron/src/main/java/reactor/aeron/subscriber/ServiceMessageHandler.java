@@ -26,6 +26,24 @@ interface ServiceMessageHandler {
 
 	void handleCancel(String sessionId);
 
+	/**
+	 * Replays signals published before the session joined starting from a sequence,
+	 * then sends {@link reactor.aeron.utils.SignalType#ReplayEnd} after which the session receives live signals
+	 *
+	 * @param sessionId of the session
+	 * @param fromSequence of the first signal to replay, sequences count Next signals published since start
+	 */
+	void handleReplay(String sessionId, long fromSequence);
+
+	/**
+	 * Called on every duty cycle of {@link ServiceMessagePoller} to publish
+	 * batched signals which waited long enough
+	 *
+	 * @param nowNs the current {@link System#nanoTime()}
+	 * @return number of messages published
+	 */
+	int flushExpiredSignals(long nowNs);
+
 	void start();
 
 	void shutdown();
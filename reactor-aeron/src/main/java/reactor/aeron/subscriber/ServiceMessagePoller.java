@@ -21,6 +21,7 @@ import java.util.concurrent.Executors;
 import reactor.aeron.Context;
 import reactor.aeron.utils.AeronInfra;
 import reactor.aeron.utils.AeronUtils;
+import reactor.aeron.utils.PollerAgent;
 import reactor.aeron.utils.ServiceMessageType;
 import reactor.core.flow.Receiver;
 import reactor.core.util.Logger;
@@ -34,7 +35,7 @@ import uk.co.real_logic.agrona.concurrent.IdleStrategy;
 /**
  * @author Anatoly Kadyshev
  */
-class ServiceMessagePoller implements Runnable, Receiver {
+class ServiceMessagePoller implements Runnable, PollerAgent, Receiver {
 
 	private static final Logger logger = Logger.getLogger(ServiceMessagePoller.class);
 
@@ -44,8 +45,15 @@ class ServiceMessagePoller implements Runnable, Receiver {
 
 	private final ServiceMessageHandler serviceMessageHandler;
 
+	/**
+	 * Null when the poller is run by {@link Context#sharedPollerRunner()}
+	 */
 	private final ExecutorService executor;
 
+	private final FragmentAssembler fragmentAssembler = new FragmentAssembler(new PollerFragmentHandler());
+
+	private final int fragmentLimit;
+
 	private final AeronInfra aeronInfra;
 
 	private volatile boolean running;
@@ -54,7 +62,7 @@ class ServiceMessagePoller implements Runnable, Receiver {
 
 	private class PollerFragmentHandler implements FragmentHandler {
 
-		private byte[] dst = new byte[255];
+		private final SessionIdInterner sessionIds = new SessionIdInterner();
 
 		@Override
 		public void onFragment(DirectBuffer buffer, int offset, int length, Header header) {
@@ -69,6 +77,8 @@ class ServiceMessagePoller implements Runnable, Receiver {
 				handleCancel(buffer, offset);
 			} else if (type == ServiceMessageType.Heartbeat.getCode()) {
 				handleHeartbeat(buffer, offset, header);
+			} else if (type == ServiceMessageType.Replay.getCode()) {
+				handleReplay(buffer, offset);
 			} else {
 				logger.error("Unknown type code: {} received", type);
 			}
@@ -101,11 +111,18 @@ class ServiceMessagePoller implements Runnable, Receiver {
 			serviceMessageHandler.handleMore(sessionId, n);
 		}
 
-		//TODO: Move to a better GC-free alternative for sessionId
+		private void handleReplay(DirectBuffer buffer, int offset) {
+			long fromSequence = buffer.getLong(offset + 1);
+			String sessionId = readSessionId(buffer, offset + 1 + 8);
+
+			logger.debug("Replay from sequence {} requested for sessionId: {}", fromSequence, sessionId);
+
+			serviceMessageHandler.handleReplay(sessionId, fromSequence);
+		}
+
 		private String readSessionId(DirectBuffer buffer, int offset) {
 			int length = buffer.getByte(offset) & 0xFF;
-			buffer.getBytes(offset + 1, dst, 0, length);
-			return new String(dst, 0, length, AeronUtils.UTF_8_CHARSET);
+			return sessionIds.intern(buffer, offset + 1, length);
 		}
 
 	}
@@ -115,7 +132,8 @@ class ServiceMessagePoller implements Runnable, Receiver {
 		this.serviceMessageHandler = serviceMessageHandler;
 		this.aeronInfra = aeronInfra;
 		this.serviceRequestSub = aeronInfra.addSubscription(context.senderChannel(), context.serviceRequestStreamId());
-		this.executor = Executors.newCachedThreadPool(
+		this.fragmentLimit = context.serviceMessagePollerFragmentLimit();
+		this.executor = context.sharedPollerRunner() != null ? null : Executors.newCachedThreadPool(
 				r -> new Thread(r, AeronUtils.makeThreadName(
 						context.name(),
 						"subscriber",
@@ -123,29 +141,49 @@ class ServiceMessagePoller implements Runnable, Receiver {
 	}
 
 	void start() {
-		executor.execute(this);
+		if (executor != null) {
+			executor.execute(this);
+		} else {
+			context.sharedPollerRunner().add(this);
+		}
 	}
 
 	public void run() {
-		this.running = true;
-		logger.debug("Service message poller started");
+		onStart();
 
-		IdleStrategy idleStrategy = AeronUtils.newBackoffIdleStrategy();
+		IdleStrategy idleStrategy = context.serviceMessagePollerIdleStrategy().get();
+		while (running) {
+			idleStrategy.idle(doWork());
+		}
 
-		FragmentAssembler fragmentAssembler = new FragmentAssembler(new PollerFragmentHandler());
+		onClose();
+	}
 
-		final int fragmentLimit = context.serviceMessagePollerFragmentLimit();
+	@Override
+	public void onStart() {
+		this.running = true;
+		logger.debug("Service message poller started");
+	}
 
-		while (running) {
-			int nFragmentsReceived = 0;
-			try {
-				nFragmentsReceived = serviceRequestSub.poll(fragmentAssembler, fragmentLimit);
-			} catch (Exception e) {
-				context.errorConsumer().accept(e);
-			}
-			idleStrategy.idle(nFragmentsReceived);
+	@Override
+	public int doWork() {
+		int nFragmentsReceived = 0;
+		try {
+			nFragmentsReceived = serviceRequestSub.poll(fragmentAssembler, fragmentLimit);
+			nFragmentsReceived += serviceMessageHandler.flushExpiredSignals(System.nanoTime());
+		} catch (Exception e) {
+			context.errorConsumer().accept(e);
 		}
+		return nFragmentsReceived;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
 
+	@Override
+	public void onClose() {
 		aeronInfra.close(serviceRequestSub);
 
 		logger.debug("Service message poller shutdown");
@@ -155,7 +193,9 @@ class ServiceMessagePoller implements Runnable, Receiver {
 	void shutdown() {
 		this.running = false;
 
-		executor.shutdown();
+		if (executor != null) {
+			executor.shutdown();
+		}
 	}
 
 	@Override
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of multicast sessions ordered by their sequences, so that the min sequence
+ * is available without iterating all the sessions.
+ * A session keeps its index in the heap to be updated or removed in O(log n).
+ *
+ * Not thread-safe
+ *
+ * @author Anatoly Kadyshev
+ */
+final class SessionHeap {
+
+	private MulticastSession[] heap = new MulticastSession[16];
+
+	private int size;
+
+	void add(MulticastSession session) {
+		if (session.getHeapIndex() >= 0) {
+			return;
+		}
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, size * 2);
+		}
+		heap[size] = session;
+		session.setHeapIndex(size);
+		siftUp(size++);
+	}
+
+	void remove(MulticastSession session) {
+		int index = session.getHeapIndex();
+		if (index < 0) {
+			return;
+		}
+		session.setHeapIndex(-1);
+		MulticastSession last = heap[--size];
+		heap[size] = null;
+		if (index < size) {
+			heap[index] = last;
+			last.setHeapIndex(index);
+			siftDown(index);
+			siftUp(last.getHeapIndex());
+		}
+	}
+
+	/**
+	 * Restores the order after the sequence of a session changed
+	 */
+	void update(MulticastSession session) {
+		int index = session.getHeapIndex();
+		if (index >= 0) {
+			siftDown(index);
+			siftUp(session.getHeapIndex());
+		}
+	}
+
+	/**
+	 * @return a session with the min sequence or null if the heap is empty
+	 */
+	MulticastSession peek() {
+		return heap[0];
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private void siftUp(int index) {
+		MulticastSession session = heap[index];
+		long sequence = session.getSequence();
+		while (index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			MulticastSession parent = heap[parentIndex];
+			if (parent.getSequence() <= sequence) {
+				break;
+			}
+			heap[index] = parent;
+			parent.setHeapIndex(index);
+			index = parentIndex;
+		}
+		heap[index] = session;
+		session.setHeapIndex(index);
+	}
+
+	private void siftDown(int index) {
+		MulticastSession session = heap[index];
+		long sequence = session.getSequence();
+		int half = size >>> 1;
+		while (index < half) {
+			int childIndex = 2 * index + 1;
+			MulticastSession child = heap[childIndex];
+			int rightIndex = childIndex + 1;
+			if (rightIndex < size && heap[rightIndex].getSequence() < child.getSequence()) {
+				childIndex = rightIndex;
+				child = heap[rightIndex];
+			}
+			if (sequence <= child.getSequence()) {
+				break;
+			}
+			heap[index] = child;
+			child.setHeapIndex(index);
+			index = childIndex;
+		}
+		heap[index] = session;
+		session.setHeapIndex(index);
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import reactor.aeron.utils.AeronUtils;
+import uk.co.real_logic.agrona.DirectBuffer;
+
+/**
+ * Maps encoded session ids received in service messages to the same {@link String} instance,
+ * so that only the first message of a session allocates its id and later session lookups hit
+ * the cached {@link String#hashCode()} and the identity check of {@link String#equals(Object)}.
+ * <p>
+ * An open addressing table keyed by the bytes of a session id. It is cleared once it holds
+ * {@link #MAX_SIZE} ids to bound the memory taken by ids of terminated sessions.
+ * Not thread-safe, used by a single {@link ServiceMessagePoller}.
+ *
+ * @author Anatoly Kadyshev
+ */
+final class SessionIdInterner {
+
+	static final int MAX_SIZE = 4096;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int[] hashes = new int[INITIAL_CAPACITY];
+
+	private byte[][] keys = new byte[INITIAL_CAPACITY][];
+
+	private String[] values = new String[INITIAL_CAPACITY];
+
+	private int size = 0;
+
+	/**
+	 * @param buffer containing an encoded session id
+	 * @param offset of the session id bytes
+	 * @param length of the session id bytes
+	 * @return the session id decoded when first seen
+	 */
+	String intern(DirectBuffer buffer, int offset, int length) {
+		int hash = hash(buffer, offset, length);
+		int mask = values.length - 1;
+		int index = hash & mask;
+		String value;
+		while ((value = values[index]) != null) {
+			if (hashes[index] == hash && matches(keys[index], buffer, offset, length)) {
+				return value;
+			}
+			index = (index + 1) & mask;
+		}
+
+		byte[] key = new byte[length];
+		buffer.getBytes(offset, key);
+		value = new String(key, AeronUtils.UTF_8_CHARSET);
+
+		if (size == MAX_SIZE) {
+			clear();
+		} else if (2 * (size + 1) > values.length) {
+			resize();
+		}
+		put(hash, key, value);
+		return value;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private void put(int hash, byte[] key, String value) {
+		int mask = values.length - 1;
+		int index = hash & mask;
+		while (values[index] != null) {
+			index = (index + 1) & mask;
+		}
+		hashes[index] = hash;
+		keys[index] = key;
+		values[index] = value;
+		size++;
+	}
+
+	private void resize() {
+		int[] oldHashes = hashes;
+		byte[][] oldKeys = keys;
+		String[] oldValues = values;
+
+		hashes = new int[oldValues.length * 2];
+		keys = new byte[oldValues.length * 2][];
+		values = new String[oldValues.length * 2];
+		size = 0;
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				put(oldHashes[i], oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	private void clear() {
+		for (int i = 0; i < values.length; i++) {
+			keys[i] = null;
+			values[i] = null;
+		}
+		size = 0;
+	}
+
+	private static int hash(DirectBuffer buffer, int offset, int length) {
+		int hash = 1;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + buffer.getByte(offset + i);
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean matches(byte[] key, DirectBuffer buffer, int offset, int length) {
+		if (key.length != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (key[i] != buffer.getByte(offset + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.co.real_logic.agrona.IoUtil;
+
+/**
+ * Append-only log of published Next signals kept in memory-mapped segment files,
+ * replayed to sessions joining late.
+ * <p>
+ * A signal is stored as its length followed by its bytes and is addressed by its sequence,
+ * the number of signals appended before it. Every segment indexes the offsets of its signals.
+ * Whole segments are dropped, oldest first, once the log exceeds its max size or their last signal
+ * is older than the retention period. The segment being appended to is never dropped.
+ * <p>
+ * Every log keeps its segments in a subdirectory of its own, several logs can share a directory.
+ * The subdirectory is locked while the log is open. Sequences start from 0 for every new log,
+ * subdirectories left unlocked by logs not closed are deleted. Subdirectories of logs open in this JVM
+ * are skipped without touching their lock files, as closing any channel of a locked file
+ * releases the locks the JVM holds on it.
+ *
+ * @author Anatoly Kadyshev
+ */
+final class SignalLog implements AutoCloseable {
+
+	private static final String FILE_PREFIX = "signals-";
+
+	private static final String FILE_SUFFIX = ".log";
+
+	private static final String DIR_PREFIX = "signal-log-";
+
+	private static final String LOCK_FILE = "lock";
+
+	/**
+	 * Canonical subdirectories of the logs open in this JVM
+	 */
+	private static final Set<File> OPEN_DIRS = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Subdirectory of the log
+	 */
+	private final File dir;
+
+	private final FileChannel lockChannel;
+
+	private final int segmentSize;
+
+	private final long maxSize;
+
+	private final long retentionMillis;
+
+	private final List<Segment> segments = new ArrayList<>();
+
+	private long nextSequence = 0;
+
+	/**
+	 * Total size of mapped segments
+	 */
+	private long size = 0;
+
+	private boolean closed = false;
+
+	private static final class Segment {
+
+		final long firstSequence;
+
+		final File file;
+
+		final MappedByteBuffer buffer;
+
+		int[] offsets = new int[256];
+
+		int count;
+
+		long lastAppendMillis;
+
+		Segment(long firstSequence, File file, MappedByteBuffer buffer) {
+			this.firstSequence = firstSequence;
+			this.file = file;
+			this.buffer = buffer;
+		}
+
+		void add(int offset, long nowMillis) {
+			if (count == offsets.length) {
+				offsets = Arrays.copyOf(offsets, count * 2);
+			}
+			offsets[count++] = offset;
+			lastAppendMillis = nowMillis;
+		}
+
+		int offset(long sequence) {
+			return offsets[(int) (sequence - firstSequence)];
+		}
+
+		boolean contains(long sequence) {
+			return sequence >= firstSequence && sequence < firstSequence + count;
+		}
+
+		void delete() {
+			IoUtil.unmap(buffer);
+			if (!file.delete()) {
+				file.deleteOnExit();
+			}
+		}
+	}
+
+	/**
+	 * @param dir directory for the subdirectory of segment files, created if missing
+	 * @param segmentSize size of a segment file, a signal larger than that gets a segment of its own
+	 * @param maxSize max total size of segment files
+	 * @param retentionMillis time after which a segment is dropped counting from its last signal
+	 */
+	SignalLog(File dir, int segmentSize, long maxSize, long retentionMillis) {
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new UncheckedIOException(new IOException("Failed to create signal log directory " + dir));
+		}
+		this.segmentSize = segmentSize;
+		this.maxSize = maxSize;
+		this.retentionMillis = retentionMillis;
+
+		deleteStaleLogs(dir);
+		File logDir = null;
+		try {
+			// registered before the lock file is created for other logs of this JVM to skip it
+			logDir = Files.createTempDirectory(dir.toPath(), DIR_PREFIX).toFile().getCanonicalFile();
+			OPEN_DIRS.add(logDir);
+			this.dir = logDir;
+			this.lockChannel = new RandomAccessFile(new File(logDir, LOCK_FILE), "rw").getChannel();
+			lockChannel.lock();
+			if (!logDir.isDirectory()) {
+				// deleted as stale by a log of another process before it got locked
+				lockChannel.close();
+				throw new IOException("Signal log directory " + logDir + " was deleted");
+			}
+		} catch (IOException e) {
+			if (logDir != null) {
+				OPEN_DIRS.remove(logDir);
+			}
+			throw new UncheckedIOException("Failed to create signal log in directory " + dir, e);
+		}
+	}
+
+	/**
+	 * Deletes subdirectories of logs whose lock can be acquired, the process of the log being gone.
+	 * A subdirectory without a lock file is skipped as its log might be starting,
+	 * a subdirectory of a log open in this JVM is skipped before its lock file is opened.
+	 */
+	private static void deleteStaleLogs(File dir) {
+		File[] logDirs = dir.listFiles(file -> file.isDirectory() && file.getName().startsWith(DIR_PREFIX));
+		if (logDirs == null) {
+			return;
+		}
+		for (File logDir : logDirs) {
+			File lockFile = new File(logDir, LOCK_FILE);
+			try {
+				if (OPEN_DIRS.contains(logDir.getCanonicalFile()) || !lockFile.exists()) {
+					continue;
+				}
+			} catch (IOException e) {
+				continue;
+			}
+			try (FileChannel channel = new RandomAccessFile(lockFile, "rw").getChannel()) {
+				FileLock lock = channel.tryLock();
+				if (lock == null) {
+					continue;
+				}
+				File[] files = logDir.listFiles();
+				if (files != null) {
+					for (File file : files) {
+						file.delete();
+					}
+				}
+				logDir.delete();
+			} catch (OverlappingFileLockException e) {
+				// locked by a log of this process closed meanwhile
+			} catch (IOException e) {
+				// left for the next log to delete
+			}
+		}
+	}
+
+	/**
+	 * Appends a signal
+	 *
+	 * @param payload bytes of the signal from its position till its limit, the position is not changed
+	 * @return sequence of the signal
+	 * @throws IllegalStateException if the log was closed
+	 */
+	synchronized long append(ByteBuffer payload) {
+		checkOpen();
+
+		int length = payload.remaining();
+		Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+		if (segment == null || segment.buffer.remaining() < 4 + length) {
+			segment = roll(4 + length);
+		}
+
+		int offset = segment.buffer.position();
+		segment.buffer.putInt(length);
+		segment.buffer.put(payload.duplicate());
+		segment.add(offset, System.currentTimeMillis());
+
+		return nextSequence++;
+	}
+
+	/**
+	 * @return sequence of the oldest signal retained or {@link #nextSequence()} if the log is empty
+	 */
+	synchronized long firstSequence() {
+		expire();
+		return segments.isEmpty() ? nextSequence : segments.get(0).firstSequence;
+	}
+
+	/**
+	 * @return sequence the next appended signal gets
+	 */
+	synchronized long nextSequence() {
+		return nextSequence;
+	}
+
+	/**
+	 * @return length of a retained signal
+	 * @throws IllegalArgumentException if the signal is not retained
+	 */
+	synchronized int length(long sequence) {
+		Segment segment = find(sequence);
+		return segment.buffer.getInt(segment.offset(sequence));
+	}
+
+	/**
+	 * Copies a retained signal into a buffer
+	 *
+	 * @param sequence of the signal
+	 * @param dst to put the signal into, should have {@link #length(long)} bytes remaining
+	 * @throws IllegalArgumentException if the signal is not retained
+	 */
+	synchronized void read(long sequence, ByteBuffer dst) {
+		Segment segment = find(sequence);
+		int offset = segment.offset(sequence);
+		ByteBuffer src = segment.buffer.duplicate();
+		src.limit(offset + 4 + segment.buffer.getInt(offset));
+		src.position(offset + 4);
+		dst.put(src);
+	}
+
+	synchronized boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (Segment segment : segments) {
+			segment.delete();
+		}
+		segments.clear();
+		size = 0;
+
+		try {
+			lockChannel.close();
+		} catch (IOException e) {
+			// the lock is released anyway
+		}
+		new File(dir, LOCK_FILE).delete();
+		if (!dir.delete()) {
+			dir.deleteOnExit();
+		}
+		OPEN_DIRS.remove(dir);
+	}
+
+	private Segment find(long sequence) {
+		checkOpen();
+		for (Segment segment : segments) {
+			if (segment.contains(sequence)) {
+				return segment;
+			}
+		}
+		throw new IllegalArgumentException("Signal with sequence " + sequence + " is not retained");
+	}
+
+	private Segment roll(int minSize) {
+		int capacity = Math.max(segmentSize, minSize);
+		File file = new File(dir, FILE_PREFIX + nextSequence + FILE_SUFFIX);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+			Segment segment = new Segment(nextSequence, file, buffer);
+			segments.add(segment);
+			size += capacity;
+			expire();
+			return segment;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to create signal log segment " + file, e);
+		}
+	}
+
+	private void expire() {
+		long nowMillis = System.currentTimeMillis();
+		while (segments.size() > 1) {
+			Segment oldest = segments.get(0);
+			if (size <= maxSize && nowMillis - oldest.lastAppendMillis <= retentionMillis) {
+				break;
+			}
+			segments.remove(0);
+			size -= oldest.buffer.capacity();
+			oldest.delete();
+		}
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Signal log was closed");
+		}
+	}
+
+}
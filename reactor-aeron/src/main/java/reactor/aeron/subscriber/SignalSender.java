@@ -9,7 +9,34 @@ import uk.co.real_logic.aeron.Publication;
  */
 public interface SignalSender {
 
+	/**
+	 * Publishes a signal
+	 *
+	 * @param retryPublication if the publication should be retried while back pressured instead of tried once,
+	 *                         a caller which cannot be stalled tries it once and publishes again later
+	 * @return the publication result, negative if the signal was not published
+	 */
 	long publishSignal(String sessionId, Publication publication, Buffer buffer, SignalType signalType,
 					   boolean retryPublication);
 
+	/**
+	 * Publishes signals held back by the sender, if any
+	 *
+	 * @param retryPublication if the publication should be retried while back pressured instead of tried once
+	 * @return the publication result of the held back signals, 0 if there were none
+	 */
+	default long flush(boolean retryPublication) {
+		return 0;
+	}
+
+	/**
+	 * Publishes signals held back for longer than the sender allows
+	 *
+	 * @param nowNs the current {@link System#nanoTime()}
+	 * @return number of messages published
+	 */
+	default int flushExpired(long nowNs) {
+		return 0;
+	}
+
 }
@@ -16,6 +16,8 @@
 package reactor.aeron.subscriber;
 
 import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 
@@ -62,6 +64,22 @@ class UnicastServiceMessageHandler implements ServiceMessageHandler, MultiProduc
 
 	private final HeartbeatWatchdog heartbeatWatchdog;
 
+	/**
+	 * Senders having a batch pending, the only ones checked by {@link #flushExpiredSignals(long)}
+	 */
+	private final Set<BatchingSignalSender> pendingSenders = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * If signals published on the thread of {@link ServiceMessagePoller} are retried while back pressured,
+	 * otherwise they are tried once and published again by {@link #flushExpiredSignals(long)}
+	 */
+	private final boolean retryPollerPublication;
+
+	/**
+	 * Sessions whose {@link SignalType#ReplayEnd} publication was back pressured
+	 */
+	private final Set<UnicastSession> stalledReplayEnds = ConcurrentHashMap.newKeySet();
+
 	private class InnerSubscriber implements Subscriber<Buffer> {
 
 		private final SignalSender signalSender;
@@ -71,6 +89,7 @@ class UnicastServiceMessageHandler implements ServiceMessageHandler, MultiProduc
 		InnerSubscriber(UnicastSession session) {
 			this.session = session;
 			this.signalSender = createSignalSender();
+			session.signalSender = signalSender;
 		}
 
 		@Override
@@ -116,12 +135,16 @@ class UnicastServiceMessageHandler implements ServiceMessageHandler, MultiProduc
 		this.aeronInfra = aeronInfra;
 		this.context = context;
 		this.onTerminalEventTask = onTerminalEventTask;
+		this.retryPollerPublication = context.sharedPollerRunner() == null;
 		this.sessionTracker = new BasicSessionTracker<>();
 		this.heartbeatWatchdog = new HeartbeatWatchdog(context, this, sessionTracker);
 	}
 
 	protected SignalSender createSignalSender() {
-		return new BasicSignalSender(aeronInfra, context.errorConsumer());
+		SignalSender signalSender = new BasicSignalSender(aeronInfra, context.errorConsumer(),
+				context.senderIdleStrategy().get());
+		return context.signalBatchSize() > 0 ?
+				new BatchingSignalSender(signalSender, aeronInfra, context, pendingSenders::add) : signalSender;
 	}
 
 	@Override
@@ -137,6 +160,28 @@ class UnicastServiceMessageHandler implements ServiceMessageHandler, MultiProduc
 		}
 	}
 
+	/**
+	 * Signals are not logged for unicast sessions, every session gets all signals published
+	 * after it subscribed, so the replay ends immediately
+	 */
+	@Override
+	public void handleReplay(String sessionId, long fromSequence) {
+		UnicastSession session = getOrCreateSession(sessionId);
+		if (!publishReplayEnd(session)) {
+			stalledReplayEnds.add(session);
+		}
+	}
+
+	/**
+	 * @return false if the publication tried once was back pressured and should be published again
+	 */
+	private boolean publishReplayEnd(UnicastSession session) {
+		String sessionId = session.getSessionId();
+		long result = session.signalSender.publishSignal(sessionId, session.getPublication(),
+				ReplaySignals.addressedTo(sessionId), SignalType.ReplayEnd, retryPollerPublication);
+		return retryPollerPublication || !BasicSignalSender.isBackPressured(result);
+	}
+
 	@Override
 	public void handleHeartbeat(String sessionId) {
 		UnicastSession session = getOrCreateSession(sessionId);
@@ -160,6 +205,32 @@ class UnicastServiceMessageHandler implements ServiceMessageHandler, MultiProduc
 		}
 	}
 
+	/**
+	 * Also publishes again {@link SignalType#ReplayEnd} signals whose publication was back pressured
+	 */
+	@Override
+	public int flushExpiredSignals(long nowNs) {
+		int published = 0;
+		for (UnicastSession session : stalledReplayEnds) {
+			if (publishReplayEnd(session)) {
+				stalledReplayEnds.remove(session);
+				published++;
+			}
+		}
+		if (context.signalBatchSize() == 0) {
+			return published;
+		}
+		for (BatchingSignalSender signalSender : pendingSenders) {
+			pendingSenders.remove(signalSender);
+			published += signalSender.flushExpired(nowNs);
+			// a batch started meanwhile has re-added the sender already
+			if (signalSender.isPending()) {
+				pendingSenders.add(signalSender);
+			}
+		}
+		return published;
+	}
+
 	@Override
 	public void start() {
 		heartbeatWatchdog.start();
@@ -174,12 +245,15 @@ class UnicastServiceMessageHandler implements ServiceMessageHandler, MultiProduc
 	}
 
 	private void sendCompleteIntoNonTerminalSessions() {
-		SignalSender signalSender = new BasicSignalSender(aeronInfra, context.errorConsumer());
+		SignalSender signalSender = new BasicSignalSender(aeronInfra, context.errorConsumer(),
+				context.senderIdleStrategy().get());
 		Buffer buffer = new Buffer(0, true);
 		for (UnicastSession session: sessionTracker.getSessions()) {
 			if (!session.isTerminal()) {
 				session.setTerminal();
-				signalSender.publishSignal(session.getSessionId(), session.getPublication(), buffer,
+				// goes through the session sender to publish its pending batch first
+				SignalSender sessionSignalSender = session.signalSender != null ? session.signalSender : signalSender;
+				sessionSignalSender.publishSignal(session.getSessionId(), session.getPublication(), buffer,
 						SignalType.Complete, true);
 			}
 		}
@@ -225,6 +299,10 @@ class UnicastServiceMessageHandler implements ServiceMessageHandler, MultiProduc
 							session.getSessionId(), SUBSCRIPTION_TIMEOUT_NS)));
 		}
 
+		if (session.signalSender instanceof BatchingSignalSender) {
+			pendingSenders.remove(session.signalSender);
+		}
+		stalledReplayEnds.remove(session);
 		aeronInfra.close(session.getPublication());
 
 		logger.debug("Closed session with sessionId: {}", session.getSessionId());
@@ -36,6 +36,8 @@ class UnicastSession implements Session, Introspectable, Producer {
 
 	public volatile Subscription subscription;
 
+	public volatile SignalSender signalSender;
+
 	private volatile boolean isTerminal;
 
 	public UnicastSession(String sessionId, Publication publication) {
@@ -18,6 +18,7 @@ package reactor.aeron.utils;
 import uk.co.real_logic.aeron.Publication;
 import uk.co.real_logic.aeron.Subscription;
 import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.agrona.concurrent.IdleStrategy;
 
 /**
@@ -36,6 +37,11 @@ public interface AeronInfra {
 	long claim(Publication publication, BufferClaim bufferClaim, int length, IdleStrategy idleStrategy,
 			   boolean retryClaim);
 
+	long offer(Publication publication, DirectBuffer buffer, int length, IdleStrategy idleStrategy,
+			   boolean retryOffer);
+
+	int maxPayloadLength(Publication publication);
+
 	void close(Publication publication);
 
 	void close(Subscription subscription);
@@ -16,13 +16,18 @@
 package reactor.aeron.utils;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import reactor.aeron.Context;
 import reactor.core.util.Logger;
 import uk.co.real_logic.aeron.Aeron;
 import uk.co.real_logic.aeron.Publication;
 import uk.co.real_logic.aeron.Subscription;
+import uk.co.real_logic.aeron.driver.Configuration;
+import uk.co.real_logic.aeron.driver.MediaDriver;
 import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.agrona.concurrent.IdleStrategy;
 
 /**
@@ -44,17 +49,39 @@ public final class BasicAeronInfra implements AeronInfra {
 	 */
 	private final long publicationRetryNs;
 
+	/**
+	 * Applied to the embedded media driver context when this instance launches the driver,
+	 * null when no settings are provided
+	 */
+	private final Consumer<MediaDriver.Context> driverTuner;
+
+	/**
+	 * MTU of the media driver, the one of the embedded driver or the driver default
+	 * for a provided {@link Aeron} instance
+	 */
+	private volatile int mtuLength = Configuration.MTU_LENGTH;
+
 	public BasicAeronInfra(Aeron aeron, long publicationRetryMillis) {
+		this(aeron, publicationRetryMillis, null);
+	}
+
+	public BasicAeronInfra(Aeron aeron, long publicationRetryMillis, Consumer<MediaDriver.Context> driverTuner) {
 		this.launchEmbeddedMediaDriver = (aeron == null);
 		this.aeron = aeron;
 		this.publicationRetryNs = TimeUnit.MILLISECONDS.toNanos(publicationRetryMillis);
+		this.driverTuner = driverTuner;
 	}
 
 	@Override
 	public void initialise() {
 		if (launchEmbeddedMediaDriver && aeron == null) {
 			EmbeddedMediaDriverManager driverManager = EmbeddedMediaDriverManager.getInstance();
-			driverManager.launchDriver();
+			if (driverTuner != null) {
+				driverManager.launchDriver(driverTuner);
+			} else {
+				driverManager.launchDriver();
+			}
+			this.mtuLength = driverManager.getDriverContext().mtuLength();
 			this.aeron = driverManager.getAeron();
 		}
 	}
@@ -101,22 +128,65 @@ public final class BasicAeronInfra implements AeronInfra {
 	@Override
 	public long claim(Publication publication, BufferClaim bufferClaim, int length,
 					  IdleStrategy idleStrategy, boolean retryClaim) {
-		long startTime = System.nanoTime();
-		long result;
-		while ((result = publication.tryClaim(length, bufferClaim)) < 0) {
-			if (result == Publication.CLOSED) {
-				break;
+		long result = publication.tryClaim(length, bufferClaim);
+		if (result < 0 && retryClaim) {
+			long startTime = System.nanoTime();
+			while (result != Publication.CLOSED && System.nanoTime() - startTime <= publicationRetryNs) {
+				idleStrategy.idle(0);
+				if ((result = publication.tryClaim(length, bufferClaim)) >= 0) {
+					break;
+				}
 			}
+			// reset the backoff only once it was used
+			idleStrategy.idle(1);
+		}
+		return result;
+	}
 
-			if (!retryClaim || System.nanoTime() - startTime > publicationRetryNs) {
-				break;
+	/**
+	 * Offers a message into Aeron which fragments it when it does not fit a single frame
+	 *
+	 * @param publication  into which data should be published
+	 * @param buffer       holding the message from index 0
+	 * @param length       number of bytes to be published
+	 * @param idleStrategy idle strategy to use when an attempt
+	 *                     to offer the message fails
+	 *
+	 * @throws IllegalArgumentException if the message exceeds the max message length of the publication
+	 *
+	 * @return @see Publication#offer(DirectBuffer, int, int)
+	 */
+	@Override
+	public long offer(Publication publication, DirectBuffer buffer, int length,
+					  IdleStrategy idleStrategy, boolean retryOffer) {
+		long result = publication.offer(buffer, 0, length);
+		if (result < 0 && retryOffer) {
+			long startTime = System.nanoTime();
+			while (result != Publication.CLOSED && System.nanoTime() - startTime <= publicationRetryNs) {
+				idleStrategy.idle(0);
+				if ((result = publication.offer(buffer, 0, length)) >= 0) {
+					break;
+				}
 			}
-			idleStrategy.idle(0);
+			// reset the backoff only once it was used
+			idleStrategy.idle(1);
 		}
-		idleStrategy.idle(1);
 		return result;
 	}
 
+	/**
+	 * Returns the max length of a message fitting into a single frame of the publication,
+	 * as set by the MTU of the media driver owning it. Only such messages can be claimed.
+	 * The MTU is the same for all the publications of a driver.
+	 *
+	 * @param publication to get the max payload length of
+	 * @return the MTU length of the driver less the data frame header length
+	 */
+	@Override
+	public int maxPayloadLength(Publication publication) {
+		return mtuLength - DataHeaderFlyweight.HEADER_LENGTH;
+	}
+
 	@Override
 	public void close(Publication publication) {
 		publication.close();
@@ -19,6 +19,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import reactor.core.scheduler.Schedulers;
 import reactor.core.scheduler.TimedScheduler;
@@ -127,6 +128,21 @@ public final class EmbeddedMediaDriverManager {
 		return driverContext;
 	}
 
+	/**
+	 * Launches the driver tuning its context first unless the driver is already launched,
+	 * a warning is logged then as the settings of the tuner are not applied
+	 *
+	 * @param driverTuner applied to {@link #getDriverContext()} before the driver is launched
+	 */
+	public synchronized void launchDriver(Consumer<MediaDriver.Context> driverTuner) {
+		if (driver == null && state != State.SHUTTING_DOWN) {
+			driverTuner.accept(getDriverContext());
+		} else if (driver != null) {
+			logger.warn("Embedded media driver is already running, its settings are not changed");
+		}
+		launchDriver();
+	}
+
 	public synchronized void launchDriver() {
 		if (state == State.SHUTTING_DOWN) {
 			throw new IllegalStateException("Manager is being shutdown");
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.utils;
+
+/**
+ * A poller run either by a thread of its own or by a {@link SharedPollerRunner}
+ * together with other pollers
+ *
+ * @author Anatoly Kadyshev
+ */
+public interface PollerAgent {
+
+	/**
+	 * Called once by the runner thread before the first {@link #doWork()}
+	 */
+	void onStart();
+
+	/**
+	 * Polls for a bounded number of fragments
+	 *
+	 * @return amount of work done, 0 lets the runner idle
+	 */
+	int doWork();
+
+	/**
+	 * @return false once the agent should be removed from its runner and closed
+	 */
+	boolean isRunning();
+
+	/**
+	 * Called once by the runner thread after the agent stopped running or the runner was shutdown
+	 */
+	void onClose();
+
+}
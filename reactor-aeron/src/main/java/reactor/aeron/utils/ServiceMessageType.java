@@ -22,7 +22,8 @@ public enum ServiceMessageType {
 
 	Request(1),
 	Cancel(2),
-	Heartbeat(4);
+	Heartbeat(4),
+	Replay(8);
 
 
 	private final byte code;
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import reactor.core.util.Logger;
+import uk.co.real_logic.agrona.concurrent.IdleStrategy;
+
+/**
+ * Runs {@link PollerAgent}s of many {@link reactor.aeron.publisher.AeronFlux} and
+ * {@link reactor.aeron.subscriber.AeronSubscriber} instances on a fixed number of duty-cycle threads
+ * instead of a thread per poller.
+ * <p>
+ * A new agent is assigned to the thread running the fewest agents. Every duty cycle of a thread
+ * calls {@link PollerAgent#doWork()} of each of its agents once, so an agent cannot poll more than
+ * its fragment limit before the others get their turn, and idles only when none of them did any work.
+ *
+ * @author Anatoly Kadyshev
+ */
+public final class SharedPollerRunner {
+
+	private static final Logger logger = Logger.getLogger(SharedPollerRunner.class);
+
+	private final DutyCycle[] dutyCycles;
+
+	private volatile boolean running = true;
+
+	private final class DutyCycle implements Runnable {
+
+		private final Queue<PollerAgent> added = new ConcurrentLinkedQueue<>();
+
+		private final List<PollerAgent> agents = new ArrayList<>();
+
+		private final AtomicInteger agentCount = new AtomicInteger();
+
+		private final IdleStrategy idleStrategy;
+
+		private final Thread thread;
+
+		/**
+		 * Set before the last agents are picked up from {@link #added} and closed
+		 */
+		private volatile boolean closing = false;
+
+		private volatile boolean terminated = false;
+
+		DutyCycle(String name, IdleStrategy idleStrategy) {
+			this.idleStrategy = idleStrategy;
+			this.thread = new Thread(this, name);
+			this.thread.setDaemon(true);
+		}
+
+		void add(PollerAgent agent) {
+			agentCount.incrementAndGet();
+			added.add(agent);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (running) {
+					startAdded();
+
+					int workCount = 0;
+					for (int i = 0; i < agents.size(); i++) {
+						PollerAgent agent = agents.get(i);
+						if (agent.isRunning()) {
+							try {
+								workCount += agent.doWork();
+								continue;
+							} catch (Throwable t) {
+								logger.error("Poller agent failed, closing it", t);
+							}
+						}
+						agents.remove(i--);
+						close(agent);
+					}
+					idleStrategy.idle(workCount);
+				}
+			} finally {
+				closing = true;
+				startAdded();
+				for (PollerAgent agent : agents) {
+					close(agent);
+				}
+				agents.clear();
+				terminated = true;
+			}
+		}
+
+		private void startAdded() {
+			PollerAgent agent;
+			while ((agent = added.poll()) != null) {
+				try {
+					agent.onStart();
+					agents.add(agent);
+				} catch (Throwable t) {
+					logger.error("Poller agent failed to start", t);
+					close(agent);
+				}
+			}
+		}
+
+		private void close(PollerAgent agent) {
+			agentCount.decrementAndGet();
+			try {
+				agent.onClose();
+			} catch (Throwable t) {
+				logger.error("Poller agent failed to close", t);
+			}
+		}
+	}
+
+	/**
+	 * Creates and starts a new runner
+	 *
+	 * @param name prefix of the runner thread names
+	 * @param nThreads number of duty-cycle threads
+	 * @param idleStrategy creates an idle strategy for each thread
+	 * @return a new runner
+	 */
+	public static SharedPollerRunner create(String name, int nThreads, Supplier<IdleStrategy> idleStrategy) {
+		if (nThreads <= 0) {
+			throw new IllegalArgumentException("nThreads should be > 0");
+		}
+		return new SharedPollerRunner(name, nThreads, idleStrategy);
+	}
+
+	private SharedPollerRunner(String name, int nThreads, Supplier<IdleStrategy> idleStrategy) {
+		this.dutyCycles = new DutyCycle[nThreads];
+		for (int i = 0; i < nThreads; i++) {
+			dutyCycles[i] = new DutyCycle(AeronUtils.makeThreadName(name, "aeron", "poller-" + i),
+					idleStrategy.get());
+		}
+		for (DutyCycle dutyCycle : dutyCycles) {
+			dutyCycle.thread.start();
+		}
+	}
+
+	/**
+	 * Schedules the agent onto the least loaded thread
+	 *
+	 * @param agent to run
+	 * @throws RejectedExecutionException if the runner was shutdown
+	 */
+	public void add(PollerAgent agent) {
+		if (!running) {
+			throw new RejectedExecutionException("Runner was shutdown");
+		}
+		DutyCycle target = dutyCycles[0];
+		for (int i = 1; i < dutyCycles.length; i++) {
+			if (dutyCycles[i].agentCount.get() < target.agentCount.get()) {
+				target = dutyCycles[i];
+			}
+		}
+		target.add(agent);
+		if (target.closing && target.added.remove(agent)) {
+			target.agentCount.decrementAndGet();
+			throw new RejectedExecutionException("Runner was shutdown");
+		}
+	}
+
+	/**
+	 * @return number of agents being run
+	 */
+	public int agentCount() {
+		int count = 0;
+		for (DutyCycle dutyCycle : dutyCycles) {
+			count += dutyCycle.agentCount.get();
+		}
+		return count;
+	}
+
+	/**
+	 * Stops the threads, agents still running are closed
+	 */
+	public void shutdown() {
+		running = false;
+	}
+
+	public boolean isTerminated() {
+		for (DutyCycle dutyCycle : dutyCycles) {
+			if (!dutyCycle.terminated) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
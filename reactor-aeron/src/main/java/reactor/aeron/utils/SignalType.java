@@ -22,7 +22,11 @@ public enum SignalType {
 
 	Next((byte) 0),
 	Error((byte) 1),
-	Complete((byte) 2);
+	Complete((byte) 2),
+	NextBatch((byte) 3),
+	Replay((byte) 4),
+	ReplayEnd((byte) 5),
+	Evicted((byte) 6);
 
 	private final byte code;
 
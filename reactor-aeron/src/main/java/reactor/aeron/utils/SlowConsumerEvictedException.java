@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.utils;
+
+/**
+ * Signalled to a receiver evicted by a multicast sender due to {@link SlowConsumerPolicy#EVICT}
+ *
+ * @author Anatoly Kadyshev
+ */
+public class SlowConsumerEvictedException extends Exception {
+
+	public SlowConsumerEvictedException(String sessionId) {
+		super("Session with Id: " + sessionId + " was evicted as a slow consumer");
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.utils;
+
+/**
+ * What a multicast sender does with a session lagging behind, see
+ * {@link reactor.aeron.Context#slowConsumerLagThreshold(long)}
+ *
+ * @author Anatoly Kadyshev
+ */
+public enum SlowConsumerPolicy {
+
+	/**
+	 * The slowest session paces signals requested from upstream for all the sessions
+	 */
+	BLOCK,
+
+	/**
+	 * A lagging session is closed and its receiver gets {@link SlowConsumerEvictedException}.
+	 * It can reconnect with {@link reactor.aeron.Context#replayFromSequence(long)} to catch up
+	 * from the signal log
+	 */
+	EVICT,
+
+	/**
+	 * Demand of a lagging session is ignored till it requests the signals published meanwhile,
+	 * the receiver might lose signals if Aeron cannot retain them
+	 */
+	LOSSY
+
+}
@@ -16,17 +16,26 @@
 package reactor.aeron.publisher;
 
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
+import org.reactivestreams.Subscription;
 import reactor.aeron.Context;
 import reactor.aeron.utils.AeronInfra;
 import reactor.aeron.utils.AeronTestUtils;
+import reactor.aeron.utils.ServiceMessageType;
 import reactor.aeron.utils.TestAeronInfra;
 import reactor.aeron.utils.ThreadSnapshot;
+import reactor.core.scheduler.Schedulers;
+import reactor.core.subscriber.BaseSubscriber;
 import reactor.core.test.TestSubscriber;
 import reactor.io.buffer.Buffer;
+import uk.co.real_logic.agrona.concurrent.SleepingIdleStrategy;
 
 import static org.junit.Assert.assertTrue;
 
@@ -43,6 +52,14 @@ public class AeronFluxTest {
 
 	private Context context;
 
+	@BeforeClass
+	public static void doSetupClass() throws InterruptedException {
+		// the global timer used by AeronFlux.shutdown outlives the tests, whichever runs first
+		CountDownLatch started = new CountDownLatch(1);
+		Schedulers.timer().schedule(started::countDown);
+		started.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS);
+	}
+
 	@Before
 	public void doSetup() {
 		threadSnapshot = new ThreadSnapshot().take();
@@ -94,4 +111,45 @@ public class AeronFluxTest {
 		TestSubscriber.await(Duration.ofSeconds(2), "publisher didn't terminate due to heartbeat loss", publisher::isTerminated);
 	}
 
+	@Test
+	public void testRequestsAreCoalesced() {
+		context.requestCoalescingLimit(1000)
+		       .signalPollerIdleStrategy(() -> new SleepingIdleStrategy(TimeUnit.MILLISECONDS.toNanos(10)));
+
+		AeronFlux publisher = new AeronFlux(context);
+
+		AtomicReference<Subscription> subscription = new AtomicReference<>();
+		publisher.subscribe(new BaseSubscriber<Buffer>() {
+			@Override
+			public void onSubscribe(Subscription s) {
+				subscription.set(s);
+			}
+		});
+		TestSubscriber.await(TIMEOUT, "publisher wasn't subscribed", () -> subscription.get() != null);
+
+		for (int i = 0; i < 100; i++) {
+			subscription.get().request(1);
+		}
+
+		TestSubscriber.await(TIMEOUT, "requests weren't sent", () -> requestedFromSender() == 100);
+		assertTrue(countRequestMessages() < 100);
+
+		publisher.shutdown();
+	}
+
+	private long requestedFromSender() {
+		return aeronInfra.getClaimedBuffers()
+		                 .stream()
+		                 .filter(buffer -> buffer.getByte(0) == ServiceMessageType.Request.getCode())
+		                 .mapToLong(buffer -> buffer.getLong(1))
+		                 .sum();
+	}
+
+	private long countRequestMessages() {
+		return aeronInfra.getClaimedBuffers()
+		                 .stream()
+		                 .filter(buffer -> buffer.getByte(0) == ServiceMessageType.Request.getCode())
+		                 .count();
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.publisher;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.aeron.Context;
+import reactor.aeron.utils.AeronTestUtils;
+import reactor.aeron.utils.AeronUtils;
+import reactor.aeron.utils.EmbeddedMediaDriverManager;
+import reactor.core.publisher.Flux;
+import reactor.core.test.TestSubscriber;
+import reactor.io.buffer.Buffer;
+import uk.co.real_logic.aeron.driver.MediaDriver;
+import uk.co.real_logic.aeron.driver.ThreadingMode;
+import uk.co.real_logic.agrona.concurrent.BusySpinIdleStrategy;
+import uk.co.real_logic.agrona.concurrent.IdleStrategy;
+
+/**
+ * Is not actually a test but a benchmark of {@link AeronProcessor} throughput and latency on loopback
+ * for a matrix of embedded media driver settings and for signal batch sizes
+ *
+ * @author Anatoly Kadyshev
+ */
+@Ignore
+public class AeronProcessorLoopbackBenchmark {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private static final int SIGNALS = 1_000_000;
+
+	private static final int[] TERM_BUFFER_LENGTHS = {64 * 1024, 1024 * 1024};
+
+	private static final int[] SIGNAL_BATCH_SIZES = {0, 1024, 4096};
+
+	@Test
+	public void benchmarkDriverSettings() throws InterruptedException {
+		System.setProperty(MediaDriver.DIRS_DELETE_ON_START_PROP_NAME, "true");
+		EmbeddedMediaDriverManager.getInstance().setDeleteAeronDirsOnExit(true);
+
+		for (ThreadingMode threadingMode : ThreadingMode.values()) {
+			for (boolean busySpin : new boolean[] {false, true}) {
+				for (int termBufferLength : TERM_BUFFER_LENGTHS) {
+					Supplier<IdleStrategy> idleStrategy = busySpin ?
+							BusySpinIdleStrategy::new : AeronUtils::newBackoffIdleStrategy;
+
+					Context context = Context.create()
+							.name("benchmark")
+							.senderChannel(AeronTestUtils.availableLocalhostChannel())
+							.driverThreadingMode(threadingMode)
+							.driverConductorIdleStrategy(idleStrategy)
+							.driverSenderIdleStrategy(idleStrategy)
+							.driverReceiverIdleStrategy(idleStrategy)
+							.driverTermBufferLength(termBufferLength)
+							.signalPollerIdleStrategy(idleStrategy)
+							.serviceMessagePollerIdleStrategy(idleStrategy)
+							.senderIdleStrategy(idleStrategy);
+					context.receiverChannel(context.senderChannel());
+
+					run(String.format("threadingMode=%s, idleStrategy=%s, termBufferLength=%d", threadingMode,
+							busySpin ? "busy-spin" : "backoff", termBufferLength), context);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void benchmarkSignalBatching() throws InterruptedException {
+		System.setProperty(MediaDriver.DIRS_DELETE_ON_START_PROP_NAME, "true");
+		EmbeddedMediaDriverManager.getInstance().setDeleteAeronDirsOnExit(true);
+
+		for (int signalBatchSize : SIGNAL_BATCH_SIZES) {
+			Context context = Context.create()
+					.name("benchmark")
+					.senderChannel(AeronTestUtils.availableLocalhostChannel())
+					.signalBatchSize(signalBatchSize);
+			context.receiverChannel(context.senderChannel());
+
+			run(String.format("signalBatchSize=%d, signalBatchLingerMillis=%d", signalBatchSize,
+					context.signalBatchLingerMillis()), context);
+		}
+	}
+
+	private void run(String settings, Context context) throws InterruptedException {
+		AeronProcessor processor = AeronProcessor.create(context);
+		LatencySubscriber subscriber = new LatencySubscriber();
+		processor.subscribe(subscriber);
+
+		long startNs = System.nanoTime();
+		Flux.range(0, SIGNALS).map(i -> {
+			Buffer buffer = new Buffer(8, true);
+			buffer.append(System.nanoTime());
+			return buffer.flip();
+		}).subscribe(processor);
+
+		if (!subscriber.completed.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS)) {
+			System.out.println(settings + ": received " + subscriber.received + " signals within timeout");
+		} else {
+			long elapsedNs = System.nanoTime() - startNs;
+			long received = Math.max(subscriber.received, 1);
+			// signals lost to failed publications are not counted
+			System.out.println(String.format("%s: %d signals/sec, mean latency %d us, received %d of %d",
+					settings, received * TimeUnit.SECONDS.toNanos(1) / elapsedNs,
+					TimeUnit.NANOSECONDS.toMicros(subscriber.latencySumNs / received), subscriber.received, SIGNALS));
+		}
+
+		processor.shutdown();
+		TestSubscriber.await(TIMEOUT, "Processor didn't terminate within timeout interval",
+				processor::isTerminated);
+		AeronTestUtils.awaitMediaDriverIsTerminated(TIMEOUT);
+	}
+
+	static class LatencySubscriber implements Subscriber<Buffer> {
+
+		final CountDownLatch completed = new CountDownLatch(1);
+
+		volatile long received;
+
+		long latencySumNs;
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Buffer buffer) {
+			latencySumNs += System.nanoTime() - buffer.readLong();
+			received++;
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			t.printStackTrace();
+			completed.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed.countDown();
+		}
+
+	}
+
+}
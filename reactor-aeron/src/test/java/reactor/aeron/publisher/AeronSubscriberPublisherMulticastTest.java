@@ -16,8 +16,16 @@
 
 package reactor.aeron.publisher;
 
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Test;
 import reactor.aeron.Context;
+import reactor.aeron.subscriber.AeronSubscriber;
 import reactor.aeron.utils.AeronTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.test.TestSubscriber;
+import reactor.io.buffer.Buffer;
 
 /**
  * @author Anatoly Kadyshev
@@ -33,4 +41,34 @@ public class AeronSubscriberPublisherMulticastTest extends CommonSubscriberPubli
 		                    .receiverChannel(CHANNEL);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testLateJoinerReplaysLoggedSignals() throws Exception {
+		File signalLogDir = Files.createTempDirectory("signal-log").toFile();
+		AeronSubscriber subscriber = AeronSubscriber.create(createContext("subscriber").signalLogDir(signalLogDir));
+		try {
+			Flux.just(Buffer.wrap("One"), Buffer.wrap("Two"), Buffer.wrap("Three"))
+			    .concatWith(Flux.never())
+			    .subscribe(subscriber);
+
+			AeronFlux livePublisher = new AeronFlux(createContext("live-publisher"));
+			TestSubscriber<String> liveSubscriber = TestSubscriber.create();
+			Buffer.bufferToString(livePublisher).subscribe(liveSubscriber);
+
+			liveSubscriber.awaitAndAssertNextValues("One", "Two", "Three");
+
+			AeronFlux latePublisher = new AeronFlux(createContext("late-publisher").replayFromSequence(0));
+			TestSubscriber<String> lateSubscriber = TestSubscriber.create();
+			Buffer.bufferToString(latePublisher).subscribe(lateSubscriber);
+
+			lateSubscriber.awaitAndAssertNextValues("One", "Two", "Three");
+
+			liveSubscriber.cancel();
+			lateSubscriber.cancel();
+		} finally {
+			subscriber.shutdown();
+			TestSubscriber.await(TIMEOUT, "subscriber didn't terminate", subscriber::isTerminated);
+			signalLogDir.delete();
+		}
+	}
+
+}
@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.hamcrest.Matchers;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -33,12 +34,17 @@ import org.reactivestreams.Subscription;
 import reactor.aeron.Context;
 import reactor.aeron.subscriber.AeronSubscriber;
 import reactor.aeron.utils.AeronTestUtils;
+import reactor.aeron.utils.AeronUtils;
+import reactor.aeron.utils.SharedPollerRunner;
 import reactor.aeron.utils.SignalPublicationFailedException;
 import reactor.aeron.utils.ThreadSnapshot;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 import reactor.core.subscriber.BaseSubscriber;
 import reactor.core.test.TestSubscriber;
 import reactor.io.buffer.Buffer;
+import uk.co.real_logic.agrona.concurrent.BusySpinIdleStrategy;
+import uk.co.real_logic.agrona.concurrent.YieldingIdleStrategy;
 
 import static org.junit.Assert.*;
 
@@ -53,6 +59,14 @@ public abstract class CommonSubscriberPublisherTest {
 
 	private ThreadSnapshot threadSnapshot;
 
+	@BeforeClass
+	public static void doSetupClass() throws InterruptedException {
+		// starts the global timer threads before the first thread snapshot is taken
+		CountDownLatch started = new CountDownLatch(1);
+		Schedulers.timer().schedule(started::countDown);
+		started.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS);
+	}
+
 	@Before
 	public void doSetup() {
 		threadSnapshot = new ThreadSnapshot().take();
@@ -92,6 +106,47 @@ public abstract class CommonSubscriberPublisherTest {
 		clientSubscriber.awaitAndAssertNextValues("One", "Two", "Three").assertComplete();
 	}
 
+	@Test
+	public void testNextSignalIsReceivedWithBusySpinIdleStrategies() throws InterruptedException {
+		AeronSubscriber subscriber = AeronSubscriber.create(createContext("subscriber")
+				.serviceMessagePollerIdleStrategy(BusySpinIdleStrategy::new)
+				.senderIdleStrategy(YieldingIdleStrategy::new));
+
+		Flux.just(Buffer.wrap("One"), Buffer.wrap("Two"), Buffer.wrap("Three"))
+		    .subscribe(subscriber);
+
+		AeronFlux publisher = new AeronFlux(createContext("publisher")
+				.signalPollerIdleStrategy(BusySpinIdleStrategy::new)
+				.senderIdleStrategy(YieldingIdleStrategy::new));
+
+		TestSubscriber<String> clientSubscriber = TestSubscriber.create();
+		Buffer.bufferToString(publisher).subscribe(clientSubscriber);
+
+
+		clientSubscriber.awaitAndAssertNextValues("One", "Two", "Three").assertComplete();
+	}
+
+	@Test
+	public void testNextSignalIsReceivedWithSharedPollerRunner() throws InterruptedException {
+		SharedPollerRunner runner = SharedPollerRunner.create("shared", 1, AeronUtils::newBackoffIdleStrategy);
+		try {
+			AeronSubscriber subscriber = AeronSubscriber.create(createContext("subscriber").sharedPollerRunner(runner));
+
+			Flux.just(Buffer.wrap("One"), Buffer.wrap("Two"), Buffer.wrap("Three"))
+			    .subscribe(subscriber);
+
+			AeronFlux publisher = new AeronFlux(createContext("publisher").sharedPollerRunner(runner));
+
+			TestSubscriber<String> clientSubscriber = TestSubscriber.create();
+			Buffer.bufferToString(publisher).subscribe(clientSubscriber);
+
+
+			clientSubscriber.awaitAndAssertNextValues("One", "Two", "Three").assertComplete();
+		} finally {
+			runner.shutdown();
+		}
+	}
+
 	@Test
 	public void testErrorShutsDownSenderAndReceiver() throws InterruptedException {
 		AeronSubscriber subscriber = AeronSubscriber.create(createContext("subscriber"));
@@ -111,8 +166,8 @@ public abstract class CommonSubscriberPublisherTest {
 		final CountDownLatch gotErrorLatch = new CountDownLatch(1);
 		final AtomicReference<Throwable> error = new AtomicReference<>();
 		AeronSubscriber subscriber = AeronSubscriber.create(createContext("subscriber").errorConsumer(th -> {
-			gotErrorLatch.countDown();
 			error.set(th);
+			gotErrorLatch.countDown();
 		}));
 
 		final byte[] bytes = new byte[2048];
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.publisher;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import reactor.io.buffer.Buffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Anatoly Kadyshev
+ */
+public class DirectBufferViewTest {
+
+	@Test
+	public void viewsHeapBufferWithoutCopy() {
+		byte[] bytes = "--hello--".getBytes();
+		UnsafeBuffer source = new UnsafeBuffer(bytes, 1, bytes.length - 1);
+
+		ByteBuffer view = DirectBufferView.slice(source, 1, 5);
+
+		assertNotNull(view);
+		assertEquals("hello", new Buffer(view).asString());
+		bytes[2] = 'j';
+		assertEquals("jello", new Buffer(view.duplicate()).asString());
+	}
+
+	@Test
+	public void viewsDirectBufferWithoutCopy() {
+		ByteBuffer term = ByteBuffer.allocateDirect(64);
+		term.position(16);
+		term.put("--hello--".getBytes());
+		UnsafeBuffer source = new UnsafeBuffer(term, 16, 48);
+
+		ByteBuffer view = DirectBufferView.slice(source, 2, 5);
+
+		assertNotNull(view);
+		assertEquals(0, view.position());
+		assertEquals(5, view.remaining());
+		assertEquals("hello", new Buffer(view).asString());
+	}
+
+	@Test
+	public void copiesIntoPooledBufferWhenMemoryCannotBeViewed() {
+		ByteBuffer term = ByteBuffer.allocateDirect(16);
+		term.put("--hello--".getBytes());
+		UnsafeBuffer source = new UnsafeBuffer(((sun.nio.ch.DirectBuffer) term).address(), term.capacity());
+
+		assertNull(DirectBufferView.slice(source, 2, 5));
+
+		DirectBufferView view = new DirectBufferView();
+		Buffer first = view.wrap(source, 2, 5);
+		ByteBuffer pooled = first.byteBuffer();
+		assertEquals("hello", first.asString());
+
+		Buffer second = view.wrap(source, 3, 4);
+		assertSame(pooled, second.byteBuffer());
+		assertEquals("ello", second.asString());
+	}
+
+	@Test
+	public void copyOutlivesTheView() {
+		byte[] bytes = "hello".getBytes();
+		DirectBufferView view = new DirectBufferView();
+
+		Buffer copy = view.wrap(new UnsafeBuffer(bytes), 0, bytes.length)
+		                  .copy();
+		bytes[0] = 'j';
+
+		assertEquals("jello", view.asString());
+		assertEquals("hello", copy.asString());
+	}
+
+}
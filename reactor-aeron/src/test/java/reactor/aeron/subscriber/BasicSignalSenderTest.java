@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import reactor.aeron.utils.AeronUtils;
+import reactor.aeron.utils.SignalPublicationFailedException;
+import reactor.aeron.utils.SignalType;
+import reactor.aeron.utils.TestAeronInfra;
+import reactor.io.buffer.Buffer;
+import uk.co.real_logic.aeron.Publication;
+import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Anatoly Kadyshev
+ */
+public class BasicSignalSenderTest {
+
+	private static final int MAX_CLAIM_LENGTH = 64;
+
+	private TestAeronInfra aeronInfra;
+
+	private Publication publication;
+
+	private List<Throwable> errors;
+
+	private BasicSignalSender signalSender;
+
+	@Before
+	public void doSetup() {
+		aeronInfra = new TestAeronInfra();
+		publication = aeronInfra.addPublication("udp://localhost:12000", 1);
+		errors = new ArrayList<>();
+		aeronInfra.setMaxPayloadLength(MAX_CLAIM_LENGTH);
+		signalSender = new BasicSignalSender(aeronInfra, errors::add, AeronUtils.newBackoffIdleStrategy());
+	}
+
+	@Test
+	public void claimsSmallSignalsFromBufferPosition() {
+		Buffer buffer = Buffer.wrap("--hello");
+		buffer.position(2);
+
+		long result = signalSender.publishSignal("session", publication, buffer, SignalType.Next, false);
+
+		assertThat(result >= 0, is(true));
+		assertThat(aeronInfra.getLastOffered(), nullValue());
+		BufferClaim claim = aeronInfra.getLastClaim();
+		assertThat(claim.buffer().getByte(claim.offset()), is(SignalType.Next.getCode()));
+		byte[] payload = new byte[5];
+		claim.buffer().getBytes(claim.offset() + 1, payload);
+		assertThat(new String(payload), is("hello"));
+		assertThat(buffer.position(), is(2));
+	}
+
+	@Test
+	public void offersLargeDirectSignals() {
+		byte[] bytes = new byte[MAX_CLAIM_LENGTH * 4];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) i;
+		}
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+
+		long result = signalSender.publishSignal("session", publication, new Buffer(direct), SignalType.Next, false);
+
+		assertThat(result >= 0, is(true));
+		byte[] offered = aeronInfra.getLastOffered();
+		assertThat(offered.length, is(bytes.length + 1));
+		assertThat(offered[0], is(SignalType.Next.getCode()));
+		for (int i = 0; i < bytes.length; i++) {
+			assertThat(offered[i + 1], is(bytes[i]));
+		}
+		assertThat(direct.position(), is(0));
+	}
+
+	@Test
+	public void claimsUpToMaxPayloadLengthOfPublication() {
+		long result = signalSender.publishSignal("session", publication, Buffer.wrap(new byte[MAX_CLAIM_LENGTH - 1]),
+				SignalType.Next, false);
+
+		assertThat(result >= 0, is(true));
+		assertThat(aeronInfra.getLastOffered(), nullValue());
+
+		aeronInfra.setMaxPayloadLength(MAX_CLAIM_LENGTH / 2);
+		result = signalSender.publishSignal("session", publication, Buffer.wrap(new byte[MAX_CLAIM_LENGTH - 1]),
+				SignalType.Next, false);
+
+		assertThat(result >= 0, is(true));
+		assertThat(aeronInfra.getLastOffered().length, is(MAX_CLAIM_LENGTH));
+	}
+
+	@Test
+	public void publishesEmptyCompleteSignal() {
+		long result = signalSender.publishSignal("session", publication, new Buffer(0, true), SignalType.Complete,
+				false);
+
+		assertThat(result >= 0, is(true));
+		BufferClaim claim = aeronInfra.getLastClaim();
+		assertThat(claim.buffer().getByte(claim.offset()), is(SignalType.Complete.getCode()));
+	}
+
+	@Test
+	public void reportsFailedPublication() {
+		aeronInfra.setShouldFailClaim(true);
+
+		long result = signalSender.publishSignal("session", publication, Buffer.wrap(new byte[MAX_CLAIM_LENGTH * 2]),
+				SignalType.Next, false);
+
+		assertThat(result < 0, is(true));
+		assertThat(errors.size(), is(1));
+		assertThat(errors.get(0), instanceOf(SignalPublicationFailedException.class));
+	}
+
+	@Test
+	public void doesNotReportBackPressuredPublicationTriedOnce() {
+		aeronInfra.setShouldFailClaim(true);
+		aeronInfra.setFailedClaimResult(Publication.BACK_PRESSURED);
+
+		long result = signalSender.publishSignal("session", publication, Buffer.wrap("hello"), SignalType.Next, false);
+
+		assertThat(result, is(Publication.BACK_PRESSURED));
+		assertThat(errors.size(), is(0));
+
+		signalSender.publishSignal("session", publication, Buffer.wrap("hello"), SignalType.Next, true);
+
+		assertThat(errors.size(), is(1));
+	}
+
+}
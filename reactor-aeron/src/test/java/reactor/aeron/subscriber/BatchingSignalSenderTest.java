@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import reactor.aeron.Context;
+import reactor.aeron.utils.AeronUtils;
+import reactor.aeron.utils.SharedPollerRunner;
+import reactor.aeron.utils.SignalPublicationFailedException;
+import reactor.aeron.utils.SignalType;
+import reactor.aeron.utils.TestAeronInfra;
+import reactor.io.buffer.Buffer;
+import uk.co.real_logic.aeron.Publication;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Anatoly Kadyshev
+ */
+public class BatchingSignalSenderTest {
+
+	private final List<SignalType> types = Collections.synchronizedList(new ArrayList<>());
+
+	private final List<Buffer> signals = Collections.synchronizedList(new ArrayList<>());
+
+	private final Publication publication = mock(Publication.class);
+
+	private final TestAeronInfra aeronInfra = new TestAeronInfra();
+
+	private volatile long publicationResult = 1;
+
+	private SignalSender recorder;
+
+	private BatchingSignalSender signalSender;
+
+	@Before
+	public void doSetup() {
+		recorder = new SignalSender() {
+			@Override
+			public synchronized long publishSignal(String sessionId, Publication publication, Buffer buffer,
+												   SignalType signalType, boolean retryPublication) {
+				types.add(signalType);
+				signals.add(buffer.copy());
+				return publicationResult;
+			}
+		};
+		signalSender = new BatchingSignalSender(recorder, aeronInfra, Context.create()
+		                                                                     .signalBatchSize(30)
+		                                                                     .signalBatchLingerMillis(10_000));
+	}
+
+	@Test
+	public void packsNextSignalsUntilBatchIsFull() {
+		for (String s : new String[]{"one", "two", "three", "four"}) {
+			signalSender.publishSignal("session", publication, Buffer.wrap(s), SignalType.Next, true);
+		}
+
+		assertThat(types.size(), is(1));
+		assertThat(types.get(0), is(SignalType.NextBatch));
+		assertThat(unpack(signals.get(0)), is(new String[]{"one", "two", "three"}));
+
+		signalSender.flush(true);
+
+		assertThat(types.size(), is(2));
+		assertThat(unpack(signals.get(1)), is(new String[]{"four"}));
+	}
+
+	@Test
+	public void publishesPendingBatchBeforeOtherSignals() {
+		signalSender.publishSignal("session", publication, Buffer.wrap("one"), SignalType.Next, true);
+		signalSender.publishSignal("session", publication, new Buffer(0, true), SignalType.Complete, true);
+
+		assertThat(types.size(), is(2));
+		assertThat(types.get(0), is(SignalType.NextBatch));
+		assertThat(unpack(signals.get(0)), is(new String[]{"one"}));
+		assertThat(types.get(1), is(SignalType.Complete));
+	}
+
+	@Test
+	public void publishesLargeSignalsOnTheirOwn() {
+		signalSender.publishSignal("session", publication, Buffer.wrap("one"), SignalType.Next, true);
+		signalSender.publishSignal("session", publication, Buffer.wrap(new byte[64]), SignalType.Next, true);
+
+		assertThat(types.size(), is(2));
+		assertThat(types.get(0), is(SignalType.NextBatch));
+		assertThat(types.get(1), is(SignalType.Next));
+		assertThat(signals.get(1).remaining(), is(64));
+	}
+
+	@Test
+	public void limitsBatchToMaxPayloadLength() {
+		aeronInfra.setMaxPayloadLength(16);
+
+		for (String s : new String[]{"one", "two", "three"}) {
+			signalSender.publishSignal("session", publication, Buffer.wrap(s), SignalType.Next, true);
+		}
+		signalSender.publishSignal("session", publication, Buffer.wrap(new byte[12]), SignalType.Next, true);
+
+		assertThat(types, is(Arrays.asList(SignalType.NextBatch, SignalType.NextBatch, SignalType.Next)));
+		assertThat(unpack(signals.get(0)), is(new String[]{"one", "two"}));
+		assertThat(unpack(signals.get(1)), is(new String[]{"three"}));
+		assertThat(signals.get(2).remaining(), is(12));
+	}
+
+	@Test
+	public void publishesIncompleteBatchAfterLinger() {
+		signalSender = new BatchingSignalSender(recorder, aeronInfra, Context.create()
+		                                                                     .signalBatchSize(30)
+		                                                                     .signalBatchLingerMillis(10));
+
+		signalSender.publishSignal("session", publication, Buffer.wrap("one"), SignalType.Next, true);
+
+		assertThat(signalSender.flushExpired(System.nanoTime()), is(0));
+		assertThat(types.size(), is(0));
+
+		assertThat(signalSender.flushExpired(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10)), is(1));
+		assertThat(types.get(0), is(SignalType.NextBatch));
+		assertThat(unpack(signals.get(0)), is(new String[]{"one"}));
+	}
+
+	@Test
+	public void keepsBackPressuredExpiredBatchWithSharedPollerRunner() {
+		SharedPollerRunner runner = SharedPollerRunner.create("test", 1, AeronUtils::newBackoffIdleStrategy);
+		try {
+			signalSender = new BatchingSignalSender(recorder, aeronInfra, Context.create()
+			                                                                     .signalBatchSize(30)
+			                                                                     .signalBatchLingerMillis(10)
+			                                                                     .sharedPollerRunner(runner));
+			signalSender.publishSignal("session", publication, Buffer.wrap("one"), SignalType.Next, true);
+			publicationResult = Publication.BACK_PRESSURED;
+
+			long nowNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+			assertThat(signalSender.flushExpired(nowNs), is(0));
+			assertThat(signalSender.isPending(), is(true));
+
+			publicationResult = 1;
+			assertThat(signalSender.flushExpired(nowNs), is(1));
+			assertThat(signalSender.isPending(), is(false));
+
+			assertThat(types.size(), is(2));
+			assertThat(unpack(signals.get(1)), is(new String[]{"one"}));
+		} finally {
+			runner.shutdown();
+		}
+	}
+
+	@Test
+	public void returnsFailedBatchPublicationFromCallPublishingIt() {
+		signalSender.publishSignal("session", publication, Buffer.wrap("one"), SignalType.Next, true);
+		publicationResult = -1;
+
+		assertThat(signalSender.publishSignal("session", publication, new Buffer(0, true), SignalType.Complete,
+				true), is(-1L));
+		assertThat(types.size(), is(2));
+		assertThat(types.get(1), is(SignalType.Complete));
+	}
+
+	@Test
+	public void returnsFailedFlushResult() {
+		assertThat(signalSender.flush(true), is(0L));
+
+		signalSender.publishSignal("session", publication, Buffer.wrap("one"), SignalType.Next, true);
+		publicationResult = -1;
+
+		assertThat(signalSender.flush(true), is(-1L));
+		assertThat(signalSender.isPending(), is(false));
+	}
+
+	@Test
+	public void reportsFailedExpiredBatchIntoErrorConsumer() {
+		List<Throwable> errors = new ArrayList<>();
+		aeronInfra.setShouldFailClaim(true);
+		signalSender = new BatchingSignalSender(new BasicSignalSender(aeronInfra, errors::add), aeronInfra, Context.create()
+				.signalBatchSize(30)
+				.signalBatchLingerMillis(10));
+
+		assertThat(signalSender.publishSignal("session", publication, Buffer.wrap("one"), SignalType.Next, true),
+				is(0L));
+		assertThat(signalSender.flushExpired(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10)), is(1));
+
+		assertThat(errors.size(), is(1));
+		SignalPublicationFailedException error = (SignalPublicationFailedException) errors.get(0);
+		assertThat(error.getSignalType(), is(SignalType.NextBatch));
+		assertThat(unpack(error.getBuffer()), is(new String[]{"one"}));
+
+		aeronInfra.setShouldFailClaim(false);
+		assertThat(signalSender.publishSignal("session", publication, Buffer.wrap("two"), SignalType.Next, true),
+				is(0L));
+		assertThat(errors.size(), is(1));
+	}
+
+	private static String[] unpack(Buffer batch) {
+		List<String> signals = new ArrayList<>();
+		ByteBuffer byteBuffer = batch.byteBuffer();
+		while (byteBuffer.hasRemaining()) {
+			byte[] bytes = new byte[byteBuffer.getInt()];
+			byteBuffer.get(bytes);
+			signals.add(new String(bytes));
+		}
+		return signals.toArray(new String[signals.size()]);
+	}
+
+}
@@ -15,9 +15,15 @@
  */
 package reactor.aeron.subscriber;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Before;
@@ -25,12 +31,21 @@ import org.junit.Test;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import reactor.aeron.Context;
+import reactor.aeron.utils.AeronUtils;
+import reactor.aeron.utils.SharedPollerRunner;
+import reactor.aeron.utils.SignalType;
+import reactor.aeron.utils.SlowConsumerPolicy;
 import reactor.aeron.utils.Stepper;
 import reactor.aeron.utils.TestAeronInfra;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.TopicProcessor;
+import reactor.core.test.TestSubscriber;
 import reactor.io.buffer.Buffer;
+import uk.co.real_logic.aeron.Publication;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -142,4 +157,139 @@ public class MulticastServiceMessageHandlerTest {
 		assertThat(requestHandler.getCursor(), is(2L));
 	}
 
+	@Test
+	public void testLateJoinerReplaysLoggedSignals() throws Exception {
+		File signalLogDir = Files.createTempDirectory("signal-log").toFile();
+		TestAeronInfra aeronInfra = new TestAeronInfra();
+		TopicProcessor<Buffer> processor = TopicProcessor.create();
+		Flux.just(Buffer.wrap("1"), Buffer.wrap("2"), Buffer.wrap("3")).subscribe(processor);
+
+		MulticastServiceMessageHandler requestHandler = new MulticastServiceMessageHandler(
+				processor, aeronInfra, Context.create().signalLogDir(signalLogDir), () -> {});
+		try {
+			String liveSessionId = UUID.randomUUID().toString();
+			String lateSessionId = UUID.randomUUID().toString();
+
+			requestHandler.handleMore(liveSessionId, 3);
+			TestSubscriber.await(Duration.ofSeconds(5), "signals weren't published",
+					() -> payloads(aeronInfra, SignalType.Next, 0).size() == 3);
+
+			requestHandler.handleReplay(lateSessionId, 0);
+			requestHandler.handleMore(lateSessionId, 2);
+
+			assertThat(payloads(aeronInfra, SignalType.Replay, lateSessionId.length() + 1),
+					is(Arrays.asList('1', '2')));
+			assertThat(payloads(aeronInfra, SignalType.ReplayEnd, 0).size(), is(0));
+
+			requestHandler.handleMore(lateSessionId, 1);
+
+			assertThat(payloads(aeronInfra, SignalType.Replay, lateSessionId.length() + 1),
+					is(Arrays.asList('1', '2', '3')));
+			assertThat(payloads(aeronInfra, SignalType.ReplayEnd, 0).size(), is(1));
+		} finally {
+			requestHandler.shutdown();
+			signalLogDir.delete();
+		}
+	}
+
+	@Test
+	public void testBackPressuredReplayIsResumedWithSharedPollerRunner() throws Exception {
+		File signalLogDir = Files.createTempDirectory("signal-log").toFile();
+		SharedPollerRunner runner = SharedPollerRunner.create("test", 1, AeronUtils::newBackoffIdleStrategy);
+		TestAeronInfra aeronInfra = new TestAeronInfra();
+		TopicProcessor<Buffer> processor = TopicProcessor.create();
+		Flux.just(Buffer.wrap("1"), Buffer.wrap("2"), Buffer.wrap("3")).subscribe(processor);
+
+		MulticastServiceMessageHandler requestHandler = new MulticastServiceMessageHandler(
+				processor, aeronInfra, Context.create()
+				                              .signalLogDir(signalLogDir)
+				                              .sharedPollerRunner(runner), () -> {});
+		try {
+			String liveSessionId = UUID.randomUUID().toString();
+			String lateSessionId = UUID.randomUUID().toString();
+
+			requestHandler.handleMore(liveSessionId, 3);
+			TestSubscriber.await(Duration.ofSeconds(5), "signals weren't published",
+					() -> payloads(aeronInfra, SignalType.Next, 0).size() == 3);
+
+			aeronInfra.setShouldFailClaim(true);
+			aeronInfra.setFailedClaimResult(Publication.BACK_PRESSURED);
+			requestHandler.handleReplay(lateSessionId, 0);
+			requestHandler.handleMore(lateSessionId, 3);
+
+			assertThat(payloads(aeronInfra, SignalType.Replay, lateSessionId.length() + 1).size(), is(0));
+
+			aeronInfra.setShouldFailClaim(false);
+			requestHandler.flushExpiredSignals(System.nanoTime());
+
+			assertThat(payloads(aeronInfra, SignalType.Replay, lateSessionId.length() + 1),
+					is(Arrays.asList('1', '2', '3')));
+			assertThat(payloads(aeronInfra, SignalType.ReplayEnd, 0).size(), is(1));
+		} finally {
+			requestHandler.shutdown();
+			runner.shutdown();
+			signalLogDir.delete();
+		}
+	}
+
+	@Test
+	public void testLaggingSessionIsEvicted() throws Exception {
+		TestAeronInfra aeronInfra = new TestAeronInfra();
+		TopicProcessor<Buffer> processor = TopicProcessor.create();
+
+		MulticastServiceMessageHandler requestHandler = new MulticastServiceMessageHandler(
+				processor, aeronInfra, Context.create()
+				                              .slowConsumerPolicy(SlowConsumerPolicy.EVICT)
+				                              .slowConsumerLagThreshold(10), () -> {});
+
+		String slowSessionId = UUID.randomUUID().toString();
+		String fastSessionId = UUID.randomUUID().toString();
+
+		requestHandler.handleMore(slowSessionId, 1);
+		requestHandler.handleMore(fastSessionId, 5);
+
+		assertThat(payloads(aeronInfra, SignalType.Evicted, 0).size(), is(0));
+
+		requestHandler.handleMore(fastSessionId, 20);
+
+		assertThat(payloads(aeronInfra, SignalType.Evicted, 0).size(), is(1));
+		assertThat(requestHandler.getOrCreateSession(slowSessionId), nullValue());
+
+		requestHandler.handleCancel(slowSessionId);
+
+		assertThat(requestHandler.getOrCreateSession(slowSessionId), notNullValue());
+	}
+
+	@Test
+	public void testLaggingSessionDoesNotPaceUpstreamInLossyMode() throws Exception {
+		TopicProcessor<Buffer> processor = TopicProcessor.create();
+		Flux.range(0, 1000).map(i -> Buffer.wrap("" + i)).subscribe(processor);
+
+		MulticastServiceMessageHandler requestHandler = new MulticastServiceMessageHandler(
+				processor, new TestAeronInfra(), Context.create()
+				                                        .slowConsumerPolicy(SlowConsumerPolicy.LOSSY)
+				                                        .slowConsumerLagThreshold(10), () -> {});
+
+		String slowSessionId = UUID.randomUUID().toString();
+		String fastSessionId = UUID.randomUUID().toString();
+
+		requestHandler.handleMore(slowSessionId, 1);
+		requestHandler.handleMore(fastSessionId, 200);
+
+		// 2 upstream requests of 128 signals are needed to publish 200 signals
+		TestSubscriber.await(Duration.ofSeconds(5), "slow session paces upstream",
+				() -> requestHandler.getCursor() == 255L);
+	}
+
+	/**
+	 * @return first payload bytes of claimed signals of a type after skipping a prefix
+	 */
+	private static List<Character> payloads(TestAeronInfra aeronInfra, SignalType signalType, int prefixLength) {
+		return aeronInfra.getClaimedBuffers()
+		                 .stream()
+		                 .filter(buffer -> buffer.getByte(0) == signalType.getCode())
+		                 .map(buffer -> (char) buffer.getByte(1 + prefixLength))
+		                 .collect(Collectors.toList());
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Anatoly Kadyshev
+ */
+public class SessionHeapTest {
+
+	private final SessionHeap heap = new SessionHeap();
+
+	private static MulticastSession newSession(long sequence) {
+		return new MulticastSession(UUID.randomUUID().toString(), sequence);
+	}
+
+	@Test
+	public void peekReturnsSessionWithMinSequence() {
+		MulticastSession first = newSession(5);
+		MulticastSession second = newSession(2);
+		MulticastSession third = newSession(7);
+
+		assertThat(heap.peek(), nullValue());
+
+		heap.add(first);
+		heap.add(second);
+		heap.add(third);
+
+		assertThat(heap.size(), is(3));
+		assertThat(heap.peek(), sameInstance(second));
+	}
+
+	@Test
+	public void updateReordersSessionWithIncreasedSequence() {
+		MulticastSession first = newSession(1);
+		MulticastSession second = newSession(3);
+		heap.add(first);
+		heap.add(second);
+
+		first.requestMore(10);
+		heap.update(first);
+
+		assertThat(heap.peek(), sameInstance(second));
+	}
+
+	@Test
+	public void removedSessionIsNotReturned() {
+		MulticastSession first = newSession(1);
+		MulticastSession second = newSession(3);
+		heap.add(first);
+		heap.add(second);
+
+		heap.remove(first);
+		heap.remove(first);
+
+		assertThat(heap.size(), is(1));
+		assertThat(first.getHeapIndex(), is(-1));
+		assertThat(heap.peek(), sameInstance(second));
+
+		heap.remove(second);
+
+		assertThat(heap.isEmpty(), is(true));
+	}
+
+	@Test
+	public void keepsMinSequenceUnderRandomUpdatesAndRemovals() {
+		Random random = new Random(0);
+		List<MulticastSession> sessions = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			MulticastSession session = newSession(random.nextInt(1000));
+			sessions.add(session);
+			heap.add(session);
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			MulticastSession session = sessions.get(random.nextInt(sessions.size()));
+			if (random.nextInt(10) == 0) {
+				heap.remove(session);
+				sessions.remove(session);
+			} else {
+				session.requestMore(random.nextInt(100));
+				heap.update(session);
+			}
+
+			if (sessions.isEmpty()) {
+				break;
+			}
+			long minSequence = sessions.stream().mapToLong(MulticastSession::getSequence).min().getAsLong();
+			assertThat(heap.peek().getSequence(), is(minSequence));
+		}
+	}
+
+}
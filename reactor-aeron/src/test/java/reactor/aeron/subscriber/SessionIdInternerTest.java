@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import org.junit.Test;
+import reactor.aeron.utils.AeronUtils;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Anatoly Kadyshev
+ */
+public class SessionIdInternerTest {
+
+	private final SessionIdInterner interner = new SessionIdInterner();
+
+	private static UnsafeBuffer encode(String prefix, String sessionId) {
+		return new UnsafeBuffer((prefix + sessionId).getBytes(AeronUtils.UTF_8_CHARSET));
+	}
+
+	@Test
+	public void returnsSameInstanceForSameSessionId() {
+		String sessionId = "udp://localhost:12001/1";
+
+		String first = interner.intern(encode("", sessionId), 0, sessionId.length());
+		String second = interner.intern(encode("xyz", sessionId), 3, sessionId.length());
+
+		assertThat(first, is(sessionId));
+		assertThat(second, sameInstance(first));
+		assertThat(interner.size(), is(1));
+	}
+
+	@Test
+	public void distinguishesSessionIds() {
+		String first = interner.intern(encode("", "session-1"), 0, 9);
+		String second = interner.intern(encode("", "session-2"), 0, 9);
+
+		assertThat(first, is("session-1"));
+		assertThat(second, is("session-2"));
+		assertThat(second, not(sameInstance(first)));
+	}
+
+	@Test
+	public void keepsSessionIdsWhenGrowing() {
+		String[] sessionIds = new String[1000];
+		for (int i = 0; i < sessionIds.length; i++) {
+			String sessionId = "session-" + i;
+			sessionIds[i] = interner.intern(encode("", sessionId), 0, sessionId.length());
+		}
+
+		for (int i = 0; i < sessionIds.length; i++) {
+			String sessionId = "session-" + i;
+			assertThat(interner.intern(encode("", sessionId), 0, sessionId.length()), sameInstance(sessionIds[i]));
+		}
+		assertThat(interner.size(), is(sessionIds.length));
+	}
+
+	@Test
+	public void isClearedWhenFull() {
+		for (int i = 0; i <= SessionIdInterner.MAX_SIZE; i++) {
+			String sessionId = "session-" + i;
+			assertThat(interner.intern(encode("", sessionId), 0, sessionId.length()), is(sessionId));
+		}
+
+		assertThat(interner.size(), is(1));
+	}
+
+}
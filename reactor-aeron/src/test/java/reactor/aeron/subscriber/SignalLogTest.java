@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.subscriber;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.aeron.utils.AeronUtils;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Anatoly Kadyshev
+ */
+public class SignalLogTest {
+
+	private File dir;
+
+	private SignalLog log;
+
+	@Before
+	public void doSetup() throws Exception {
+		dir = Files.createTempDirectory("signal-log").toFile();
+	}
+
+	@After
+	public void doTeardown() {
+		if (log != null) {
+			log.close();
+		}
+		dir.delete();
+	}
+
+	private static ByteBuffer signal(String value) {
+		return ByteBuffer.wrap(value.getBytes(AeronUtils.UTF_8_CHARSET));
+	}
+
+	private String read(long sequence) {
+		ByteBuffer dst = ByteBuffer.allocate(log.length(sequence));
+		log.read(sequence, dst);
+		return new String(dst.array(), AeronUtils.UTF_8_CHARSET);
+	}
+
+	@Test
+	public void readsSignalsBySequence() {
+		log = new SignalLog(dir, 64, Long.MAX_VALUE, Long.MAX_VALUE);
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(log.append(signal("signal-" + i)), is((long) i));
+		}
+
+		assertThat(log.firstSequence(), is(0L));
+		assertThat(log.nextSequence(), is(20L));
+		for (int i = 0; i < 20; i++) {
+			assertThat(read(i), is("signal-" + i));
+		}
+	}
+
+	@Test
+	public void storesSignalLargerThanSegment() {
+		log = new SignalLog(dir, 16, Long.MAX_VALUE, Long.MAX_VALUE);
+
+		log.append(signal("a signal longer than a segment"));
+
+		assertThat(read(0), is("a signal longer than a segment"));
+	}
+
+	@Test
+	public void dropsOldestSegmentsAboveMaxSize() {
+		log = new SignalLog(dir, 16, 64, Long.MAX_VALUE);
+
+		for (int i = 0; i < 40; i++) {
+			log.append(signal("signal-" + (char) ('a' + i % 26)));
+		}
+
+		long first = log.firstSequence();
+		assertThat(first > 0, is(true));
+		assertThat(read(first), is("signal-" + (char) ('a' + first % 26)));
+		assertThat(read(39), is("signal-n"));
+		assertThat(dir.list().length <= 4, is(true));
+	}
+
+	@Test
+	public void dropsSegmentsAfterRetention() throws InterruptedException {
+		log = new SignalLog(dir, 16, Long.MAX_VALUE, 50);
+
+		log.append(signal("signal-1"));
+		log.append(signal("signal-2"));
+		Thread.sleep(100);
+		log.append(signal("signal-3"));
+
+		assertThat(log.firstSequence(), is(2L));
+		assertThat(read(2), is("signal-3"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failsToReadDroppedSignal() {
+		log = new SignalLog(dir, 16, 16, Long.MAX_VALUE);
+
+		log.append(signal("signal-1"));
+		log.append(signal("signal-2"));
+
+		read(0);
+	}
+
+	@Test
+	public void deletesSegmentFilesOnClose() {
+		log = new SignalLog(dir, 16, Long.MAX_VALUE, Long.MAX_VALUE);
+		log.append(signal("signal-1"));
+		log.append(signal("signal-2"));
+
+		log.close();
+
+		assertThat(dir.list().length, is(0));
+	}
+
+	@Test
+	public void logsSharingDirectoryKeepTheirSignals() {
+		log = new SignalLog(dir, 16, Long.MAX_VALUE, Long.MAX_VALUE);
+		log.append(signal("signal-1"));
+
+		try (SignalLog other = new SignalLog(dir, 16, Long.MAX_VALUE, Long.MAX_VALUE)) {
+			assertThat(other.append(signal("other-1")), is(0L));
+
+			assertThat(read(0), is("signal-1"));
+			assertThat(dir.list().length, is(2));
+		}
+
+		assertThat(read(0), is("signal-1"));
+		assertThat(dir.list().length, is(1));
+	}
+
+	@Test
+	public void keepsLockOfOpenLogWhenOtherLogIsCreated() throws Exception {
+		log = new SignalLog(dir, 16, Long.MAX_VALUE, Long.MAX_VALUE);
+		File lockFile = new File(dir.listFiles()[0], "lock");
+
+		try (SignalLog other = new SignalLog(dir, 16, Long.MAX_VALUE, Long.MAX_VALUE)) {
+			// the lock is held per process, it can only be probed from another one
+			Process probe = new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(),
+					"-cp", System.getProperty("java.class.path"), LockProbe.class.getName(), lockFile.getPath())
+					.inheritIO()
+					.start();
+
+			assertThat(probe.waitFor(30, TimeUnit.SECONDS), is(true));
+			assertThat(probe.exitValue(), is(LockProbe.LOCKED));
+		}
+	}
+
+	@Test
+	public void deletesLogsLeftUnlocked() throws Exception {
+		File stale = new File(dir, "signal-log-stale");
+		assertThat(stale.mkdir(), is(true));
+		assertThat(new File(stale, "lock").createNewFile(), is(true));
+		assertThat(new File(stale, "signals-0.log").createNewFile(), is(true));
+
+		log = new SignalLog(dir, 16, Long.MAX_VALUE, Long.MAX_VALUE);
+
+		assertThat(stale.exists(), is(false));
+		assertThat(dir.list().length, is(1));
+	}
+
+	static class LockProbe {
+
+		static final int LOCKED = 0;
+
+		static final int UNLOCKED = 1;
+
+		public static void main(String[] args) throws Exception {
+			try (FileChannel channel = new RandomAccessFile(args[0], "rw").getChannel()) {
+				System.exit(channel.tryLock() == null ? LOCKED : UNLOCKED);
+			}
+		}
+
+	}
+
+}
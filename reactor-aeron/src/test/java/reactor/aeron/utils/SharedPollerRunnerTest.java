@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.aeron.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.agrona.concurrent.YieldingIdleStrategy;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Anatoly Kadyshev
+ */
+public class SharedPollerRunnerTest {
+
+	private SharedPollerRunner runner;
+
+	static class CountingAgent implements PollerAgent {
+
+		final CountDownLatch started = new CountDownLatch(1);
+
+		final CountDownLatch closed = new CountDownLatch(1);
+
+		final AtomicInteger workCount = new AtomicInteger();
+
+		volatile boolean running = true;
+
+		volatile String threadName;
+
+		@Override
+		public void onStart() {
+			threadName = Thread.currentThread().getName();
+			started.countDown();
+		}
+
+		@Override
+		public int doWork() {
+			workCount.incrementAndGet();
+			return 1;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return running;
+		}
+
+		@Override
+		public void onClose() {
+			closed.countDown();
+		}
+	}
+
+	@Before
+	public void doSetup() {
+		runner = SharedPollerRunner.create("test", 2, YieldingIdleStrategy::new);
+	}
+
+	@After
+	public void doTearDown() {
+		runner.shutdown();
+	}
+
+	@Test
+	public void runsManyAgentsOnFixedNumberOfThreads() throws InterruptedException {
+		CountingAgent[] agents = new CountingAgent[10];
+		for (int i = 0; i < agents.length; i++) {
+			agents[i] = new CountingAgent();
+			runner.add(agents[i]);
+		}
+
+		for (CountingAgent agent : agents) {
+			assertTrue(agent.started.await(5, TimeUnit.SECONDS));
+		}
+		Thread.sleep(50);
+
+		long threads = Arrays.stream(agents).map(agent -> agent.threadName).distinct().count();
+		assertThat(threads, is(2L));
+		assertThat(runner.agentCount(), is(10));
+		for (CountingAgent agent : agents) {
+			assertThat(agent.workCount.get(), greaterThan(0));
+		}
+	}
+
+	@Test
+	public void closesAgentWhichStoppedRunning() throws InterruptedException {
+		CountingAgent agent = new CountingAgent();
+		runner.add(agent);
+		assertTrue(agent.started.await(5, TimeUnit.SECONDS));
+
+		agent.running = false;
+
+		assertTrue(agent.closed.await(5, TimeUnit.SECONDS));
+		assertThat(runner.agentCount(), is(0));
+	}
+
+	@Test
+	public void closesRunningAgentsOnShutdown() throws InterruptedException {
+		CountingAgent agent = new CountingAgent();
+		runner.add(agent);
+		assertTrue(agent.started.await(5, TimeUnit.SECONDS));
+
+		runner.shutdown();
+
+		assertTrue(agent.closed.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void rejectsAgentsAfterShutdown() {
+		runner.shutdown();
+
+		runner.add(new CountingAgent());
+	}
+
+}
@@ -15,10 +15,14 @@
  */
 package reactor.aeron.utils;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import org.mockito.Mockito;
 import uk.co.real_logic.aeron.Publication;
 import uk.co.real_logic.aeron.Subscription;
 import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.agrona.concurrent.IdleStrategy;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
@@ -29,6 +33,16 @@ public class TestAeronInfra implements AeronInfra {
 
 	private volatile boolean shouldFailClaim = false;
 
+	private volatile long failedClaimResult = Publication.NOT_CONNECTED;
+
+	private volatile int maxPayloadLength = Integer.MAX_VALUE;
+
+	private volatile BufferClaim lastClaim;
+
+	private volatile byte[] lastOffered;
+
+	private final List<UnsafeBuffer> claimedBuffers = new CopyOnWriteArrayList<>();
+
 	@Override
 	public void initialise() {
 	}
@@ -51,13 +65,35 @@ public class TestAeronInfra implements AeronInfra {
 	public long claim(Publication publication, BufferClaim bufferClaim, int length, IdleStrategy idleStrategy,
 					  boolean retryClaim) {
 		if (shouldFailClaim) {
-			return -1;
+			return failedClaimResult;
+		} else {
+			UnsafeBuffer buffer = new UnsafeBuffer(new byte[length + 128]);
+			bufferClaim.wrap(buffer, 0, length + 128);
+			lastClaim = bufferClaim;
+			// the message starts after the frame header
+			claimedBuffers.add(new UnsafeBuffer(buffer, bufferClaim.offset(), length));
+			return 1;
+		}
+	}
+
+	@Override
+	public long offer(Publication publication, DirectBuffer buffer, int length, IdleStrategy idleStrategy,
+					  boolean retryOffer) {
+		if (shouldFailClaim) {
+			return failedClaimResult;
 		} else {
-			bufferClaim.wrap(new UnsafeBuffer(new byte[length + 128]), 0, length + 128);
+			byte[] bytes = new byte[length];
+			buffer.getBytes(0, bytes);
+			lastOffered = bytes;
 			return 1;
 		}
 	}
 
+	@Override
+	public int maxPayloadLength(Publication publication) {
+		return maxPayloadLength;
+	}
+
 	@Override
 	public void close(Publication publication) {
 	}
@@ -70,4 +106,24 @@ public class TestAeronInfra implements AeronInfra {
 		this.shouldFailClaim = shouldFailClaim;
 	}
 
+	public void setFailedClaimResult(long failedClaimResult) {
+		this.failedClaimResult = failedClaimResult;
+	}
+
+	public void setMaxPayloadLength(int maxPayloadLength) {
+		this.maxPayloadLength = maxPayloadLength;
+	}
+
+	public BufferClaim getLastClaim() {
+		return lastClaim;
+	}
+
+	public byte[] getLastOffered() {
+		return lastOffered;
+	}
+
+	public List<UnsafeBuffer> getClaimedBuffers() {
+		return claimedBuffers;
+	}
+
 }
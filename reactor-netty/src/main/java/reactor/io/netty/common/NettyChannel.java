@@ -39,7 +39,7 @@ public interface NettyChannel extends Channel<ByteBuf, ByteBuf>, NettyInbound, N
 	/**
 	 * Get the address of the remote peer.
 	 *
-	 * @return the peer's address
+	 * @return the peer's address, null if connected over a unix domain socket
 	 */
 	@Override
 	InetSocketAddress remoteAddress();
@@ -17,7 +17,9 @@
 package reactor.io.netty.common;
 
 import java.io.IOException;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
@@ -29,6 +31,8 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
+import io.netty.channel.MaxMessagesRecvByteBufAllocator;
+import io.netty.channel.RecvByteBufAllocator;
 import io.netty.util.ReferenceCountUtil;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -37,7 +41,6 @@ import reactor.core.flow.Loopback;
 import reactor.core.flow.Producer;
 import reactor.core.flow.Receiver;
 import reactor.core.publisher.Flux;
-import reactor.core.queue.QueueSupplier;
 import reactor.core.state.Backpressurable;
 import reactor.core.state.Cancellable;
 import reactor.core.state.Completable;
@@ -85,14 +88,14 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 	public void drain(EventLoop io, Subscriber<? super Object> subscriber) {
 		if (io.inEventLoop()) {
 			if (channelSubscriber != null && channelSubscriber.downstream() == null) {
-				Flux.fromIterable(channelSubscriber.readBackpressureBuffer)
+				Flux.fromIterable(channelSubscriber.buffered())
 				    .subscribe(subscriber);
 			}
 		}
 		else {
 			io.execute(() -> {
 				if (channelSubscriber != null && channelSubscriber.downstream() == null) {
-					Flux.fromIterable(channelSubscriber.readBackpressureBuffer)
+					Flux.fromIterable(channelSubscriber.buffered())
 					    .subscribe(subscriber);
 				}
 			});
@@ -110,9 +113,12 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 			if (null == channelSubscriber ||
 					null == channelSubscriber.inputSubscriber) {
 				CHANNEL_REF.incrementAndGet(NettyChannelHandler.this);
+				subscriberEvent.readHeadroom = maxMessagesPerRead(ctx);
 				if(channelSubscriber != null){
 					subscriberEvent.readBackpressureBuffer = channelSubscriber
 							.readBackpressureBuffer;
+					subscriberEvent.readSuspended = channelSubscriber.readSuspended;
+					subscriberEvent.error = channelSubscriber.error;
 					subscriberEvent.terminated = channelSubscriber.terminated;
 				}
 				channelSubscriber = subscriberEvent;
@@ -188,10 +194,11 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 	@Override
 	public void channelInactive(ChannelHandlerContext ctx) throws Exception {
 		try {
-			if (this.channelSubscriber != null) {
+			ChannelInputSubscriber channelSubscriber = this.channelSubscriber;
+			if (channelSubscriber != null) {
 				channelSubscriber.onComplete();
 				if(channelSubscriber.inputSubscriber != null) {
-					channelSubscriber = null;
+					this.channelSubscriber = null;
 				}
 			}
 			else{
@@ -228,9 +235,20 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 			}
 			if(null == channelSubscriber){
 				channelSubscriber = new ChannelInputSubscriber(null, 128);
+				channelSubscriber.readHeadroom = maxMessagesPerRead(ctx);
 			}
 
 			channelSubscriber.onNext(msg);
+
+			if (channelSubscriber != null && channelSubscriber.shouldSuspendRead() &&
+					ctx.channel()
+					   .config()
+					   .isAutoRead()) {
+				// stop reading until the subscriber drains its buffer
+				ctx.channel()
+				   .config()
+				   .setAutoRead(false);
+			}
 		}
 		catch (Throwable err) {
 			Exceptions.throwIfFatal(err);
@@ -246,6 +264,18 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 		}
 	}
 
+	/**
+	 * Return the number of messages a read loop may still deliver after reads are
+	 * suspended.
+	 */
+	static int maxMessagesPerRead(ChannelHandlerContext ctx) {
+		RecvByteBufAllocator allocator = ctx.channel()
+		                                    .config()
+		                                    .getRecvByteBufAllocator();
+		return allocator instanceof MaxMessagesRecvByteBufAllocator ?
+				((MaxMessagesRecvByteBufAllocator) allocator).maxMessagesPerRead() : 1;
+	}
+
 	@Override
 	public String getName() {
 		return "TCP Connection";
@@ -360,11 +390,17 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 		final AtomicIntegerFieldUpdater<ChannelInputSubscriber> RUNNING =
 				AtomicIntegerFieldUpdater.newUpdater(ChannelInputSubscriber.class, "running");
 
-		volatile Throwable                 error;
-		volatile Queue<Object> readBackpressureBuffer;
+		volatile Throwable             error;
+		volatile SpscRingQueue<Object> readBackpressureBuffer;
+		volatile boolean               readSuspended;
+
+		// room left in the ring for the rest of a read loop once reads are suspended
+		int readHeadroom = 1;
 
 		volatile boolean cancelled;
 
+		boolean unbounded;
+
 		final int bufferSize;
 
 		public ChannelInputSubscriber(Subscriber<? super Object> inputSubscriber, long bufferSize) {
@@ -412,8 +448,7 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 
 		@Override
 		public boolean isTerminated() {
-			return terminated == 1 && (readBackpressureBuffer == null ||
-					readBackpressureBuffer.isEmpty());
+			return terminated == 1 && isBufferEmpty();
 		}
 
 		@Override
@@ -423,7 +458,8 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 
 		@Override
 		public long getPending() {
-			return readBackpressureBuffer == null ? -1 : readBackpressureBuffer.size();
+			SpscRingQueue<Object> q = readBackpressureBuffer;
+			return q == null ? -1 : q.size();
 		}
 
 		@Override
@@ -441,6 +477,10 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 
 		@Override
 		public void onNext(Object msg) {
+			if (error != null) {
+				// the read after an overflow would leave a gap in the stream
+				return;
+			}
 			if (RUNNING.get(this) == 0 && RUNNING.compareAndSet(this, 0, 1)) {
 				long r = BackpressureUtils.getAndSub(REQUESTED, this, 1L);
 				if(r != 0) {
@@ -454,19 +494,17 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 						return;
 					}
 				}
-				else{
-					Queue<Object> queue = getReadBackpressureBuffer();
-					ReferenceCountUtil.retain(msg);
-					queue.add(msg);
+				else if (!enqueue(msg)) {
+					onError(Exceptions.failWithOverflow());
 				}
 				if(RUNNING.decrementAndGet(this) == 0){
 					return;
 				}
 			}
 			else {
-				Queue<Object> queue = getReadBackpressureBuffer();
-				ReferenceCountUtil.retain(msg);
-				queue.add(msg);
+				if (!enqueue(msg)) {
+					onError(Exceptions.failWithOverflow());
+				}
 				if(RUNNING.getAndIncrement(this) == 0){
 					return;
 				}
@@ -491,9 +529,56 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 		}
 
 		boolean shouldReadMore() {
-			return requested > 0 ||
-					(readBackpressureBuffer != null && readBackpressureBuffer.size() <
-							bufferSize / 2);
+			if (requested > 0) {
+				return true;
+			}
+			SpscRingQueue<Object> q = readBackpressureBuffer;
+			return q != null && q.size() < bufferSize;
+		}
+
+		/**
+		 * Return true once the buffer holds {@link #getCapacity()} messages, reading
+		 * then stops until the subscriber drains it. The ring keeps room for the
+		 * messages of the read loop in progress.
+		 */
+		boolean shouldSuspendRead() {
+			SpscRingQueue<Object> q = readBackpressureBuffer;
+			if (q != null && q.size() >= bufferSize) {
+				readSuspended = true;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Return false if the ring is full, a decoder then produced more messages
+		 * from the read loop in progress than the ring has room for.
+		 */
+		boolean enqueue(Object msg) {
+			ReferenceCountUtil.retain(msg);
+			if (getReadBackpressureBuffer().offer(msg)) {
+				return true;
+			}
+			ReferenceCountUtil.release(msg);
+			return false;
+		}
+
+		Object poll() {
+			SpscRingQueue<Object> q = readBackpressureBuffer;
+			return q != null ? q.poll() : null;
+		}
+
+		boolean isBufferEmpty() {
+			SpscRingQueue<Object> q = readBackpressureBuffer;
+			return q == null || q.isEmpty();
+		}
+
+		List<Object> buffered() {
+			SpscRingQueue<Object> q = readBackpressureBuffer;
+			if (q == null) {
+				return Collections.emptyList();
+			}
+			return new ArrayList<>(q);
 		}
 
 		void drain(){
@@ -507,20 +592,18 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 			final Subscriber<? super Object> child = this.inputSubscriber;
 			for (; ; ) {
 				long demand = requested;
-				Queue<Object> queue;
 				if (demand != 0) {
-					long remaining = demand;
-					queue = readBackpressureBuffer;
-					if (queue != null) {
+					long produced = 0L;
+					if (readBackpressureBuffer != null) {
 
 						Object data;
-						while ((demand == Long.MAX_VALUE || remaining-- > 0)) {
+						while (demand == Long.MAX_VALUE || produced < demand) {
 
 							if(cancelled){
 								return;
 							}
 
-							data = queue.poll();
+							data = poll();
 
 							if(data == null){
 								break;
@@ -531,15 +614,31 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 							finally {
 								ReferenceCountUtil.release(data);
 							}
+							produced++;
 						}
 					}
+					if (produced != 0L && demand != Long.MAX_VALUE) {
+						// buffered messages consume the demand like the direct onNext path
+						BackpressureUtils.getAndSub(REQUESTED, this, produced);
+					}
 					Subscription subscription = this.subscription;
-					if (demand != Long.MAX_VALUE && remaining > 0 && subscription != null) {
-						subscription.request(remaining);
+					if (subscription != null) {
+						if (demand != Long.MAX_VALUE) {
+							if (produced < demand) {
+								readSuspended = false;
+								subscription.request(demand - produced);
+							}
+						}
+						else if (!unbounded || (readSuspended && isBufferEmpty())) {
+							// switch the channel to auto-read once, or again after the
+							// buffer filled up
+							unbounded = true;
+							readSuspended = false;
+							subscription.request(Long.MAX_VALUE);
+						}
 					}
 				}
-				queue = readBackpressureBuffer;
-				if((queue == null || queue.isEmpty()) && terminated == 1){
+				if(isBufferEmpty() && terminated == 1){
 					if(error != null){
 						inputSubscriber.onError(error);
 					}
@@ -556,11 +655,10 @@ public class NettyChannelHandler<C extends NettyChannel> extends ChannelDuplexHa
 
 		}
 
-		@SuppressWarnings("unchecked")
-		Queue<Object> getReadBackpressureBuffer() {
-			Queue<Object> q = readBackpressureBuffer;
+		SpscRingQueue<Object> getReadBackpressureBuffer() {
+			SpscRingQueue<Object> q = readBackpressureBuffer;
 			if (q == null) {
-				q = QueueSupplier.unbounded(bufferSize).get();
+				q = new SpscRingQueue<>(bufferSize + readHeadroom);
 				readBackpressureBuffer = q;
 			}
 			return q;
@@ -25,4 +25,5 @@ public interface NettyHandlerNames {
 	String SslReader         = "sslReader";
 	String SslLoggingHandler = "ssLoggingHandler";
 	String LoggingHandler    = "loggingHandler";
+	String TimeoutHandler    = "timeoutHandler";
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.netty.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.ScheduledFuture;
+import reactor.core.util.Logger;
+
+/**
+ * Close a connection that stayed idle, without read or write, or that could not make
+ * progress writing, for longer than the given timeouts. Timeouts are scheduled on the
+ * channel event loop and each expiry is counted in the passed counter.
+ *
+ * @author Stephane Maldini
+ */
+public final class NettyTimeoutHandler extends ChannelDuplexHandler {
+
+	final long       idleTimeout;
+	final long       writeTimeout;
+	final AtomicLong timeouts;
+
+	// only accessed from the channel event loop
+	ChannelHandlerContext ctx;
+	long                  lastActivity;
+	ScheduledFuture<?>    idleTask;
+	ScheduledFuture<?>    writeTask;
+
+	/**
+	 * @param idleTimeout the idle timeout in milliseconds, 0 to disable
+	 * @param writeTimeout the maximum time in milliseconds the channel can stay
+	 * unwritable, 0 to disable
+	 * @param timeouts the counter incremented on each expiry
+	 */
+	public NettyTimeoutHandler(long idleTimeout, long writeTimeout, AtomicLong timeouts) {
+		this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+		this.writeTimeout = TimeUnit.MILLISECONDS.toNanos(writeTimeout);
+		this.timeouts = timeouts;
+	}
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+		this.ctx = ctx;
+		if (ctx.channel()
+		       .isActive()) {
+			start();
+		}
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		stop();
+	}
+
+	@Override
+	public void channelActive(ChannelHandlerContext ctx) throws Exception {
+		start();
+		ctx.fireChannelActive();
+	}
+
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+		stop();
+		ctx.fireChannelInactive();
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+		lastActivity = System.nanoTime();
+		ctx.fireChannelRead(msg);
+	}
+
+	@Override
+	public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+			throws Exception {
+		lastActivity = System.nanoTime();
+		ctx.write(msg, promise);
+	}
+
+	@Override
+	public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+		if (writeTimeout > 0L) {
+			if (!ctx.channel()
+			        .isWritable()) {
+				if (writeTask == null) {
+					writeTask = ctx.executor()
+					               .schedule(this::writeStalled, writeTimeout, TimeUnit.NANOSECONDS);
+				}
+			}
+			else if (writeTask != null) {
+				// the peer consumed enough of the outbound buffer
+				writeTask.cancel(false);
+				writeTask = null;
+				lastActivity = System.nanoTime();
+			}
+		}
+		ctx.fireChannelWritabilityChanged();
+	}
+
+	void start() {
+		if (idleTimeout > 0L && idleTask == null) {
+			lastActivity = System.nanoTime();
+			idleTask = ctx.executor()
+			              .schedule(this::idleCheck, idleTimeout, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	void stop() {
+		if (idleTask != null) {
+			idleTask.cancel(false);
+			idleTask = null;
+		}
+		if (writeTask != null) {
+			writeTask.cancel(false);
+			writeTask = null;
+		}
+	}
+
+	void idleCheck() {
+		if (!ctx.channel()
+		        .isOpen()) {
+			return;
+		}
+		long remaining = idleTimeout - (System.nanoTime() - lastActivity);
+		if (remaining > 0L || writeTask != null) {
+			// a stalled write is left to the write timeout
+			idleTask = ctx.executor()
+			              .schedule(this::idleCheck,
+					              remaining > 0L ? remaining : idleTimeout,
+					              TimeUnit.NANOSECONDS);
+		}
+		else {
+			idleTask = null;
+			expire("idle");
+		}
+	}
+
+	void writeStalled() {
+		writeTask = null;
+		if (ctx.channel()
+		       .isOpen() && !ctx.channel()
+		                        .isWritable()) {
+			expire("write");
+		}
+	}
+
+	void expire(String reason) {
+		timeouts.incrementAndGet();
+		if (log.isDebugEnabled()) {
+			log.debug("Closing {} after {} timeout", ctx.channel(), reason);
+		}
+		stop();
+		ctx.close();
+	}
+
+	static final Logger log = Logger.getLogger(NettyTimeoutHandler.class);
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.netty.common;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import reactor.core.queue.QueueSupplier;
+
+/**
+ * A bounded single-producer single-consumer array queue with a constant time {@link
+ * #size()}. The capacity is rounded up to the next power of two.
+ * <p>
+ * Iteration returns a weakly consistent view and must happen on the consumer side.
+ *
+ * @author Stephane Maldini
+ */
+final class SpscRingQueue<T> extends AbstractQueue<T> {
+
+	final Object[] buffer;
+	final int      mask;
+
+	// int indexes wrap around, their difference stays the depth of the queue
+	volatile int producerIndex;
+	static final AtomicIntegerFieldUpdater<SpscRingQueue> PRODUCER_INDEX =
+			AtomicIntegerFieldUpdater.newUpdater(SpscRingQueue.class, "producerIndex");
+
+	volatile int consumerIndex;
+	static final AtomicIntegerFieldUpdater<SpscRingQueue> CONSUMER_INDEX =
+			AtomicIntegerFieldUpdater.newUpdater(SpscRingQueue.class, "consumerIndex");
+
+	SpscRingQueue(int capacity) {
+		int c = QueueSupplier.ceilingNextPowerOfTwo(Math.max(capacity, 2));
+		this.buffer = new Object[c];
+		this.mask = c - 1;
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		int p = producerIndex;
+		if (p - consumerIndex >= buffer.length) {
+			return false;
+		}
+		buffer[p & mask] = e;
+		PRODUCER_INDEX.lazySet(this, p + 1);
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T poll() {
+		int c = consumerIndex;
+		if (c == producerIndex) {
+			return null;
+		}
+		int offset = c & mask;
+		T e = (T) buffer[offset];
+		buffer[offset] = null;
+		CONSUMER_INDEX.lazySet(this, c + 1);
+		return e;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T peek() {
+		int c = consumerIndex;
+		if (c == producerIndex) {
+			return null;
+		}
+		return (T) buffer[c & mask];
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return consumerIndex == producerIndex;
+	}
+
+	@Override
+	public int size() {
+		int c = consumerIndex;
+		return Math.min(producerIndex - c, buffer.length);
+	}
+
+	/**
+	 * @return the maximum number of elements this queue can hold
+	 */
+	public int capacity() {
+		return buffer.length;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		final int end = producerIndex;
+		return new Iterator<T>() {
+			int index = consumerIndex;
+
+			@Override
+			public boolean hasNext() {
+				return index != end;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if (index == end) {
+					throw new NoSuchElementException();
+				}
+				return (T) buffer[index++ & mask];
+			}
+		};
+	}
+}
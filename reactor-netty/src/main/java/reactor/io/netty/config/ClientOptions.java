@@ -25,6 +25,8 @@ import javax.annotation.Nullable;
 
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.ssl.SslContextBuilder;
 import reactor.core.scheduler.TimedScheduler;
 import reactor.io.netty.common.Peer;
@@ -75,6 +77,7 @@ public class ClientOptions extends NettyOptions<ClientOptions> {
 	Proxy                                        proxyType;
 
 	Supplier<? extends InetSocketAddress> connectAddress;
+	DomainSocketAddress                   domainSocketAddress;
 
 	ClientOptions(){
 
@@ -116,6 +119,18 @@ public class ClientOptions extends NettyOptions<ClientOptions> {
 		return this;
 	}
 
+	/**
+	 * The unix domain socket to which this client should connect, taking precedence
+	 * over any {@link InetSocketAddress}. Requires the native epoll transport.
+	 *
+	 * @param domainSocketAddress The domain socket address to connect to.
+	 * @return {@literal this}
+	 */
+	public ClientOptions connect(@Nonnull DomainSocketAddress domainSocketAddress) {
+		this.domainSocketAddress = domainSocketAddress;
+		return this;
+	}
+
 	/**
 	 * The host and port to which this client should connect.
 	 *
@@ -208,6 +223,14 @@ public class ClientOptions extends NettyOptions<ClientOptions> {
 		return connectAddress != null ? connectAddress.get() : null;
 	}
 
+	/**
+	 * Return the eventual remote unix domain socket
+	 * @return the eventual remote domain socket address
+	 */
+	public DomainSocketAddress domainSocketAddress() {
+		return domainSocketAddress;
+	}
+
 	/**
 	 *
 	 * @return this {@link ClientOptions}
@@ -246,6 +269,11 @@ public class ClientOptions extends NettyOptions<ClientOptions> {
 			return options.remoteAddress();
 		}
 
+		@Override
+		public DomainSocketAddress domainSocketAddress() {
+			return options.domainSocketAddress();
+		}
+
 		@Override
 		public EventLoopGroup eventLoopGroup() {
 			return options.eventLoopGroup();
@@ -301,6 +329,66 @@ public class ClientOptions extends NettyOptions<ClientOptions> {
 			return options.timer();
 		}
 
+		@Override
+		public long idleTimeout() {
+			return options.idleTimeout();
+		}
+
+		@Override
+		public long writeTimeout() {
+			return options.writeTimeout();
+		}
+
+		@Override
+		public int tcpFastOpen() {
+			return options.tcpFastOpen();
+		}
+
+		@Override
+		public boolean tcpQuickAck() {
+			return options.tcpQuickAck();
+		}
+
+		@Override
+		public boolean tcpCork() {
+			return options.tcpCork();
+		}
+
+		@Override
+		public long tcpNotSentLowAt() {
+			return options.tcpNotSentLowAt();
+		}
+
+		@Override
+		public EpollMode epollMode() {
+			return options.epollMode();
+		}
+
+		@Override
+		public boolean websocketCompression() {
+			return options.websocketCompression();
+		}
+
+		@Override
+		public boolean websocketContextTakeover() {
+			return options.websocketContextTakeover();
+		}
+
+		@Override
+		public int websocketMaxAggregateSize() {
+			return options.websocketMaxAggregateSize();
+		}
+
+		@Override
+		public int websocketMaxFrameSize() {
+			return options.websocketMaxFrameSize();
+		}
+
+		@Override
+		public int websocketWindowBits() {
+			return options.websocketWindowBits();
+		}
+
 		@Override
 		public ClientOptions connect(@Nonnull String host, int port) {
 			throw new UnsupportedOperationException("Immutable Options");
@@ -319,6 +407,11 @@ public class ClientOptions extends NettyOptions<ClientOptions> {
 			throw new UnsupportedOperationException("Immutable Options");
 		}
 
+		@Override
+		public ClientOptions connect(@Nonnull DomainSocketAddress domainSocketAddress) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
 		@Override
 		public ClientOptions eventLoopGroup(EventLoopGroup eventLoopGroup) {
 			throw new UnsupportedOperationException("Immutable Options");
@@ -383,6 +476,66 @@ public class ClientOptions extends NettyOptions<ClientOptions> {
 		public ClientOptions timer(TimedScheduler timer) {
 			throw new UnsupportedOperationException("Immutable Options");
 		}
+
+		@Override
+		public ClientOptions idleTimeout(long idleTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions writeTimeout(long writeTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions tcpFastOpen(int tcpFastOpen) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions tcpQuickAck(boolean tcpQuickAck) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions tcpCork(boolean tcpCork) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions tcpNotSentLowAt(long tcpNotSentLowAt) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions epollMode(EpollMode epollMode) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions websocketCompression(boolean compression) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions websocketContextTakeover(boolean contextTakeover) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions websocketMaxAggregateSize(int maxAggregateSize) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions websocketMaxFrameSize(int maxFrameSize) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ClientOptions websocketWindowBits(int windowBits) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
 	}
 
 }
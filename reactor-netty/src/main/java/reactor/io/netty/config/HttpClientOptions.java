@@ -25,6 +25,8 @@ import javax.annotation.Nullable;
 
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.ssl.SslContextBuilder;
 import reactor.core.scheduler.TimedScheduler;
 import reactor.io.netty.common.Peer;
@@ -86,6 +88,18 @@ public class HttpClientOptions extends ClientOptions {
 		return this;
 	}
 
+	/**
+	 * The unix domain socket to which this client should connect.
+	 *
+	 * @param domainSocketAddress The domain socket address to connect to.
+	 * @return {@literal this}
+	 */
+	@Override
+	public HttpClientOptions connect(@Nonnull DomainSocketAddress domainSocketAddress) {
+		super.connect(domainSocketAddress);
+		return this;
+	}
+
 	/**
 	 * The host and port to which this client should connect.
 	 *
@@ -211,6 +225,11 @@ public class HttpClientOptions extends ClientOptions {
 			return options.remoteAddress();
 		}
 
+		@Override
+		public DomainSocketAddress domainSocketAddress() {
+			return options.domainSocketAddress();
+		}
+
 		@Override
 		public EventLoopGroup eventLoopGroup() {
 			return options.eventLoopGroup();
@@ -266,6 +285,66 @@ public class HttpClientOptions extends ClientOptions {
 			return options.timer();
 		}
 
+		@Override
+		public long idleTimeout() {
+			return options.idleTimeout();
+		}
+
+		@Override
+		public long writeTimeout() {
+			return options.writeTimeout();
+		}
+
+		@Override
+		public int tcpFastOpen() {
+			return options.tcpFastOpen();
+		}
+
+		@Override
+		public boolean tcpQuickAck() {
+			return options.tcpQuickAck();
+		}
+
+		@Override
+		public boolean tcpCork() {
+			return options.tcpCork();
+		}
+
+		@Override
+		public long tcpNotSentLowAt() {
+			return options.tcpNotSentLowAt();
+		}
+
+		@Override
+		public EpollMode epollMode() {
+			return options.epollMode();
+		}
+
+		@Override
+		public boolean websocketCompression() {
+			return options.websocketCompression();
+		}
+
+		@Override
+		public boolean websocketContextTakeover() {
+			return options.websocketContextTakeover();
+		}
+
+		@Override
+		public int websocketMaxAggregateSize() {
+			return options.websocketMaxAggregateSize();
+		}
+
+		@Override
+		public int websocketMaxFrameSize() {
+			return options.websocketMaxFrameSize();
+		}
+
+		@Override
+		public int websocketWindowBits() {
+			return options.websocketWindowBits();
+		}
+
 		@Override
 		public HttpClientOptions connect(@Nonnull String host, int port) {
 			throw new UnsupportedOperationException("Immutable Options");
@@ -276,6 +355,11 @@ public class HttpClientOptions extends ClientOptions {
 			throw new UnsupportedOperationException("Immutable Options");
 		}
 
+		@Override
+		public HttpClientOptions connect(@Nonnull DomainSocketAddress domainSocketAddress) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
 		@Override
 		public HttpClientOptions eventLoopGroup(EventLoopGroup eventLoopGroup) {
 			throw new UnsupportedOperationException("Immutable Options");
@@ -348,6 +432,66 @@ public class HttpClientOptions extends ClientOptions {
 		public HttpClientOptions timer(TimedScheduler timer) {
 			throw new UnsupportedOperationException("Immutable Options");
 		}
+
+		@Override
+		public HttpClientOptions idleTimeout(long idleTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions writeTimeout(long writeTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions tcpFastOpen(int tcpFastOpen) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions tcpQuickAck(boolean tcpQuickAck) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions tcpCork(boolean tcpCork) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions tcpNotSentLowAt(long tcpNotSentLowAt) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions epollMode(EpollMode epollMode) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions websocketCompression(boolean compression) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions websocketContextTakeover(boolean contextTakeover) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions websocketMaxAggregateSize(int maxAggregateSize) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions websocketMaxFrameSize(int maxFrameSize) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public HttpClientOptions websocketWindowBits(int windowBits) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
 	}
 
 }
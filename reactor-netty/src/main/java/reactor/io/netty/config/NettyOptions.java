@@ -20,6 +20,7 @@ import java.util.function.Consumer;
 
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
 import io.netty.handler.ssl.SslContextBuilder;
 import reactor.core.scheduler.TimedScheduler;
 import reactor.core.util.PlatformDependent;
@@ -49,6 +50,18 @@ public abstract class NettyOptions<SO extends NettyOptions<? super SO>> {
 	private Consumer<ChannelPipeline> pipelineConfigurer = null;
 	private EventLoopGroup            eventLoopGroup     = null;
 	private SslContextBuilder         sslOptions         = null;
+	private boolean                   wsCompression      = false;
+	private int                       wsWindowBits       = 15;
+	private boolean                   wsContextTakeover  = true;
+	private int                       wsMaxFrameSize     = 65536;
+	private int                       wsMaxAggregateSize = 65536;
+	private int                       tcpFastOpen        = 0;
+	private boolean                   tcpQuickAck        = false;
+	private boolean                   tcpCork            = false;
+	private long                      tcpNotSentLowAt    = 0L;
+	private EpollMode                 epollMode          = null;
+	private long                      idleTimeout        = 0L;
+	private long                      writeTimeout       = 0L;
 
 	/**
 	 *
@@ -249,6 +262,138 @@ public abstract class NettyOptions<SO extends NettyOptions<? super SO>> {
 		return (SO) this;
 	}
 
+	/**
+	 * Returns the {@code TCP_FASTOPEN} pending queue length, 0 if disabled
+	 * @return the {@code TCP_FASTOPEN} queue length
+	 */
+	public int tcpFastOpen() {
+		return tcpFastOpen;
+	}
+
+	/**
+	 * Configures the {@code TCP_FASTOPEN} pending queue length of listening sockets, 0
+	 * to disable it. Only applies to the native epoll transport.
+	 * @param tcpFastOpen the {@code TCP_FASTOPEN} queue length
+	 * @return {@code this}
+	 */
+	public SO tcpFastOpen(int tcpFastOpen) {
+		if (tcpFastOpen < 0) {
+			throw new IllegalArgumentException("tcpFastOpen must be positive or 0: " + tcpFastOpen);
+		}
+		this.tcpFastOpen = tcpFastOpen;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns a boolean indicating whether or not {@code TCP_QUICKACK} is enabled
+	 * @return {@code true} if {@code TCP_QUICKACK} is enabled
+	 */
+	public boolean tcpQuickAck() {
+		return tcpQuickAck;
+	}
+
+	/**
+	 * Enables or disables {@code TCP_QUICKACK}. Only applies to the native epoll
+	 * transport.
+	 * @param tcpQuickAck {@code true} to enable {@code TCP_QUICKACK}
+	 * @return {@code this}
+	 */
+	public SO tcpQuickAck(boolean tcpQuickAck) {
+		this.tcpQuickAck = tcpQuickAck;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns a boolean indicating whether or not {@code TCP_CORK} is enabled
+	 * @return {@code true} if {@code TCP_CORK} is enabled
+	 */
+	public boolean tcpCork() {
+		return tcpCork;
+	}
+
+	/**
+	 * Enables or disables {@code TCP_CORK}. Only applies to the native epoll transport.
+	 * @param tcpCork {@code true} to enable {@code TCP_CORK}
+	 * @return {@code this}
+	 */
+	public SO tcpCork(boolean tcpCork) {
+		this.tcpCork = tcpCork;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns the {@code TCP_NOTSENT_LOWAT} threshold in bytes, 0 if not set
+	 * @return the {@code TCP_NOTSENT_LOWAT} threshold
+	 */
+	public long tcpNotSentLowAt() {
+		return tcpNotSentLowAt;
+	}
+
+	/**
+	 * Configures the {@code TCP_NOTSENT_LOWAT} threshold in bytes, 0 to keep the system
+	 * default. Only applies to the native epoll transport.
+	 * @param tcpNotSentLowAt the {@code TCP_NOTSENT_LOWAT} threshold
+	 * @return {@code this}
+	 */
+	public SO tcpNotSentLowAt(long tcpNotSentLowAt) {
+		if (tcpNotSentLowAt < 0L) {
+			throw new IllegalArgumentException("tcpNotSentLowAt must be positive or 0: " + tcpNotSentLowAt);
+		}
+		this.tcpNotSentLowAt = tcpNotSentLowAt;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns the configured {@link EpollMode}, null for the transport default
+	 * @return the {@link EpollMode}
+	 */
+	public EpollMode epollMode() {
+		return epollMode;
+	}
+
+	/**
+	 * Selects edge or level triggered readiness notifications. Only applies to the
+	 * native epoll transport.
+	 * @param epollMode the {@link EpollMode} to use
+	 * @return {@code this}
+	 */
+	public SO epollMode(EpollMode epollMode) {
+		this.epollMode = epollMode;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns a boolean indicating whether or not any native epoll specific option is
+	 * configured
+	 * @return {@code true} if an epoll specific option is set
+	 */
+	public boolean hasEpollOptions() {
+		return tcpFastOpen() > 0 || tcpQuickAck() || tcpCork() || tcpNotSentLowAt() > 0L ||
+				epollMode() != null;
+	}
+
+	/**
+	 * Returns the idle timeout in milliseconds, 0 if disabled
+	 * @return the idle timeout
+	 */
+	public long idleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * Closes connections with neither read nor write for the given number of
+	 * milliseconds, 0 to disable.
+	 * @param idleTimeout the idle timeout in milliseconds
+	 * @return {@code this}
+	 */
+	public SO idleTimeout(long idleTimeout) {
+		if (idleTimeout < 0L) {
+			throw new IllegalArgumentException("idleTimeout must be positive or 0: " + idleTimeout);
+		}
+		this.idleTimeout = idleTimeout;
+		return (SO) this;
+	}
+
 	/**
 	 * Gets the {@code SO_TIMEOUT} value
 	 * @return the timeout value
@@ -288,4 +433,132 @@ public abstract class NettyOptions<SO extends NettyOptions<? super SO>> {
 	public TimedScheduler timer() {
 		return this.timer;
 	}
+
+	/**
+	 * Returns the write stall timeout in milliseconds, 0 if disabled
+	 * @return the write stall timeout
+	 */
+	public long writeTimeout() {
+		return writeTimeout;
+	}
+
+	/**
+	 * Closes connections whose outbound buffer stays full, the peer not reading, for
+	 * the given number of milliseconds, 0 to disable.
+	 * @param writeTimeout the write stall timeout in milliseconds
+	 * @return {@code this}
+	 */
+	public SO writeTimeout(long writeTimeout) {
+		if (writeTimeout < 0L) {
+			throw new IllegalArgumentException("writeTimeout must be positive or 0: " + writeTimeout);
+		}
+		this.writeTimeout = writeTimeout;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns a boolean indicating whether or not WebSocket {@code permessage-deflate}
+	 * is negotiated on upgrade
+	 * @return {@code true} if WebSocket compression is enabled
+	 */
+	public boolean websocketCompression() {
+		return wsCompression;
+	}
+
+	/**
+	 * Enables or disables WebSocket {@code permessage-deflate} negotiation (RFC 7692).
+	 * @param compression {@code true} to offer/accept compression on WebSocket upgrade
+	 * @return {@code this}
+	 */
+	public SO websocketCompression(boolean compression) {
+		this.wsCompression = compression;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns a boolean indicating whether or not the compression context is kept
+	 * between WebSocket messages
+	 * @return {@code true} if context takeover is allowed
+	 */
+	public boolean websocketContextTakeover() {
+		return wsContextTakeover;
+	}
+
+	/**
+	 * Allows or disallows reuse of the deflate context between WebSocket messages.
+	 * Disabling context takeover lowers the per-connection memory footprint at the
+	 * expense of the compression ratio.
+	 * @param contextTakeover {@code false} to request {@code no_context_takeover}
+	 * @return {@code this}
+	 */
+	public SO websocketContextTakeover(boolean contextTakeover) {
+		this.wsContextTakeover = contextTakeover;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns the maximum size of an aggregated WebSocket handshake message
+	 * @return the maximum aggregated size in bytes
+	 */
+	public int websocketMaxAggregateSize() {
+		return wsMaxAggregateSize;
+	}
+
+	/**
+	 * Sets the maximum size of the aggregated HTTP upgrade message exchanged during
+	 * the WebSocket handshake
+	 * @param maxAggregateSize the maximum aggregated size in bytes
+	 * @return {@code this}
+	 */
+	public SO websocketMaxAggregateSize(int maxAggregateSize) {
+		if (maxAggregateSize <= 0) {
+			throw new IllegalArgumentException("'maxAggregateSize' must be greater than 0");
+		}
+		this.wsMaxAggregateSize = maxAggregateSize;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns the maximum payload length of a single WebSocket frame
+	 * @return the maximum frame payload length in bytes
+	 */
+	public int websocketMaxFrameSize() {
+		return wsMaxFrameSize;
+	}
+
+	/**
+	 * Sets the maximum payload length of a single incoming WebSocket frame. Larger
+	 * frames close the connection.
+	 * @param maxFrameSize the maximum frame payload length in bytes
+	 * @return {@code this}
+	 */
+	public SO websocketMaxFrameSize(int maxFrameSize) {
+		if (maxFrameSize <= 0) {
+			throw new IllegalArgumentException("'maxFrameSize' must be greater than 0");
+		}
+		this.wsMaxFrameSize = maxFrameSize;
+		return (SO) this;
+	}
+
+	/**
+	 * Returns the deflate window size (as a power of 2) requested from the remote peer
+	 * @return the window bits, between 8 and 15
+	 */
+	public int websocketWindowBits() {
+		return wsWindowBits;
+	}
+
+	/**
+	 * Sets the deflate window size (as a power of 2) requested from the remote peer.
+	 * Smaller windows lower memory usage at the expense of the compression ratio.
+	 * @param windowBits the window bits, between 8 and 15
+	 * @return {@code this}
+	 */
+	public SO websocketWindowBits(int windowBits) {
+		if (windowBits < 8 || windowBits > 15) {
+			throw new IllegalArgumentException("'windowBits' must be between 8 and 15");
+		}
+		this.wsWindowBits = windowBits;
+		return (SO) this;
+	}
 }
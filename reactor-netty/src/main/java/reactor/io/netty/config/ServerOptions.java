@@ -20,10 +20,13 @@ import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
 import java.net.ProtocolFamily;
 import java.security.cert.CertificateException;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 import reactor.core.scheduler.TimedScheduler;
@@ -61,10 +64,17 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 		return new ServerOptions().listen(address, port);
 	}
 
-	protected InetSocketAddress listenAddress;
+	protected InetSocketAddress   listenAddress;
+	protected DomainSocketAddress domainSocketAddress;
 	private   NetworkInterface  multicastInterface;
 	private int            backlog        = 1000;
 	private boolean        reuseAddr      = true;
+	private boolean        reusePort      = false;
+	private int            reusePortSockets = 0;
+	private ThreadFactory  ioThreadFactory = null;
+	private long           shutdownTimeout = 0L;
+	private long           headersTimeout = 0L;
+	private long           bodyTimeout    = 0L;
 	private ProtocolFamily protocolFamily = null;
 
 	ServerOptions(){
@@ -126,6 +136,18 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 		return this;
 	}
 
+	/**
+	 * The unix {@link DomainSocketAddress} on which this server should listen instead of
+	 * an {@link InetSocketAddress}. Requires the native epoll transport.
+	 *
+	 * @param domainSocketAddress the listen domain socket address
+	 * @return {@literal this}
+	 */
+	public ServerOptions listen(DomainSocketAddress domainSocketAddress) {
+		this.domainSocketAddress = domainSocketAddress;
+		return this;
+	}
+
 	/**
 	 * Return the listening {@link InetSocketAddress}
 	 * @return the listening address
@@ -134,6 +156,14 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 		return this.listenAddress;
 	}
 
+	/**
+	 * Return the listening {@link DomainSocketAddress} if any
+	 * @return the listening domain socket address or null
+	 */
+	public DomainSocketAddress domainSocketAddress(){
+		return this.domainSocketAddress;
+	}
+
 	/**
 	 * Set the interface to use for multicast.
 	 *
@@ -193,6 +223,154 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 		return this;
 	}
 
+	/**
+	 * Returns a boolean indicating whether or not several sockets are bound to the listen
+	 * address with {@code SO_REUSEPORT}
+	 *
+	 * @return {@code true} if {@code SO_REUSEPORT} is enabled, {@code false} if it is not
+	 */
+	public boolean reusePort() {
+		return reusePort;
+	}
+
+	/**
+	 * Enables or disables binding several sockets to the listen address with {@code
+	 * SO_REUSEPORT}, letting the kernel spread the traffic across them. Only supported by
+	 * the native epoll transport, a single socket is bound otherwise.
+	 *
+	 * @param reusePort {@code true} to enable {@code SO_REUSEPORT}, {@code false} to disable it
+	 * @return {@code this}
+	 */
+	public ServerOptions reusePort(boolean reusePort) {
+		this.reusePort = reusePort;
+		return this;
+	}
+
+	/**
+	 * Returns the number of sockets bound when {@link #reusePort()} is enabled, 0 for one
+	 * socket per IO thread
+	 *
+	 * @return the number of sockets bound with {@code SO_REUSEPORT}
+	 */
+	public int reusePortSockets() {
+		return reusePortSockets;
+	}
+
+	/**
+	 * Configures the number of sockets bound when {@link #reusePort()} is enabled.
+	 *
+	 * @param reusePortSockets the number of sockets, 0 for one socket per IO thread
+	 * @return {@code this}
+	 */
+	public ServerOptions reusePortSockets(int reusePortSockets) {
+		if (reusePortSockets < 0) {
+			throw new IllegalArgumentException("reusePortSockets must be positive or 0");
+		}
+		this.reusePortSockets = reusePortSockets;
+		return this;
+	}
+
+	/**
+	 * Returns the {@link ThreadFactory} used to create the IO threads, null for the
+	 * default one
+	 *
+	 * @return the IO {@link ThreadFactory}
+	 */
+	public ThreadFactory ioThreadFactory() {
+		return ioThreadFactory;
+	}
+
+	/**
+	 * Configures the {@link ThreadFactory} used to create the IO threads when no {@link
+	 * #eventLoopGroup()} is given, for instance to pin each event loop to a CPU core.
+	 *
+	 * @param ioThreadFactory the IO {@link ThreadFactory}
+	 * @return {@code this}
+	 */
+	public ServerOptions ioThreadFactory(ThreadFactory ioThreadFactory) {
+		this.ioThreadFactory = ioThreadFactory;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum time in milliseconds to receive a HTTP request headers, 0 if
+	 * disabled
+	 *
+	 * @return the request headers timeout in milliseconds
+	 */
+	public long headersTimeout() {
+		return headersTimeout;
+	}
+
+	/**
+	 * Answers {@code 408 Request Timeout} and closes HTTP connections whose request
+	 * headers are not received within the given number of milliseconds after connecting,
+	 * 0 to disable. Only applies to {@code HttpServer}.
+	 *
+	 * @param headersTimeout the request headers timeout in milliseconds
+	 * @return {@code this}
+	 */
+	public ServerOptions headersTimeout(long headersTimeout) {
+		if (headersTimeout < 0L) {
+			throw new IllegalArgumentException("headersTimeout must be positive or 0: " + headersTimeout);
+		}
+		this.headersTimeout = headersTimeout;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum time in milliseconds a HTTP request body can go without
+	 * receiving any content, 0 if disabled
+	 *
+	 * @return the request body timeout in milliseconds
+	 */
+	public long bodyTimeout() {
+		return bodyTimeout;
+	}
+
+	/**
+	 * Closes HTTP connections whose request body receives no content within the given
+	 * number of milliseconds after its headers or its last chunk, 0 to disable. The time
+	 * reads are suspended by back pressure is not counted. Only applies to {@code
+	 * HttpServer}.
+	 *
+	 * @param bodyTimeout the request body timeout in milliseconds
+	 * @return {@code this}
+	 */
+	public ServerOptions bodyTimeout(long bodyTimeout) {
+		if (bodyTimeout < 0L) {
+			throw new IllegalArgumentException("bodyTimeout must be positive or 0: " + bodyTimeout);
+		}
+		this.bodyTimeout = bodyTimeout;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum time in milliseconds to wait for open connections to complete
+	 * on shutdown, 0 to close them immediately
+	 *
+	 * @return the shutdown draining timeout in milliseconds
+	 */
+	public long shutdownTimeout() {
+		return shutdownTimeout;
+	}
+
+	/**
+	 * Configures graceful shutdown: new connections are refused, open ones get the given
+	 * number of milliseconds to complete before being closed. 0 closes them immediately.
+	 * Open connections are tracked for that purpose even if the server is not managed.
+	 *
+	 * @param shutdownTimeout the shutdown draining timeout in milliseconds
+	 * @return {@code this}
+	 */
+	public ServerOptions shutdownTimeout(long shutdownTimeout) {
+		if (shutdownTimeout < 0L) {
+			throw new IllegalArgumentException("shutdownTimeout must be positive or 0: " + shutdownTimeout);
+		}
+		this.shutdownTimeout = shutdownTimeout;
+		return this;
+	}
+
 	/**
 	 * Enable SSL service with a self-signed certificate
 	 *
@@ -231,6 +409,11 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 			return options.listenAddress();
 		}
 
+		@Override
+		public DomainSocketAddress domainSocketAddress() {
+			return options.domainSocketAddress();
+		}
+
 		@Override
 		public int backlog() {
 			return options.backlog();
@@ -251,6 +434,16 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 			return options.reuseAddr();
 		}
 
+		@Override
+		public boolean reusePort() {
+			return options.reusePort();
+		}
+
+		@Override
+		public int reusePortSockets() {
+			return options.reusePortSockets();
+		}
+
 		@Override
 		public EventLoopGroup eventLoopGroup() {
 			return options.eventLoopGroup();
@@ -306,6 +499,86 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 			return options.timer();
 		}
 
+		@Override
+		public long headersTimeout() {
+			return options.headersTimeout();
+		}
+
+		@Override
+		public long bodyTimeout() {
+			return options.bodyTimeout();
+		}
+
+		@Override
+		public long idleTimeout() {
+			return options.idleTimeout();
+		}
+
+		@Override
+		public long writeTimeout() {
+			return options.writeTimeout();
+		}
+
+		@Override
+		public long shutdownTimeout() {
+			return options.shutdownTimeout();
+		}
+
+		@Override
+		public ThreadFactory ioThreadFactory() {
+			return options.ioThreadFactory();
+		}
+
+		@Override
+		public int tcpFastOpen() {
+			return options.tcpFastOpen();
+		}
+
+		@Override
+		public boolean tcpQuickAck() {
+			return options.tcpQuickAck();
+		}
+
+		@Override
+		public boolean tcpCork() {
+			return options.tcpCork();
+		}
+
+		@Override
+		public long tcpNotSentLowAt() {
+			return options.tcpNotSentLowAt();
+		}
+
+		@Override
+		public EpollMode epollMode() {
+			return options.epollMode();
+		}
+
+		@Override
+		public boolean websocketCompression() {
+			return options.websocketCompression();
+		}
+
+		@Override
+		public boolean websocketContextTakeover() {
+			return options.websocketContextTakeover();
+		}
+
+		@Override
+		public int websocketMaxAggregateSize() {
+			return options.websocketMaxAggregateSize();
+		}
+
+		@Override
+		public int websocketMaxFrameSize() {
+			return options.websocketMaxFrameSize();
+		}
+
+		@Override
+		public int websocketWindowBits() {
+			return options.websocketWindowBits();
+		}
+
 		@Override
 		public ServerOptions backlog(int backlog) {
 			return super.backlog(backlog);
@@ -326,6 +599,11 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 			throw new UnsupportedOperationException("Immutable Options");
 		}
 
+		@Override
+		public ServerOptions listen(DomainSocketAddress domainSocketAddress) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
 		@Override
 		public ServerOptions multicastInterface(NetworkInterface iface) {
 			throw new UnsupportedOperationException("Immutable Options");
@@ -341,6 +619,16 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 			throw new UnsupportedOperationException("Immutable Options");
 		}
 
+		@Override
+		public ServerOptions reusePort(boolean reusePort) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions reusePortSockets(int reusePortSockets) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
 		@Override
 		public ServerOptions eventLoopGroup(EventLoopGroup eventLoopGroup) {
 			throw new UnsupportedOperationException("Immutable Options");
@@ -410,6 +698,86 @@ public class ServerOptions extends NettyOptions<ServerOptions> {
 		public ServerOptions timer(TimedScheduler timer) {
 			throw new UnsupportedOperationException("Immutable Options");
 		}
+
+		@Override
+		public ServerOptions headersTimeout(long headersTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions bodyTimeout(long bodyTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions idleTimeout(long idleTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions writeTimeout(long writeTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions shutdownTimeout(long shutdownTimeout) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions ioThreadFactory(ThreadFactory ioThreadFactory) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions tcpFastOpen(int tcpFastOpen) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions tcpQuickAck(boolean tcpQuickAck) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions tcpCork(boolean tcpCork) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions tcpNotSentLowAt(long tcpNotSentLowAt) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions epollMode(EpollMode epollMode) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions websocketCompression(boolean compression) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions websocketContextTakeover(boolean contextTakeover) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions websocketMaxAggregateSize(int maxAggregateSize) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions websocketMaxFrameSize(int maxFrameSize) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
+
+		@Override
+		public ServerOptions websocketWindowBits(int windowBits) {
+			throw new UnsupportedOperationException("Immutable Options");
+		}
 	}
 
 }
@@ -0,0 +1,494 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.netty.http;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoEmitter;
+import reactor.core.state.Introspectable;
+import reactor.core.util.Logger;
+
+/**
+ * An admission control for {@link HttpServer} requests. The number of requests handled
+ * concurrently is bounded by a limit adapted to the observed latency: the limit grows
+ * while latency stays close to its long term average and shrinks as soon as requests
+ * queue up or fail. Excess requests wait in a bounded queue for up to {@link
+ * #queueTimeout(long)} milliseconds, then are answered with a {@code 503 Service
+ * Unavailable} and a {@code Retry-After} header.
+ * <p>
+ * Requests can be given a priority class with {@link #priority(Predicate, int)}, 0
+ * being the most important. A class {@code p} among {@code n} classes can only use
+ * {@code (n - p) / n} of the limit, lower priority requests are then shed first.
+ * <p>
+ * Websocket upgrades are never limited since they hold their connection open.
+ *
+ * @author Stephane Maldini
+ */
+public final class ConcurrencyLimiter implements Introspectable {
+
+	/**
+	 * Create a new {@link ConcurrencyLimiter} starting at 20 concurrent requests,
+	 * adapting between 1 and 1000, rejecting excess requests immediately.
+	 *
+	 * @return a new {@link ConcurrencyLimiter}
+	 */
+	public static ConcurrencyLimiter create() {
+		return new ConcurrencyLimiter();
+	}
+
+	final List<PriorityRule>    rules = new ArrayList<>();
+	final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+
+	int    minLimit     = 1;
+	int    maxLimit     = 1000;
+	double tolerance    = 2d;
+	int    maxQueueSize = 0;
+	long   queueTimeout = 0L;
+	long   retryAfter   = 1L;
+	int    classes      = 1;
+
+	// guarded by this
+	double limit    = 20d;
+	long   longRtt  = 0L;
+	int    inFlight = 0;
+	long   rejected = 0L;
+	long   sequence = 0L;
+
+	ConcurrencyLimiter() {
+	}
+
+	/**
+	 * Set the concurrent request limit to start with.
+	 *
+	 * @param initialLimit the initial limit
+	 * @return {@code this}
+	 */
+	public ConcurrencyLimiter initialLimit(int initialLimit) {
+		if (initialLimit < 1) {
+			throw new IllegalArgumentException("initialLimit must be strictly positive: " + initialLimit);
+		}
+		synchronized (this) {
+			this.limit = initialLimit;
+		}
+		return this;
+	}
+
+	/**
+	 * Bound the adapted limit.
+	 *
+	 * @param minLimit the lowest limit, at least 1
+	 * @param maxLimit the highest limit
+	 * @return {@code this}
+	 */
+	public ConcurrencyLimiter limits(int minLimit, int maxLimit) {
+		if (minLimit < 1 || maxLimit < minLimit) {
+			throw new IllegalArgumentException("invalid limits: [" + minLimit + ", " + maxLimit + "]");
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		return this;
+	}
+
+	/**
+	 * Set how much slower than its long term average the latency can get before the
+	 * limit shrinks, 2 by default.
+	 *
+	 * @param tolerance the latency tolerance, at least 1
+	 * @return {@code this}
+	 */
+	public ConcurrencyLimiter tolerance(double tolerance) {
+		if (tolerance < 1d) {
+			throw new IllegalArgumentException("tolerance must be greater than 1: " + tolerance);
+		}
+		this.tolerance = tolerance;
+		return this;
+	}
+
+	/**
+	 * Queue up to {@code maxQueueSize} excess requests for at most {@code queueTimeout}
+	 * milliseconds before rejecting them. By default excess requests are rejected
+	 * immediately.
+	 *
+	 * @param maxQueueSize the maximum number of waiting requests
+	 * @param queueTimeout the maximum wait in milliseconds
+	 * @return {@code this}
+	 */
+	public ConcurrencyLimiter queue(int maxQueueSize, long queueTimeout) {
+		if (maxQueueSize < 0 || queueTimeout < 0L) {
+			throw new IllegalArgumentException("invalid queue: " + maxQueueSize + " requests for " + queueTimeout + "ms");
+		}
+		this.maxQueueSize = maxQueueSize;
+		this.queueTimeout = queueTimeout;
+		return this;
+	}
+
+	/**
+	 * Set the {@code Retry-After} delay in seconds sent with rejected requests, 1 by
+	 * default.
+	 *
+	 * @param retryAfter the delay in seconds
+	 * @return {@code this}
+	 */
+	public ConcurrencyLimiter retryAfter(long retryAfter) {
+		if (retryAfter < 0L) {
+			throw new IllegalArgumentException("retryAfter must be positive or 0: " + retryAfter);
+		}
+		this.retryAfter = retryAfter;
+		return this;
+	}
+
+	/**
+	 * Assign the given priority class to the requests matching the condition, e.g. a
+	 * {@link HttpMappings.HttpPredicate}. The first matching rule applies, unmatched
+	 * requests have priority 0.
+	 *
+	 * @param condition the requests to match
+	 * @param priorityClass the priority class, 0 being the most important
+	 * @return {@code this}
+	 */
+	public ConcurrencyLimiter priority(Predicate<? super HttpChannel> condition, int priorityClass) {
+		if (priorityClass < 0) {
+			throw new IllegalArgumentException("priorityClass must be positive or 0: " + priorityClass);
+		}
+		rules.add(new PriorityRule(condition, priorityClass));
+		classes = Math.max(classes, priorityClass + 1);
+		return this;
+	}
+
+	/**
+	 * Return the current concurrent request limit.
+	 *
+	 * @return the current limit
+	 */
+	public synchronized int limit() {
+		return (int) limit;
+	}
+
+	/**
+	 * Return the number of requests being handled.
+	 *
+	 * @return the number of in-flight requests
+	 */
+	public synchronized int inFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * Return the number of requests waiting for admission.
+	 *
+	 * @return the number of queued requests
+	 */
+	public synchronized int queued() {
+		return queue.size();
+	}
+
+	/**
+	 * Return the number of requests rejected so far.
+	 *
+	 * @return the number of rejected requests
+	 */
+	public synchronized long rejectedCount() {
+		return rejected;
+	}
+
+	@Override
+	public int getMode() {
+		return 0;
+	}
+
+	@Override
+	public String getName() {
+		return "ConcurrencyLimiter";
+	}
+
+	/**
+	 * Run the handler once the request is admitted or answer with a {@code 503}.
+	 *
+	 * @param ch the request
+	 * @param handler the request handler
+	 * @return a {@link Mono} completing when the request is handled or rejected
+	 */
+	Mono<Void> admit(HttpChannel ch, Supplier<? extends Publisher<Void>> handler) {
+		if (ch.isWebsocket()) {
+			return Flux.from(handler.get())
+			           .then();
+		}
+		int priority = priority(ch);
+		return Mono.<Boolean>create(emitter -> acquire(ch, priority, emitter))
+		           .then(admitted -> admitted ? run(handler) : reject(ch));
+	}
+
+	int priority(HttpChannel ch) {
+		for (PriorityRule rule : rules) {
+			if (rule.condition.test(ch)) {
+				return rule.priorityClass;
+			}
+		}
+		return 0;
+	}
+
+	void acquire(HttpChannel ch, int priority, MonoEmitter<Boolean> emitter) {
+		Waiter waiter;
+		synchronized (this) {
+			Waiter head = queue.peek();
+			if ((head == null || head.priority > priority) && inFlight < allowed(priority)) {
+				inFlight++;
+				waiter = null;
+			}
+			else if (queue.size() < maxQueueSize && queueTimeout > 0L) {
+				Waiter w = new Waiter(ch, priority, sequence++, emitter);
+				w.closeListener = f -> cancel(w);
+				w.timeout = ch.delegate()
+				              .eventLoop()
+				              .schedule(() -> expire(w), queueTimeout, TimeUnit.MILLISECONDS);
+				queue.add(w);
+				waiter = w;
+			}
+			else {
+				rejected++;
+				emitter.complete(false);
+				return;
+			}
+		}
+		if (waiter == null) {
+			emitter.complete(true);
+			return;
+		}
+		emitter.setCancellation(() -> cancel(waiter));
+		// free the queue slot of a client disconnecting while waiting
+		waiter.channel.delegate()
+		              .closeFuture()
+		              .addListener(waiter.closeListener);
+	}
+
+	Mono<Void> run(Supplier<? extends Publisher<Void>> handler) {
+		final long start = System.nanoTime();
+		final AtomicBoolean released = new AtomicBoolean();
+		Publisher<Void> p;
+		try {
+			p = handler.get();
+		}
+		catch (Throwable t) {
+			release(start, true, released);
+			return Mono.error(t);
+		}
+		return Flux.from(p)
+		           .then()
+		           .doOnCancel(() -> release(start, false, released))
+		           .doAfterTerminate((v, e) -> release(start, e != null, released));
+	}
+
+	Mono<Void> reject(HttpChannel ch) {
+		if (log.isDebugEnabled()) {
+			log.debug("Rejecting {} {}, {} requests in flight", ch.method(), ch.uri(), inFlight());
+		}
+		return ch.status(HttpResponseStatus.SERVICE_UNAVAILABLE)
+		         .responseHeader(HttpHeaderNames.RETRY_AFTER, Long.toString(retryAfter))
+		         .responseHeader(HttpHeaderNames.CONTENT_LENGTH, "0")
+		         .sendHeaders();
+	}
+
+	void release(long start, boolean failed, AtomicBoolean released) {
+		if (!released.compareAndSet(false, true)) {
+			return;
+		}
+		long rtt = System.nanoTime() - start;
+		List<Waiter> admitted;
+		synchronized (this) {
+			inFlight--;
+			update(rtt, failed);
+			admitted = pollAdmitted();
+		}
+		resume(admitted);
+	}
+
+	/**
+	 * Return the permit of a request admitted from the queue but gone before running,
+	 * without sampling its latency.
+	 */
+	void abandon() {
+		List<Waiter> admitted;
+		synchronized (this) {
+			inFlight--;
+			admitted = pollAdmitted();
+		}
+		resume(admitted);
+	}
+
+	/**
+	 * Take a permit for each queued request fitting in the limit. Must be called
+	 * holding the lock.
+	 */
+	List<Waiter> pollAdmitted() {
+		List<Waiter> admitted = null;
+		Waiter head;
+		while ((head = queue.peek()) != null && inFlight < allowed(head.priority)) {
+			queue.poll();
+			inFlight++;
+			if (admitted == null) {
+				admitted = new ArrayList<>(2);
+			}
+			admitted.add(head);
+		}
+		return admitted;
+	}
+
+	void resume(List<Waiter> admitted) {
+		if (admitted == null) {
+			return;
+		}
+		for (Waiter w : admitted) {
+			w.timeout.cancel(false);
+			// resume the request on its own event loop
+			w.channel.delegate()
+			         .eventLoop()
+			         .execute(() -> {
+				         if (w.claim()) {
+					         w.channel.delegate()
+					                  .closeFuture()
+					                  .removeListener(w.closeListener);
+					         w.emitter.complete(true);
+				         }
+			         });
+		}
+	}
+
+	/**
+	 * Adapt the limit to a latency sample: shrink it on failure, otherwise scale it by
+	 * the ratio between the long term and the sampled latency, plus a small headroom.
+	 * Must be called holding the lock.
+	 */
+	void update(long rtt, boolean failed) {
+		double newLimit;
+		if (failed) {
+			newLimit = limit * 0.9d;
+		}
+		else {
+			if (longRtt == 0L) {
+				longRtt = rtt;
+			}
+			else {
+				longRtt += (rtt - longRtt) / 100L;
+				if (longRtt > rtt * 2L) {
+					// the load dropped, forget the former queueing delay
+					longRtt -= longRtt / 20L;
+				}
+			}
+			if (inFlight + 1 < limit / 2d) {
+				// not enough load to tell if the limit can grow
+				return;
+			}
+			double gradient = Math.max(0.5d, Math.min(1d, tolerance * longRtt / Math.max(1L, rtt)));
+			newLimit = limit * gradient + Math.sqrt(limit);
+			newLimit = limit * 0.8d + newLimit * 0.2d;
+		}
+		limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+	}
+
+	int allowed(int priority) {
+		return Math.max(1, (int) (limit * (classes - priority) / classes));
+	}
+
+	void expire(Waiter waiter) {
+		synchronized (this) {
+			if (!queue.remove(waiter)) {
+				return;
+			}
+			rejected++;
+		}
+		waiter.claim();
+		waiter.channel.delegate()
+		              .closeFuture()
+		              .removeListener(waiter.closeListener);
+		waiter.emitter.complete(false);
+	}
+
+	void cancel(Waiter waiter) {
+		waiter.timeout.cancel(false);
+		waiter.channel.delegate()
+		              .closeFuture()
+		              .removeListener(waiter.closeListener);
+		boolean removed;
+		synchronized (this) {
+			removed = queue.remove(waiter);
+		}
+		if (waiter.claim() && !removed) {
+			// admitted by release() but not resumed yet, give the permit back
+			abandon();
+		}
+	}
+
+	static final class PriorityRule {
+
+		final Predicate<? super HttpChannel> condition;
+		final int                            priorityClass;
+
+		PriorityRule(Predicate<? super HttpChannel> condition, int priorityClass) {
+			this.condition = condition;
+			this.priorityClass = priorityClass;
+		}
+	}
+
+	static final class Waiter implements Comparable<Waiter> {
+
+		final HttpChannel          channel;
+		final int                  priority;
+		final long                 sequence;
+		final MonoEmitter<Boolean> emitter;
+		final AtomicBoolean        claimed;
+
+		ScheduledFuture<?>    timeout;
+		ChannelFutureListener closeListener;
+
+		Waiter(HttpChannel channel, int priority, long sequence, MonoEmitter<Boolean> emitter) {
+			this.channel = channel;
+			this.priority = priority;
+			this.sequence = sequence;
+			this.emitter = emitter;
+			this.claimed = new AtomicBoolean();
+		}
+
+		/**
+		 * Return true for the first of resuming, expiring or cancelling this waiter.
+		 */
+		boolean claim() {
+			return claimed.compareAndSet(false, true);
+		}
+
+		@Override
+		public int compareTo(Waiter o) {
+			if (priority != o.priority) {
+				return Integer.compare(priority, o.priority);
+			}
+			return Long.compare(sequence, o.sequence);
+		}
+	}
+
+	static final Logger log = Logger.getLogger(ConcurrencyLimiter.class);
+}
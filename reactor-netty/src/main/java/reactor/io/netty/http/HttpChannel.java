@@ -22,9 +22,13 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.cookie.Cookie;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.common.MonoChannelFuture;
 import reactor.io.netty.common.NettyChannel;
+import reactor.io.netty.http.sse.ServerSentEvent;
+import reactor.io.netty.http.sse.ServerSentEventCodec;
+import reactor.io.netty.http.sse.ServerSentEventReplay;
 
 /**
  *
@@ -89,6 +93,33 @@ public interface HttpChannel extends NettyChannel, HttpOutbound, HttpInbound {
 	 */
 	HttpChannel sse();
 
+	/**
+	 * Send the given events as a {@code text/event-stream} response, writing a comment
+	 * heartbeat every {@link ServerSentEventCodec#DEFAULT_HEARTBEAT_MILLIS} milliseconds
+	 * without traffic.
+	 *
+	 * @param events the events to encode
+	 * @return a {@link Mono} completing when all events have been written
+	 */
+	default Mono<Void> sendEvents(Publisher<? extends ServerSentEvent> events) {
+		return sendEvents(events, ServerSentEventCodec.DEFAULT_HEARTBEAT_MILLIS, null);
+	}
+
+	/**
+	 * Send the given events as a {@code text/event-stream} response. If a replay is
+	 * provided and the request carries a {@code Last-Event-ID} header, retained events
+	 * after that id are written first.
+	 *
+	 * @param events the events to encode
+	 * @param heartbeatMillis the idle period before a comment heartbeat is written, 0 to
+	 * disable
+	 * @param replay the optional replay buffer to resume from
+	 * @return a {@link Mono} completing when all events have been written
+	 */
+	Mono<Void> sendEvents(Publisher<? extends ServerSentEvent> events,
+			long heartbeatMillis,
+			ServerSentEventReplay replay);
+
 	/**
 	 *
 	 * @param status
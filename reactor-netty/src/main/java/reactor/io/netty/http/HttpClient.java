@@ -22,7 +22,6 @@ import java.util.function.Function;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
-import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpMethod;
 import org.reactivestreams.Publisher;
@@ -286,12 +285,13 @@ public class HttpClient
 
 		@Override
 		protected void bindChannel(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler,
-				SocketChannel ch,
+				Channel ch,
 				ChannelBridge<? extends TcpChannel> channelBridge) {
 			ch.pipeline()
 			  .addLast(new HttpClientCodec())
 			  .addLast(new NettyHttpClientHandler(handler,
-					  (ChannelBridge<HttpClientChannel>) channelBridge));
+					  (ChannelBridge<HttpClientChannel>) channelBridge,
+					  getOptions()));
 		}
 
 		@Override
@@ -30,6 +30,7 @@ import org.reactivestreams.Subscriber;
 import reactor.core.publisher.Mono;
 import reactor.core.util.Exceptions;
 import reactor.io.netty.common.MonoChannelFuture;
+import reactor.io.netty.config.NettyOptions;
 
 /**
  * @author Stephane Maldini
@@ -80,9 +81,14 @@ final class HttpClientChannel extends NettyHttpChannel
 			throw Exceptions.bubble(e);
 		}
 
-		pipeline.addLast(new HttpObjectAggregator(8192));
-		handler = pipeline.remove(NettyHttpClientHandler.class)
-		                  .withWebsocketSupport(uri, protocols, textPlain);
+		NettyHttpClientHandler originalHandler = pipeline.remove(NettyHttpClientHandler.class);
+		NettyOptions<?> options = originalHandler.options;
+
+		pipeline.addLast(new HttpObjectAggregator(options.websocketMaxAggregateSize()));
+		if (options.websocketCompression()) {
+			pipeline.addLast(NettyWebSocketClientHandler.compressionHandler(options));
+		}
+		handler = originalHandler.withWebsocketSupport(uri, protocols, textPlain);
 
 		if (handler != null) {
 			pipeline.addLast(handler);
@@ -20,11 +20,13 @@ import java.net.InetSocketAddress;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import reactor.core.publisher.Flux;
 import reactor.io.netty.common.ByteBufEncodedFlux;
 import reactor.io.netty.common.NettyChannel;
 import reactor.io.netty.common.NettyInbound;
 import reactor.io.netty.http.multipart.MultipartCodec;
+import reactor.io.netty.http.multipart.MultipartPart;
 
 /**
  * An Http Reactive read contract for incoming response. It inherits several accessor related to HTTP
@@ -46,6 +48,43 @@ public interface HttpInbound extends HttpConnection, NettyInbound {
 	 */
 	HttpResponseStatus status();
 
+	/**
+	 * Get the inbound WebSocket messages, fragmented messages being aggregated without
+	 * copy into a single {@link ByteBuf}.
+	 *
+	 * @return a {@link ByteBufEncodedFlux} of WebSocket messages
+	 */
+	default ByteBufEncodedFlux receiveWebsocketMessages() {
+		return receiveWebsocketMessages(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Get the inbound WebSocket messages, fragmented messages being aggregated without
+	 * copy into a single {@link ByteBuf}.
+	 *
+	 * @param maxMessageSize the maximum aggregated message size in bytes, larger
+	 * messages signal a {@link io.netty.handler.codec.TooLongFrameException}
+	 *
+	 * @return a {@link ByteBufEncodedFlux} of WebSocket messages
+	 */
+	default ByteBufEncodedFlux receiveWebsocketMessages(int maxMessageSize) {
+		return ByteBufEncodedFlux.encoded(new WebsocketMessageFlux(receiveWebsocketFrames(),
+				delegate().alloc(),
+				maxMessageSize), delegate().alloc());
+	}
+
+	/**
+	 * Get the inbound WebSocket frames as they are read, a message ending with the frame
+	 * marked {@link WebSocketFrame#isFinalFragment()}. Frames are read from the
+	 * connection on demand.
+	 *
+	 * @return a {@link Flux} of WebSocket frames
+	 */
+	default Flux<WebSocketFrame> receiveWebsocketFrames() {
+		return receiveObject().filter(o -> o instanceof WebSocketFrame)
+		                      .cast(WebSocketFrame.class);
+	}
+
 	/**
 	 * a {@literal byte[]} inbound {@link Flux}
 	 *
@@ -60,8 +99,8 @@ public interface HttpInbound extends HttpConnection, NettyInbound {
 			}
 
 			@Override
-			public Flux<ByteBufEncodedFlux> receiveParts() {
-				return MultipartCodec.decode(thiz);
+			public Flux<MultipartPart> receivePartsWithHeaders() {
+				return MultipartCodec.decodeParts(thiz);
 			}
 
 			@Override
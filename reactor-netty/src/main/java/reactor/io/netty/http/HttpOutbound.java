@@ -16,8 +16,10 @@
 
 package reactor.io.netty.http;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.cookie.Cookie;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
 import reactor.io.netty.common.NettyOutbound;
 
@@ -75,7 +77,30 @@ public interface HttpOutbound extends HttpConnection, NettyOutbound {
 	 */
 	Mono<Void> sendHeaders();
 
+	/**
+	 * Send one WebSocket binary message as a sequence of fragments, each passed
+	 * {@link ByteBuf} being written and flushed as its own frame once the next one is
+	 * received, so that the last fragment is written as the final frame.
+	 *
+	 * @param fragments the message fragments
+	 *
+	 * @return a {@link Mono} completing when the final fragment has been written
+	 */
+	default Mono<Void> sendWebsocketMessage(Publisher<? extends ByteBuf> fragments) {
+		return sendWebsocketMessage(fragments, false);
+	}
 
+	/**
+	 * Send one WebSocket message as a sequence of fragments, each passed
+	 * {@link ByteBuf} being written and flushed as its own frame once the next one is
+	 * received, so that the last fragment is written as the final frame.
+	 *
+	 * @param fragments the message fragments
+	 * @param text true if the message is a text message
+	 *
+	 * @return a {@link Mono} completing when the final fragment has been written
+	 */
+	Mono<Void> sendWebsocketMessage(Publisher<? extends ByteBuf> fragments, boolean text);
 
 	/**
 	 * Upgrade connection to Websocket
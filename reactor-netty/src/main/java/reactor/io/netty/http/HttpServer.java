@@ -25,13 +25,13 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
@@ -111,8 +111,9 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 	}
 
 
-	TcpServer    server;
-	HttpMappings httpMappings;
+	TcpBridgeServer    server;
+	HttpMappings       httpMappings;
+	ConcurrencyLimiter concurrencyLimiter;
 
 	HttpServer(final ServerOptions options) {
 		super(options.timer());
@@ -277,6 +278,15 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 		           .getListenAddress();
 	}
 
+	/**
+	 * Get the number of connections closed so far because they exceeded one of the
+	 * configured idle, write or request timeouts.
+	 * @return the number of timed out connections
+	 */
+	public long getTimeoutCount() {
+		return server.getTimeoutCount();
+	}
+
 	@Override
 	public boolean isStarted() {
 		return server.isStarted();
@@ -315,6 +325,17 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 		return this;
 	}
 
+	/**
+	 * Admit incoming requests through the given {@link ConcurrencyLimiter}, excess
+	 * requests being queued or answered with a {@code 503}.
+	 * @param concurrencyLimiter the {@link ConcurrencyLimiter} to use, null to admit every request
+	 * @return {@code this}
+	 */
+	public final HttpServer concurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+		this.concurrencyLimiter = concurrencyLimiter;
+		return this;
+	}
+
 	/**
 	 * Register an handler for the given Selector condition, incoming connections will query the internal registry to
 	 * invoke the matching handlers. Implementation may choose to reply 404 if no route matches.
@@ -392,32 +413,40 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 		return server.start(ch -> {
 			NettyHttpChannel request = (NettyHttpChannel) ch;
 
-			try {
-				Publisher<Void> afterHandlers = routeChannel(request);
-
-				if (afterHandlers == null) {
-					if (defaultHandler != null) {
-						return defaultHandler.apply(request);
-					}
-					else if (request.markHeadersAsFlushed()) {
-						//404
-						request.delegate()
-						       .writeAndFlush(new DefaultHttpResponse(HttpVersion.HTTP_1_1,
-								       HttpResponseStatus.NOT_FOUND));
-					}
-					return Flux.empty();
+			if (concurrencyLimiter != null) {
+				return concurrencyLimiter.admit(request, () -> handle(request, defaultHandler));
+			}
+			return handle(request, defaultHandler);
+		});
+	}
+
+	final Publisher<Void> handle(NettyHttpChannel request,
+			ChannelHandler<ByteBuf, ByteBuf, HttpChannel> defaultHandler) {
+		try {
+			Publisher<Void> afterHandlers = routeChannel(request);
 
+			if (afterHandlers == null) {
+				if (defaultHandler != null) {
+					return defaultHandler.apply(request);
 				}
-				else {
-					return afterHandlers;
+				else if (request.markHeadersAsFlushed()) {
+					//404
+					request.delegate()
+					       .writeAndFlush(new DefaultHttpResponse(HttpVersion.HTTP_1_1,
+							       HttpResponseStatus.NOT_FOUND));
 				}
+				return Flux.empty();
+
 			}
-			catch (Throwable t) {
-				Exceptions.throwIfFatal(t);
-				return Mono.error(t);
+			else {
+				return afterHandlers;
 			}
-			//500
-		});
+		}
+		catch (Throwable t) {
+			Exceptions.throwIfFatal(t);
+			return Mono.error(t);
+		}
+		//500
 	}
 
 	protected final void onWebsocket(HttpChannel next, String protocols) {
@@ -466,7 +495,8 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 		return server.shutdown();
 	}
 
-	protected void bindChannel(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler, SocketChannel nativeChannel) {
+	protected void bindChannel(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler,
+			Channel nativeChannel) {
 
 		ChannelPipeline pipeline = nativeChannel.pipeline();
 
@@ -476,8 +506,19 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 
 		pipeline.addLast(new HttpServerCodec());
 
+		ServerOptions options = server.getOptions();
+		if (options.headersTimeout() > 0L || options.bodyTimeout() > 0L) {
+			pipeline.addLast(new NettyHttpTimeoutHandler(options.headersTimeout(),
+					options.bodyTimeout(),
+					server.timeouts()));
+		}
+
+		if (options.websocketCompression()) {
+			pipeline.addLast(NettyWebSocketServerHandler.compressionHandler(options));
+		}
+
 		pipeline.addLast(NettyHttpServerHandler.class.getSimpleName(),
-				new NettyHttpServerHandler(handler, this));
+				new NettyHttpServerHandler(handler, this, options));
 
 	}
 
@@ -485,7 +526,9 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 	public NettyHttpChannel createChannelBridge(Channel ioChannel, Object... parameters) {
 		return new HttpServerChannel(getDefaultPrefetchSize(),
 				ioChannel,
-				parameters.length > 0 ? (HttpRequest) parameters[0] : null);
+				parameters.length > 0 ? (HttpRequest) parameters[0] : null,
+				getDefaultTimer(),
+				server::isDraining);
 	}
 
 	static final Logger log = Logger.getLogger(HttpServer.class);
@@ -498,7 +541,7 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 
 		@Override
 		protected void bindChannel(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler,
-				SocketChannel nativeChannel) {
+				Channel nativeChannel) {
 
 			if (null != getOptions() && null != getOptions().pipelineConfigurer()) {
 				getOptions().pipelineConfigurer()
@@ -507,5 +550,14 @@ public class HttpServer extends Peer<ByteBuf, ByteBuf, HttpChannel>
 
 			HttpServer.this.bindChannel(handler, nativeChannel);
 		}
+
+		@Override
+		protected ServerOptions getOptions() {
+			return super.getOptions();
+		}
+
+		AtomicLong timeouts() {
+			return timeouts;
+		}
 	}
 }
@@ -18,12 +18,16 @@ package reactor.io.netty.http;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.cookie.Cookie;
 import org.reactivestreams.Subscriber;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.TimedScheduler;
 import reactor.io.netty.common.MonoChannelFuture;
 
 /**
@@ -31,11 +35,33 @@ import reactor.io.netty.common.MonoChannelFuture;
  */
 final class HttpServerChannel extends NettyHttpChannel {
 
-	private final Cookies cookies;
+	private final Cookies         cookies;
+	private final TimedScheduler  timer;
+	private final BooleanSupplier draining;
 
-	HttpServerChannel(long prefetch, io.netty.channel.Channel ioChannel, HttpRequest msg) {
+	HttpServerChannel(long prefetch,
+			io.netty.channel.Channel ioChannel,
+			HttpRequest msg,
+			TimedScheduler timer,
+			BooleanSupplier draining) {
 		super(prefetch, ioChannel, msg);
 		this.cookies = Cookies.newServerRequestHolder(headers());
+		this.timer = timer;
+		this.draining = draining;
+	}
+
+	@Override
+	protected TimedScheduler timer() {
+		return timer != null ? timer : super.timer();
+	}
+
+	@Override
+	void beforeHeadersFlush() {
+		if (draining != null && draining.getAsBoolean() && getNettyResponse() != null) {
+			// let the client know this connection will not be reused
+			getNettyResponse().headers()
+			                  .set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+		}
 	}
 
 	@Override
@@ -21,6 +21,9 @@ import io.netty.util.ReferenceCounted;
 import reactor.core.publisher.Flux;
 import reactor.io.netty.common.ByteBufEncodedFlux;
 import reactor.io.netty.common.NettyInbound;
+import reactor.io.netty.http.multipart.MultipartPart;
+import reactor.io.netty.http.multipart.MultipartStore;
+import reactor.io.netty.http.multipart.StoredPart;
 
 /**
  * An Http Reactive Multipart read contract for incoming traffic.
@@ -35,7 +38,31 @@ public interface MultipartInbound extends NettyInbound {
 	 *
 	 * @return a {@link ByteBuf} partitioned inbound {@link Flux}
 	 */
-	Flux<ByteBufEncodedFlux> receiveParts();
+	default Flux<ByteBufEncodedFlux> receiveParts() {
+		return receivePartsWithHeaders().map(MultipartPart::content);
+	}
+
+	/**
+	 * a {@link MultipartPart} inbound {@link Flux} exposing each part headers along with
+	 * its content. Each part content must be consumed or cancelled before the next part
+	 * is emitted.
+	 *
+	 * @return a {@link MultipartPart} inbound {@link Flux}
+	 */
+	Flux<MultipartPart> receivePartsWithHeaders();
+
+	/**
+	 * a {@link StoredPart} inbound {@link Flux} emitting each part once fully received
+	 * in memory or, above the store limits, in a temporary file.
+	 *
+	 * @param store the {@link MultipartStore} holding the parts, usually shared by all
+	 * the requests of a server
+	 *
+	 * @return a {@link StoredPart} inbound {@link Flux}
+	 */
+	default Flux<StoredPart> receiveStoredParts(MultipartStore store) {
+		return store.receive(this);
+	}
 
 	@Override
 	default ByteBufEncodedFlux receive() {
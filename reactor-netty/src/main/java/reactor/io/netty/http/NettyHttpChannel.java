@@ -18,6 +18,7 @@ package reactor.io.netty.http;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -44,7 +45,10 @@ import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.cookie.Cookie;
 import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.util.AsciiString;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -54,8 +58,13 @@ import reactor.core.flow.Producer;
 import reactor.core.flow.Receiver;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.TimedScheduler;
 import reactor.core.util.EmptySubscription;
 import reactor.io.netty.common.MonoChannelFuture;
+import reactor.io.netty.http.sse.ServerSentEvent;
+import reactor.io.netty.http.sse.ServerSentEventCodec;
+import reactor.io.netty.http.sse.ServerSentEventReplay;
 import reactor.io.netty.tcp.TcpChannel;
 
 /**
@@ -321,7 +330,7 @@ abstract class NettyHttpChannel extends TcpChannel
 	 */
 	@Override
 	public HttpChannel sse() {
-		header(HttpHeaderNames.CONTENT_TYPE, EVENT_STREAM);
+		responseHeader(HttpHeaderNames.CONTENT_TYPE, EVENT_STREAM);
 		return this;
 	}
 
@@ -383,6 +392,36 @@ abstract class NettyHttpChannel extends TcpChannel
 		return new MonoOutboundWrite(dataStream);
 	}
 
+	@Override
+	public Mono<Void> sendWebsocketMessage(Publisher<? extends ByteBuf> fragments,
+			boolean text) {
+		if (!isWebsocket()) {
+			return Mono.error(new IllegalStateException("Not a websocket connection"));
+		}
+		return new MonoOutboundWrite(Flux.defer(() -> {
+			FragmentEncoder encoder = new FragmentEncoder(text);
+			return Flux.from(fragments)
+			           .buffer(2, 1)
+			           .map(encoder)
+			           .switchIfEmpty(Mono.fromSupplier(encoder::emptyMessage));
+		})
+		                                 .useCapacity(1L));
+	}
+
+	/**
+	 * Validate the heartbeat period and delegate the encoding to {@link ServerSentEventCodec}
+	 * @return Stream to signal error or successful write to the client
+	 */
+	@Override
+	public Mono<Void> sendEvents(Publisher<? extends ServerSentEvent> events,
+			long heartbeatMillis,
+			ServerSentEventReplay replay) {
+		if (heartbeatMillis < 0L) {
+			return Mono.error(new IllegalArgumentException("heartbeatMillis must be positive or 0"));
+		}
+		return ServerSentEventCodec.send(this, events, timer(), heartbeatMillis, replay);
+	}
+
 	/**
 	 * Flush the headers if not sent. Might be useful for the case
 	 * @return Stream to signal error or successful write to the client
@@ -401,8 +440,25 @@ abstract class NettyHttpChannel extends TcpChannel
 
 	protected abstract void doSubscribeHeaders(Subscriber<? super Void> s);
 
+	/**
+	 * @return the timer used to schedule heartbeats on this channel
+	 */
+	protected TimedScheduler timer() {
+		return Schedulers.timer();
+	}
+
 	final boolean markHeadersAsFlushed() {
-		return HEADERS_SENT.compareAndSet(this, 0, 1);
+		if (HEADERS_SENT.compareAndSet(this, 0, 1)) {
+			beforeHeadersFlush();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Invoked once, right before the headers are written
+	 */
+	void beforeHeadersFlush() {
 	}
 
 	HttpRequest getNettyRequest() {
@@ -422,6 +478,37 @@ abstract class NettyHttpChannel extends TcpChannel
 	static final           FullHttpResponse                            CONTINUE     =
 			new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE, Unpooled.EMPTY_BUFFER);
 
+	/**
+	 * Map each window of a fragment followed by the next one to a frame, the first one
+	 * carrying the message type and the last one, alone in its window, being final.
+	 */
+	static final class FragmentEncoder implements Function<List<ByteBuf>, WebSocketFrame> {
+
+		final boolean text;
+
+		boolean first = true;
+
+		FragmentEncoder(boolean text) {
+			this.text = text;
+		}
+
+		@Override
+		public WebSocketFrame apply(List<ByteBuf> window) {
+			ByteBuf fragment = window.get(0);
+			boolean last = window.size() == 1;
+			if (first) {
+				first = false;
+				return text ? new TextWebSocketFrame(last, 0, fragment) :
+						new BinaryWebSocketFrame(last, 0, fragment);
+			}
+			return new ContinuationWebSocketFrame(last, 0, fragment);
+		}
+
+		WebSocketFrame emptyMessage() {
+			return text ? new TextWebSocketFrame() : new BinaryWebSocketFrame();
+		}
+	}
+
 	final class MonoOutboundWrite extends Mono<Void> implements Receiver, Loopback {
 
 		final Publisher<?> source;
@@ -37,19 +37,24 @@ import reactor.io.ipc.ChannelHandler;
 import reactor.io.netty.common.ChannelBridge;
 import reactor.io.netty.common.NettyChannel;
 import reactor.io.netty.common.NettyChannelHandler;
+import reactor.io.netty.config.NettyOptions;
 
 /**
  * @author Stephane Maldini
  */
 class NettyHttpClientHandler extends NettyChannelHandler<HttpClientChannel> {
 
+	final NettyOptions<?> options;
+
 	HttpClientChannel                      httpChannel;
 	DirectProcessor<Void>                  connectSignal;
 	Subscriber<? super HttpClientResponse> replySubscriber;
 
 	public NettyHttpClientHandler(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler,
-			ChannelBridge<HttpClientChannel> channelBridge) {
+			ChannelBridge<HttpClientChannel> channelBridge,
+			NettyOptions<?> options) {
 		super(handler, channelBridge);
+		this.options = options;
 	}
 
 	@Override
@@ -187,10 +192,11 @@ class NettyHttpClientHandler extends NettyChannelHandler<HttpClientChannel> {
 	protected void postRead(ChannelHandlerContext ctx, Object msg){
 		if (msg instanceof LastHttpContent) {
 			ctx.channel().close();
-			if (this.channelSubscriber != null) {
+			ChannelInputSubscriber channelSubscriber = this.channelSubscriber;
+			if (channelSubscriber != null) {
 				channelSubscriber.onComplete();
 				if(channelSubscriber.downstream() != null) {
-					channelSubscriber = null;
+					this.channelSubscriber = null;
 				}
 			}
 		}
@@ -38,6 +38,7 @@ import reactor.io.ipc.ChannelHandler;
 import reactor.io.netty.common.ChannelBridge;
 import reactor.io.netty.common.NettyChannel;
 import reactor.io.netty.common.NettyChannelHandler;
+import reactor.io.netty.config.NettyOptions;
 
 /**
  * Conversion between Netty types  and Reactor types ({@link NettyHttpChannel}.
@@ -46,12 +47,16 @@ import reactor.io.netty.common.NettyChannelHandler;
  */
 class NettyHttpServerHandler extends NettyChannelHandler<NettyHttpChannel> {
 
+	final NettyOptions<?> options;
+
 	     NettyHttpChannel request;
 
 	NettyHttpServerHandler(
 			ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler,
-			ChannelBridge<NettyHttpChannel> channelBridge) {
+			ChannelBridge<NettyHttpChannel> channelBridge,
+			NettyOptions<?> options) {
 		super(handler, channelBridge);
+		this.options = options;
 	}
 
 	@Override
@@ -68,7 +73,7 @@ class NettyHttpServerHandler extends NettyChannelHandler<NettyHttpChannel> {
 
 
 			if (request.isWebsocket()) {
-				HttpObjectAggregator agg = new HttpObjectAggregator(65536);
+				HttpObjectAggregator agg = new HttpObjectAggregator(options.websocketMaxAggregateSize());
 				ctx.pipeline().addBefore(NettyHttpServerHandler.class.getSimpleName(),
 						HttpObjectAggregator.class.getSimpleName(),
 						agg);
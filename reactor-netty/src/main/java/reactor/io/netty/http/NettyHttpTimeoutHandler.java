@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.netty.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.concurrent.ScheduledFuture;
+import reactor.core.util.Logger;
+
+/**
+ * Bound the time a client can take to send the request headers, from the connection
+ * open, and the time it can stay silent while sending the request body, from the
+ * headers or the last body chunk. A late request line is answered with a {@code 408
+ * Request Timeout}, a stalled body closes the connection. The body timer does not run
+ * while reads are suspended, the client cannot send more then. Timeouts are scheduled
+ * on the channel event loop.
+ *
+ * @author Stephane Maldini
+ */
+final class NettyHttpTimeoutHandler extends ChannelInboundHandlerAdapter {
+
+	final long       headersTimeout;
+	final long       bodyTimeout;
+	final AtomicLong timeouts;
+
+	// only accessed from the channel event loop
+	ChannelHandlerContext ctx;
+	ScheduledFuture<?>    headersTask;
+	ScheduledFuture<?>    bodyTask;
+	long                  lastBodyReadNanos;
+	boolean               started;
+
+	NettyHttpTimeoutHandler(long headersTimeout, long bodyTimeout, AtomicLong timeouts) {
+		this.headersTimeout = headersTimeout;
+		this.bodyTimeout = bodyTimeout;
+		this.timeouts = timeouts;
+	}
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+		this.ctx = ctx;
+		if (ctx.channel()
+		       .isActive()) {
+			start();
+		}
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		cancel();
+	}
+
+	@Override
+	public void channelActive(ChannelHandlerContext ctx) throws Exception {
+		start();
+		ctx.fireChannelActive();
+	}
+
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+		cancel();
+		ctx.fireChannelInactive();
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+		if (msg instanceof HttpRequest) {
+			if (headersTask != null) {
+				headersTask.cancel(false);
+				headersTask = null;
+			}
+			if (bodyTimeout > 0L && bodyTask == null && !(msg instanceof LastHttpContent)) {
+				lastBodyReadNanos = System.nanoTime();
+				scheduleBodyTask(bodyTimeout);
+			}
+		}
+		else if (msg instanceof LastHttpContent && bodyTask != null) {
+			bodyTask.cancel(false);
+			bodyTask = null;
+		}
+		else if (msg instanceof HttpContent) {
+			lastBodyReadNanos = System.nanoTime();
+		}
+		ctx.fireChannelRead(msg);
+	}
+
+	void start() {
+		if (!started) {
+			started = true;
+			if (headersTimeout > 0L) {
+				headersTask = ctx.executor()
+				                 .schedule(this::headersExpired,
+						                 headersTimeout,
+						                 TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	void cancel() {
+		if (headersTask != null) {
+			headersTask.cancel(false);
+			headersTask = null;
+		}
+		if (bodyTask != null) {
+			bodyTask.cancel(false);
+			bodyTask = null;
+		}
+	}
+
+	void headersExpired() {
+		headersTask = null;
+		if (!ctx.channel()
+		        .isOpen()) {
+			return;
+		}
+		timeouts.incrementAndGet();
+		if (log.isDebugEnabled()) {
+			log.debug("Closing {} after request headers timeout", ctx.channel());
+		}
+		FullHttpResponse response =
+				new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.REQUEST_TIMEOUT);
+		response.headers()
+		        .set(HttpHeaderNames.CONTENT_LENGTH, 0)
+		        .set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+		ctx.writeAndFlush(response)
+		   .addListener(ChannelFutureListener.CLOSE);
+	}
+
+	void scheduleBodyTask(long delay) {
+		bodyTask = ctx.executor()
+		              .schedule(this::bodyExpired, delay, TimeUnit.MILLISECONDS);
+	}
+
+	void bodyExpired() {
+		bodyTask = null;
+		if (!ctx.channel()
+		        .isOpen()) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (!ctx.channel()
+		        .config()
+		        .isAutoRead()) {
+			// the body is not read while reads are suspended, restart the timer
+			lastBodyReadNanos = now;
+		}
+		long idle = TimeUnit.NANOSECONDS.toMillis(now - lastBodyReadNanos);
+		if (idle < bodyTimeout) {
+			scheduleBodyTask(bodyTimeout - idle);
+			return;
+		}
+		timeouts.incrementAndGet();
+		if (log.isDebugEnabled()) {
+			log.debug("Closing {} after request body timeout", ctx.channel());
+		}
+		ctx.close();
+	}
+
+	static final Logger log = Logger.getLogger(NettyHttpTimeoutHandler.class);
+}
@@ -33,8 +33,11 @@ import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateClientExtensionHandshaker;
 import io.netty.util.ReferenceCountUtil;
 import reactor.core.publisher.Flux;
+import reactor.io.netty.config.NettyOptions;
 
 /**
  * @author Stephane Maldini
@@ -52,7 +55,7 @@ final class NettyWebSocketClientHandler extends NettyHttpClientHandler {
 			String protocols,
 			NettyHttpClientHandler originalHandler,
 			boolean plainText) {
-		super(originalHandler.getHandler(), null);
+		super(originalHandler.getHandler(), null, originalHandler.options);
 		this.httpChannel = originalHandler.httpChannel;
 		this.replySubscriber = originalHandler.replySubscriber;
 		this.plainText = plainText;
@@ -61,8 +64,9 @@ final class NettyWebSocketClientHandler extends NettyHttpClientHandler {
 				WebSocketClientHandshakerFactory.newHandshaker(currentURI,
 						WebSocketVersion.V13,
 						protocols,
-						false,
-						httpChannel.headers());
+						options.websocketCompression(),
+						httpChannel.headers(),
+						options.websocketMaxFrameSize());
 
 		handshakerResult = httpChannel.delegate().newPromise();
 		handshaker.handshake(httpChannel.delegate()).addListener(f -> {
@@ -74,6 +78,23 @@ final class NettyWebSocketClientHandler extends NettyHttpClientHandler {
 		});
 	}
 
+	/**
+	 * Create a {@code permessage-deflate} negotiating handler to install before the
+	 * client handler when WebSocket compression is enabled.
+	 *
+	 * @param options the options carrying the compression configuration
+	 *
+	 * @return a new {@link WebSocketClientExtensionHandler}
+	 */
+	static WebSocketClientExtensionHandler compressionHandler(NettyOptions<?> options) {
+		return new WebSocketClientExtensionHandler(new PerMessageDeflateClientExtensionHandshaker(
+				NettyWebSocketServerHandler.COMPRESSION_LEVEL,
+				true,
+				options.websocketWindowBits(),
+				true,
+				!options.websocketContextTakeover()));
+	}
+
 	@Override
 	protected void doOnTerminate(ChannelHandlerContext ctx,
 			ChannelFuture last,
@@ -29,6 +29,9 @@ import io.netty.handler.codec.http.websocketx.PongWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshakerFactory;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
+import reactor.io.netty.config.NettyOptions;
 
 /**
  * Conversion between Netty types  and Reactor types ({@link NettyHttpChannel}
@@ -37,6 +40,8 @@ import io.netty.handler.codec.http.websocketx.WebSocketServerHandshakerFactory;
  */
 final class NettyWebSocketServerHandler extends NettyHttpServerHandler {
 
+	static final int COMPRESSION_LEVEL = 6;
+
 	final WebSocketServerHandshaker handshaker;
 
 	final ChannelFuture handshakerResult;
@@ -48,12 +53,15 @@ final class NettyWebSocketServerHandler extends NettyHttpServerHandler {
 			NettyHttpServerHandler originalHandler,
 			boolean plainText
 	) {
-		super(originalHandler.getHandler(), null);
+		super(originalHandler.getHandler(), null, originalHandler.options);
 		this.request = originalHandler.request;
 		this.plainText = plainText;
 
 		// Handshake
-		WebSocketServerHandshakerFactory wsFactory = new WebSocketServerHandshakerFactory(wsUrl, protocols, true);
+		WebSocketServerHandshakerFactory wsFactory = new WebSocketServerHandshakerFactory(wsUrl,
+				protocols,
+				true,
+				options.websocketMaxFrameSize());
 		handshaker = wsFactory.newHandshaker(request.getNettyRequest());
 		if (handshaker == null) {
 			WebSocketServerHandshakerFactory.sendUnsupportedVersionResponse(request
@@ -69,6 +77,23 @@ final class NettyWebSocketServerHandler extends NettyHttpServerHandler {
 		}
 	}
 
+	/**
+	 * Create a {@code permessage-deflate} negotiating handler to install between the
+	 * HTTP codec and the server handler when WebSocket compression is enabled.
+	 *
+	 * @param options the options carrying the compression configuration
+	 *
+	 * @return a new {@link WebSocketServerExtensionHandler}
+	 */
+	static WebSocketServerExtensionHandler compressionHandler(NettyOptions<?> options) {
+		return new WebSocketServerExtensionHandler(new PerMessageDeflateServerExtensionHandshaker(
+				COMPRESSION_LEVEL,
+				true,
+				options.websocketWindowBits(),
+				true,
+				!options.websocketContextTakeover()));
+	}
+
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object frame) throws Exception {
 		if (CloseWebSocketFrame.class.equals(frame.getClass())) {
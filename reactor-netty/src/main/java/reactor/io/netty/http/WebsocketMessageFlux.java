@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactor.core.publisher.FluxSource;
+import reactor.core.subscriber.SubscriberBarrier;
+
+/**
+ * Aggregate inbound WebSocket fragments into one {@link ByteBuf} per message. Single
+ * frame messages are passed as is, fragmented messages are composed without copy. Each
+ * emitted buffer is released once the downstream {@code onNext} returns.
+ *
+ * @author Stephane Maldini
+ */
+final class WebsocketMessageFlux extends FluxSource<WebSocketFrame, ByteBuf> {
+
+	final ByteBufAllocator alloc;
+	final int              maxMessageSize;
+
+	WebsocketMessageFlux(Publisher<? extends WebSocketFrame> source,
+			ByteBufAllocator alloc,
+			int maxMessageSize) {
+		super(source);
+		this.alloc = alloc;
+		this.maxMessageSize = maxMessageSize;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super ByteBuf> subscriber) {
+		source.subscribe(new AggregateSubscriber(subscriber, alloc, maxMessageSize));
+	}
+
+	static final class AggregateSubscriber extends SubscriberBarrier<WebSocketFrame, ByteBuf> {
+
+		final ByteBufAllocator alloc;
+		final int              maxMessageSize;
+
+		CompositeByteBuf aggregate;
+
+		/**
+		 * Set once a too long message has been signalled, frames still in flight and the
+		 * upstream termination are then dropped, the upstream releasing the frames
+		 */
+		boolean done;
+
+		AggregateSubscriber(Subscriber<? super ByteBuf> subscriber,
+				ByteBufAllocator alloc,
+				int maxMessageSize) {
+			super(subscriber);
+			this.alloc = alloc;
+			this.maxMessageSize = maxMessageSize;
+		}
+
+		@Override
+		protected void doNext(WebSocketFrame frame) {
+			if (done) {
+				return;
+			}
+			ByteBuf content = frame.content();
+			CompositeByteBuf aggregate = this.aggregate;
+
+			if (aggregate == null) {
+				if (frame.isFinalFragment()) {
+					subscriber.onNext(content);
+					return;
+				}
+				aggregate = alloc.compositeBuffer(Integer.MAX_VALUE);
+				this.aggregate = aggregate;
+			}
+
+			if (aggregate.readableBytes() > maxMessageSize - content.readableBytes()) {
+				this.aggregate = null;
+				aggregate.release();
+				done = true;
+				subscription.cancel();
+				subscriber.onError(new TooLongFrameException("WebSocket message larger than " + maxMessageSize + " bytes"));
+				return;
+			}
+
+			aggregate.addComponent(true, content.retain());
+
+			if (frame.isFinalFragment()) {
+				this.aggregate = null;
+				try {
+					subscriber.onNext(aggregate);
+				}
+				finally {
+					aggregate.release();
+				}
+			}
+			else {
+				subscription.request(1L);
+			}
+		}
+
+		@Override
+		protected void doError(Throwable throwable) {
+			if (done) {
+				return;
+			}
+			releaseAggregate();
+			super.doError(throwable);
+		}
+
+		@Override
+		protected void doComplete() {
+			if (done) {
+				return;
+			}
+			releaseAggregate();
+			super.doComplete();
+		}
+
+		@Override
+		protected void doCancel() {
+			releaseAggregate();
+			super.doCancel();
+		}
+
+		void releaseAggregate() {
+			CompositeByteBuf aggregate = this.aggregate;
+			if (aggregate != null) {
+				this.aggregate = null;
+				aggregate.release();
+			}
+		}
+	}
+}
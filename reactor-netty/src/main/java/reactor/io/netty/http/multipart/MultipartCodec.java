@@ -22,6 +22,8 @@ import java.util.regex.Pattern;
 import io.netty.handler.codec.http.HttpHeaders;
 import reactor.core.publisher.Flux;
 import reactor.io.netty.common.ByteBufEncodedFlux;
+import reactor.io.netty.http.HttpChannel;
+import reactor.io.netty.http.HttpClientResponse;
 import reactor.io.netty.http.HttpInbound;
 
 /**
@@ -38,7 +40,20 @@ public final class MultipartCodec {
 	 * @return
 	 */
 	public static Flux<ByteBufEncodedFlux> decode(HttpInbound inbound) {
-		String boundary = extractBoundary(inbound.responseHeaders());
+		return decodeParts(inbound).map(MultipartPart::content);
+	}
+
+	/**
+	 * Decode the inbound multipart body into parts with their parsed headers
+	 *
+	 * @param inbound the multipart inbound
+	 * @return the decoded parts, each content must be consumed or cancelled before the
+	 * next part is emitted
+	 */
+	public static Flux<MultipartPart> decodeParts(HttpInbound inbound) {
+		String boundary = extractBoundary(inbound instanceof HttpClientResponse ?
+				inbound.responseHeaders() : inbound instanceof HttpChannel ?
+				((HttpChannel) inbound).headers() : inbound.responseHeaders());
 		return new MultipartDecoder(inbound.receive(), boundary, inbound.delegate().alloc());
 	}
 
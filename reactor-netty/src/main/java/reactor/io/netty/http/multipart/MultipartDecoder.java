@@ -21,12 +21,11 @@ import io.netty.buffer.ByteBufAllocator;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import reactor.core.publisher.FluxSource;
-import reactor.io.netty.common.ByteBufEncodedFlux;
 
 /**
  * @author Ben Hale
  */
-final class MultipartDecoder extends FluxSource<ByteBuf, ByteBufEncodedFlux> {
+final class MultipartDecoder extends FluxSource<ByteBuf, MultipartPart> {
 
 	final String boundary;
 	final ByteBufAllocator alloc;
@@ -38,8 +37,9 @@ final class MultipartDecoder extends FluxSource<ByteBuf, ByteBufEncodedFlux> {
 	}
 
 	@Override
-	public void subscribe(Subscriber<? super ByteBufEncodedFlux> subscriber) {
+	public void subscribe(Subscriber<? super MultipartPart> subscriber) {
 		this.source.subscribe(new MultipartTokenizer(this.boundary,
+				alloc,
 				new MultipartParser(subscriber, alloc)));
 	}
 }
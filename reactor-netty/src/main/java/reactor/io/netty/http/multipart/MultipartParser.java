@@ -19,6 +19,7 @@ package reactor.io.netty.http.multipart;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
@@ -36,6 +37,10 @@ import reactor.core.util.Exceptions;
 import reactor.io.netty.common.ByteBufEncodedFlux;
 
 /**
+ * Group tokens into {@link MultipartPart}. Tokens are pulled one at a time, driven by
+ * the demand for parts and by the demand for the content of the current part; at most
+ * one part and one body token are read ahead.
+ *
  * @author Ben Hale
  * @author Stephane Maldini
  */
@@ -44,8 +49,8 @@ final class MultipartParser
 		implements Subscriber<MultipartTokenizer.Token>, Subscription, Runnable, Producer,
 		           MultiProducer, Receiver, Completable {
 
-	final Subscriber<? super ByteBufEncodedFlux> actual;
-	final ByteBufAllocator                       alloc;
+	final Subscriber<? super MultipartPart> actual;
+	final ByteBufAllocator                  alloc;
 
 	volatile int wip;
 	@SuppressWarnings("rawtypes")
@@ -57,13 +62,34 @@ final class MultipartParser
 	static final AtomicIntegerFieldUpdater<MultipartParser> ONCE =
 			AtomicIntegerFieldUpdater.newUpdater(MultipartParser.class, "once");
 
+	volatile int pulling;
+	static final AtomicIntegerFieldUpdater<MultipartParser> PULLING =
+			AtomicIntegerFieldUpdater.newUpdater(MultipartParser.class, "pulling");
+
+	volatile long partRequested;
+	static final AtomicLongFieldUpdater<MultipartParser> PART_REQUESTED =
+			AtomicLongFieldUpdater.newUpdater(MultipartParser.class, "partRequested");
+
+	/**
+	 * Demand for the content of the current part, allowed to go one below zero to
+	 * look ahead for the next delimiter
+	 */
+	volatile long bodyCredit;
+	static final AtomicLongFieldUpdater<MultipartParser> BODY_CREDIT =
+			AtomicLongFieldUpdater.newUpdater(MultipartParser.class, "bodyCredit");
+
+	volatile boolean tokenRequested;
+	volatile boolean windowCancelled;
+
+	volatile MultipartPart pending;
+
 	Subscription s;
 
-	UnicastProcessor<ByteBuf> window;
+	volatile UnicastProcessor<ByteBuf> window;
 
-	boolean done;
+	volatile boolean done;
 
-	MultipartParser(Subscriber<? super ByteBufEncodedFlux> actual, ByteBufAllocator alloc) {
+	MultipartParser(Subscriber<? super MultipartPart> actual, ByteBufAllocator alloc) {
 		this.actual = actual;
 		this.wip = 1;
 		this.alloc = alloc;
@@ -83,38 +109,57 @@ final class MultipartParser
 			Exceptions.onNextDropped(token);
 			return;
 		}
+		tokenRequested = false;
 
 		UnicastProcessor<ByteBuf> w = window;
 
 		switch (token.getKind()) {
 			case BODY:
-				if (window != null) {
-					window.onNext(token.getByteBuf().retain());
+				if (w == null) {
+					token.getByteBuf()
+					     .release();
+					s.cancel();
+					onError(new IllegalStateException("Body received before delimiter"));
 					return;
 				}
-				s.cancel();
-				actual.onError(new IllegalStateException("Body received before " +
-						"delimiter"));
+				if (windowCancelled) {
+					token.getByteBuf()
+					     .release();
+				}
+				else {
+					if (bodyCredit != Long.MAX_VALUE) {
+						BODY_CREDIT.decrementAndGet(this);
+					}
+					w.onNext(token.getByteBuf());
+				}
 				break;
 			case CLOSE_DELIMITER:
 				onComplete();
-				break;
+				return;
 			case DELIMITER:
-				if (window != null) {
+				if (w != null) {
 					window = null;
 					w.onComplete();
 				}
 
 				WIP.getAndIncrement(this);
 
-				w = UnicastProcessor.create(QueueSupplier.<ByteBuf>unbounded().get(), this);
+				UnicastProcessor<ByteBuf> next =
+						UnicastProcessor.create(QueueSupplier.<ByteBuf>unbounded().get(), this);
 
-				window = w;
+				bodyCredit = 0L;
+				windowCancelled = false;
+				window = next;
 
-				actual.onNext(ByteBufEncodedFlux.encoded(
-						w.flatMap(b -> Flux.using(() -> b, Flux::just,
-								ByteBuf::release)), alloc));
+				pending = new MultipartPart(token.getHeaders(),
+						ByteBufEncodedFlux.encoded(next.flatMap(b -> Flux.using(() -> b,
+								Flux::just,
+								ByteBuf::release))
+						                               .doOnRequest(n -> requestBody(next, n))
+						                               .doOnCancel(() -> cancelBody(next)),
+								alloc));
 		}
+		pull();
 	}
 
 	@Override
@@ -123,6 +168,8 @@ final class MultipartParser
 			Exceptions.onErrorDropped(t);
 			return;
 		}
+		done = true;
+
 		UnicastProcessor<ByteBuf> w = window;
 		if (w != null) {
 			window = null;
@@ -137,6 +184,7 @@ final class MultipartParser
 		if (done) {
 			return;
 		}
+		done = true;
 
 		UnicastProcessor<ByteBuf> w = window;
 		if (w != null) {
@@ -144,12 +192,21 @@ final class MultipartParser
 			w.onComplete();
 		}
 
+		MultipartPart p = pending;
+		if (p != null && partRequested != 0L) {
+			pending = null;
+			actual.onNext(p);
+		}
+
 		actual.onComplete();
 	}
 
 	@Override
 	public void request(long n) {
-		s.request(n);
+		if (BackpressureUtils.validate(n)) {
+			BackpressureUtils.getAndAddCap(PART_REQUESTED, this, n);
+			pull();
+		}
 	}
 
 	@Override
@@ -166,6 +223,67 @@ final class MultipartParser
 		}
 	}
 
+	void requestBody(UnicastProcessor<ByteBuf> w, long n) {
+		if (window == w) {
+			BackpressureUtils.getAndAddCap(BODY_CREDIT, this, n);
+			pull();
+		}
+	}
+
+	void cancelBody(UnicastProcessor<ByteBuf> w) {
+		if (window == w) {
+			windowCancelled = true;
+			bodyCredit = Long.MAX_VALUE;
+			pull();
+		}
+	}
+
+	/**
+	 * Emit the pending part if requested and request the next token if the current part
+	 * content or the part stream has demand.
+	 */
+	void pull() {
+		if (PULLING.getAndIncrement(this) != 0) {
+			return;
+		}
+
+		int missed = 1;
+
+		for (; ; ) {
+			if (done) {
+				return;
+			}
+
+			MultipartPart p = pending;
+			if (p != null && partRequested != 0L) {
+				pending = null;
+				if (partRequested != Long.MAX_VALUE) {
+					PART_REQUESTED.decrementAndGet(this);
+				}
+				actual.onNext(p);
+			}
+
+			if (!tokenRequested && pending == null) {
+				boolean pull;
+				if (window != null) {
+					pull = bodyCredit >= 0L;
+				}
+				else {
+					pull = once == 0 && partRequested != 0L;
+				}
+				if (pull) {
+					tokenRequested = true;
+					s.request(1);
+				}
+			}
+
+			missed = PULLING.addAndGet(this, -missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+
 	@Override
 	public Object downstream() {
 		return actual;
@@ -196,4 +314,4 @@ final class MultipartParser
 	public long downstreamCount() {
 		return window != null ? 1L : 0L;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.multipart;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import reactor.io.netty.common.ByteBufEncodedFlux;
+
+/**
+ * A multipart body part: its parsed headers and its streamed content.
+ *
+ * @author Stephane Maldini
+ * @since 2.5
+ */
+public final class MultipartPart {
+
+	final HttpHeaders        headers;
+	final ByteBufEncodedFlux content;
+
+	String name;
+	String filename;
+	boolean dispositionParsed;
+
+	MultipartPart(HttpHeaders headers, ByteBufEncodedFlux content) {
+		this.headers = headers;
+		this.content = content;
+	}
+
+	/**
+	 * @return the part content, can only be subscribed once
+	 */
+	public ByteBufEncodedFlux content() {
+		return content;
+	}
+
+	/**
+	 * @return the part {@code Content-Type} or null if not specified
+	 */
+	public String contentType() {
+		return headers.get(HttpHeaderNames.CONTENT_TYPE);
+	}
+
+	/**
+	 * @return the {@code filename} parameter of the part {@code Content-Disposition} or
+	 * null if not specified
+	 */
+	public String filename() {
+		parseDisposition();
+		return filename;
+	}
+
+	/**
+	 * @return the part headers
+	 */
+	public HttpHeaders headers() {
+		return headers;
+	}
+
+	/**
+	 * @return the {@code name} parameter of the part {@code Content-Disposition} or null
+	 * if not specified
+	 */
+	public String name() {
+		parseDisposition();
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return "MultipartPart{" +
+				"name='" + name() + '\'' +
+				", filename='" + filename() + '\'' +
+				", contentType='" + contentType() + '\'' +
+				'}';
+	}
+
+	void parseDisposition() {
+		if (dispositionParsed) {
+			return;
+		}
+		dispositionParsed = true;
+		String disposition = headers.get(HttpHeaderNames.CONTENT_DISPOSITION);
+		if (disposition == null) {
+			return;
+		}
+		int start = disposition.indexOf(';');
+		while (start != -1) {
+			int end = nextParameter(disposition, start + 1);
+			int eq = disposition.indexOf('=', start + 1);
+			if (eq != -1 && eq < end) {
+				String key = disposition.substring(start + 1, eq)
+				                        .trim();
+				String value = unquote(disposition.substring(eq + 1, end)
+				                                  .trim());
+				if (key.equalsIgnoreCase("name")) {
+					name = value;
+				}
+				else if (key.equalsIgnoreCase("filename")) {
+					filename = value;
+				}
+			}
+			start = end < disposition.length() ? end : -1;
+		}
+	}
+
+	static int nextParameter(String value, int from) {
+		boolean quoted = false;
+		for (int i = from; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				quoted = !quoted;
+			}
+			else if (c == ';' && !quoted) {
+				return i;
+			}
+		}
+		return value.length();
+	}
+
+	static String unquote(String value) {
+		if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+			return value.substring(1, value.length() - 1);
+		}
+		return value;
+	}
+}
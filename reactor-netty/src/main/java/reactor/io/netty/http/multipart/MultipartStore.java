@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.multipart;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.EventLoop;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.core.util.Logger;
+import reactor.io.netty.http.MultipartInbound;
+
+/**
+ * Store received multipart parts in memory or, above a size threshold, in temporary
+ * files. A single store is meant to be shared by all the requests of a server in order
+ * to cap the memory retained by multipart parts across requests: a part is spilled to
+ * disk as soon as keeping it in memory would exceed either the per-request or the
+ * per-store memory limit.
+ * <p>
+ * Stored parts are released when {@link StoredPart#release()} is invoked or when the
+ * connection they have been received on closes. Parts being stored when the receiving
+ * {@link Flux} is cancelled or fails are released immediately.
+ *
+ * @author Stephane Maldini
+ * @since 2.5
+ */
+public final class MultipartStore {
+
+	/**
+	 * Default maximum size of a part kept in memory
+	 */
+	public static final int DEFAULT_THRESHOLD = 16 * 1024;
+
+	/**
+	 * Default maximum memory retained by the parts of a single request
+	 */
+	public static final long DEFAULT_MAX_REQUEST_MEMORY = 1024 * 1024;
+
+	/**
+	 * Default maximum memory retained by the parts of all requests using a same store
+	 */
+	public static final long DEFAULT_MAX_MEMORY = 64 * 1024 * 1024;
+
+	/**
+	 * Create a new store with default limits writing to the default temporary directory
+	 *
+	 * @return a new {@link MultipartStore}
+	 */
+	public static MultipartStore create() {
+		return new MultipartStore();
+	}
+
+	static final Logger log = Logger.getLogger(MultipartStore.class);
+
+	int  threshold        = DEFAULT_THRESHOLD;
+	long maxRequestMemory = DEFAULT_MAX_REQUEST_MEMORY;
+	long maxMemory        = DEFAULT_MAX_MEMORY;
+	Path directory;
+	Scheduler scheduler = Schedulers.elastic();
+
+	volatile long memory;
+	static final AtomicLongFieldUpdater<MultipartStore> MEMORY =
+			AtomicLongFieldUpdater.newUpdater(MultipartStore.class, "memory");
+
+	MultipartStore() {
+	}
+
+	/**
+	 * Set the directory where parts spilled to disk are written, the default temporary
+	 * directory if null.
+	 *
+	 * @param directory the temporary files directory
+	 *
+	 * @return this store
+	 */
+	public MultipartStore directory(Path directory) {
+		this.directory = directory;
+		return this;
+	}
+
+	/**
+	 * Set the scheduler creating and writing the temporary files, so that disk writes
+	 * don't block the connection event loop. {@link Schedulers#elastic()} by default.
+	 *
+	 * @param scheduler the scheduler writing parts spilled to disk
+	 *
+	 * @return this store
+	 */
+	public MultipartStore scheduler(Scheduler scheduler) {
+		this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+		return this;
+	}
+
+	/**
+	 * @return the memory currently retained by the parts of this store
+	 */
+	public long memory() {
+		return memory;
+	}
+
+	/**
+	 * Set the maximum memory retained by the parts of all requests using this store
+	 *
+	 * @param maxMemory the maximum memory in bytes
+	 *
+	 * @return this store
+	 */
+	public MultipartStore maxMemory(long maxMemory) {
+		if (maxMemory < 0L) {
+			throw new IllegalArgumentException("maxMemory must be positive or 0");
+		}
+		this.maxMemory = maxMemory;
+		return this;
+	}
+
+	/**
+	 * Set the maximum memory retained by the parts of a single request
+	 *
+	 * @param maxRequestMemory the maximum memory in bytes
+	 *
+	 * @return this store
+	 */
+	public MultipartStore maxRequestMemory(long maxRequestMemory) {
+		if (maxRequestMemory < 0L) {
+			throw new IllegalArgumentException("maxRequestMemory must be positive or 0");
+		}
+		this.maxRequestMemory = maxRequestMemory;
+		return this;
+	}
+
+	/**
+	 * Set the maximum size of a part kept in memory, 0 to always write parts to disk
+	 *
+	 * @param threshold the maximum in-memory part size in bytes
+	 *
+	 * @return this store
+	 */
+	public MultipartStore threshold(int threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("threshold must be positive or 0");
+		}
+		this.threshold = threshold;
+		return this;
+	}
+
+	/**
+	 * Receive and store the parts of the given inbound. Each part is emitted once fully
+	 * stored.
+	 *
+	 * @param inbound the multipart inbound to read
+	 *
+	 * @return the stored parts
+	 */
+	public Flux<StoredPart> receive(MultipartInbound inbound) {
+		return Flux.defer(() -> {
+			Request request = new Request(this,
+					inbound.delegate()
+					       .eventLoop());
+			inbound.delegate()
+			       .closeFuture()
+			       .addListener(f -> request.releaseAll());
+
+			return inbound.receivePartsWithHeaders()
+			              .concatMap(part -> Mono.defer(() -> new PartWriter(part, request).store()), 1);
+		});
+	}
+
+	boolean reserve(long n) {
+		for (; ; ) {
+			long m = memory;
+			if (m + n > maxMemory) {
+				return false;
+			}
+			if (MEMORY.compareAndSet(this, m, m + n)) {
+				return true;
+			}
+		}
+	}
+
+	void free(long n) {
+		MEMORY.addAndGet(this, -n);
+	}
+
+	/**
+	 * Memory accounting and stored parts of a single request
+	 */
+	static final class Request {
+
+		final MultipartStore   store;
+		final EventLoop        eventLoop;
+		final List<StoredPart> parts = new ArrayList<>();
+
+		volatile long memory;
+		static final AtomicLongFieldUpdater<Request> MEMORY =
+				AtomicLongFieldUpdater.newUpdater(Request.class, "memory");
+
+		boolean released;
+
+		Request(MultipartStore store, EventLoop eventLoop) {
+			this.store = store;
+			this.eventLoop = eventLoop;
+		}
+
+		boolean reserve(long n) {
+			for (; ; ) {
+				long m = memory;
+				if (m + n > store.maxRequestMemory) {
+					return false;
+				}
+				if (MEMORY.compareAndSet(this, m, m + n)) {
+					break;
+				}
+			}
+			if (store.reserve(n)) {
+				return true;
+			}
+			MEMORY.addAndGet(this, -n);
+			return false;
+		}
+
+		void free(long n) {
+			MEMORY.addAndGet(this, -n);
+			store.free(n);
+		}
+
+		void track(StoredPart part) {
+			boolean release;
+			synchronized (this) {
+				release = released;
+				if (!release) {
+					parts.add(part);
+				}
+			}
+			if (release) {
+				part.release();
+			}
+		}
+
+		void releaseAll() {
+			List<StoredPart> toRelease;
+			synchronized (this) {
+				released = true;
+				toRelease = new ArrayList<>(parts);
+				parts.clear();
+			}
+			for (StoredPart part : toRelease) {
+				part.release();
+			}
+		}
+	}
+
+	/**
+	 * Accumulate a part content in memory until a limit is reached then write it to a
+	 * temporary file. The file is created and written by a worker of the store scheduler
+	 * rather than by the thread receiving the content, the next content buffer being
+	 * requested once the previous one has been written.
+	 */
+	static final class PartWriter implements Subscriber<ByteBuf> {
+
+		final MultipartPart             part;
+		final Request                   request;
+		final MonoProcessor<StoredPart> result = MonoProcessor.create();
+
+		Subscription     s;
+		CompositeByteBuf memory;
+		long             reserved;
+		long             size;
+		Path             file;
+		FileChannel      channel;
+		Scheduler.Worker worker;
+		boolean          terminated;
+
+		/**
+		 * Buffers handed to the worker and not written yet, released if the worker is
+		 * shut down before writing them
+		 */
+		final Queue<ByteBuf> queued = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * Set once a buffer has been handed to the worker, any later buffer and the
+		 * termination then run on the worker in order
+		 */
+		volatile boolean spilling;
+
+		PartWriter(MultipartPart part, Request request) {
+			this.part = part;
+			this.request = request;
+		}
+
+		Mono<StoredPart> store() {
+			part.content()
+			    .subscribe(this);
+			return result.doOnCancel(this::cancel);
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			this.s = s;
+			s.request(1L);
+		}
+
+		@Override
+		public void onNext(ByteBuf buf) {
+			int n = buf.readableBytes();
+			if (!spilling && size + n <= request.store.threshold && request.reserve(n)) {
+				if (memory == null) {
+					memory = buf.alloc()
+					            .compositeBuffer(Integer.MAX_VALUE);
+				}
+				memory.addComponent(true, buf.retain());
+				reserved += n;
+				size += n;
+				s.request(1L);
+				return;
+			}
+			if (worker == null) {
+				worker = request.store.scheduler.createWorker();
+			}
+			spilling = true;
+			queued.offer(buf.retain());
+			if (worker.schedule(this::writeQueued) == Scheduler.REJECTED) {
+				releaseQueued();
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			run(() -> {
+				dispose();
+				result.onError(t);
+			});
+		}
+
+		@Override
+		public void onComplete() {
+			run(this::complete);
+		}
+
+		void run(Runnable task) {
+			if (spilling) {
+				worker.schedule(task);
+			}
+			else {
+				task.run();
+			}
+		}
+
+		void cancel() {
+			s.cancel();
+			// serialized with onNext, which is called by the connection event loop
+			EventLoop eventLoop = request.eventLoop;
+			if (eventLoop.inEventLoop()) {
+				run(this::dispose);
+			}
+			else {
+				eventLoop.execute(() -> run(this::dispose));
+			}
+		}
+
+		void writeQueued() {
+			ByteBuf buf = queued.poll();
+			if (buf != null) {
+				write(buf, buf.readableBytes());
+			}
+		}
+
+		void releaseQueued() {
+			ByteBuf buf;
+			while ((buf = queued.poll()) != null) {
+				buf.release();
+			}
+		}
+
+		void write(ByteBuf buf, int n) {
+			try {
+				if (terminated) {
+					return;
+				}
+				if (channel == null) {
+					spill();
+				}
+				writeFully(buf, buf.readerIndex(), n);
+				size += n;
+			}
+			catch (Exception e) {
+				s.cancel();
+				dispose();
+				result.onError(e);
+				return;
+			}
+			finally {
+				buf.release();
+			}
+			s.request(1L);
+		}
+
+		void spill() throws IOException {
+			Path directory = request.store.directory;
+			file = directory != null ? Files.createTempFile(directory, "multipart-", ".tmp") :
+					Files.createTempFile("multipart-", ".tmp");
+			channel = FileChannel.open(file, StandardOpenOption.WRITE);
+			if (log.isDebugEnabled()) {
+				log.debug("Spilling part {} to {}", part, file);
+			}
+			CompositeByteBuf memory = this.memory;
+			if (memory != null) {
+				this.memory = null;
+				try {
+					writeFully(memory, memory.readerIndex(), memory.readableBytes());
+				}
+				finally {
+					memory.release();
+					request.free(reserved);
+					reserved = 0L;
+				}
+			}
+		}
+
+		void writeFully(ByteBuf buf, int index, int length) throws IOException {
+			int end = index + length;
+			while (index < end) {
+				index += buf.getBytes(index, channel, end - index);
+			}
+		}
+
+		void complete() {
+			if (terminated) {
+				return;
+			}
+			try {
+				if (channel != null) {
+					channel.close();
+				}
+			}
+			catch (IOException e) {
+				dispose();
+				result.onError(e);
+				return;
+			}
+			terminated = true;
+			shutdownWorker();
+			StoredPart stored = new StoredPart(part, memory, reserved, file, size, request);
+			request.track(stored);
+			result.onNext(stored);
+		}
+
+		void dispose() {
+			if (terminated) {
+				return;
+			}
+			terminated = true;
+			shutdownWorker();
+			releaseQueued();
+			if (memory != null) {
+				memory.release();
+				request.free(reserved);
+				memory = null;
+			}
+			if (channel != null) {
+				try {
+					channel.close();
+					Files.deleteIfExists(file);
+				}
+				catch (IOException e) {
+					log.error("Failed to delete multipart temporary file " + file, e);
+				}
+			}
+		}
+
+		void shutdownWorker() {
+			if (worker != null) {
+				worker.shutdown();
+			}
+		}
+	}
+}
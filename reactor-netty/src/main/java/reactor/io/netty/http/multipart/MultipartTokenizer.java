@@ -16,70 +16,108 @@
 
 package reactor.io.netty.http.multipart;
 
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.TooLongFrameException;
 import org.reactivestreams.Subscriber;
+import reactor.core.queue.QueueSupplier;
 import reactor.core.subscriber.SubscriberBarrier;
+import reactor.core.util.BackpressureUtils;
 import reactor.core.util.Exceptions;
 
 /**
+ * Split a multipart body into part headers and body tokens. Delimiters are located with
+ * a Boyer-Moore-Horspool search over the accumulated chunks, body tokens are zero-copy
+ * slices of the received buffers and fully consumed chunks are released as soon as
+ * possible. Tokens are only produced on demand and at most {@link #PREFETCH} chunks are
+ * requested ahead from upstream.
+ *
  * @author Ben Hale
+ * @author Stephane Maldini
  */
 final class MultipartTokenizer
 		extends SubscriberBarrier<ByteBuf, MultipartTokenizer.Token> {
 
-	private static final char[] CRLF = new char[]{'\r', '\n'};
-
-	private static final char[] DOUBLE_DASH = new char[]{'-', '-'};
+	/**
+	 * Maximum number of chunks requested ahead of the parsing
+	 */
+	static final int PREFETCH = 8;
 
-	private final char[] boundary;
+	/**
+	 * Maximum size of a part header block
+	 */
+	static final int MAX_HEADER_SIZE = 8192;
 
-	private int bodyPosition;
+	static final BoundaryMatcher HEADER_END = new BoundaryMatcher("\r\n\r\n");
 
-	private int boundaryPosition;
+	final BoundaryMatcher  delimiter;
+	final BoundaryMatcher  dashBoundary;
+	final ByteBufAllocator alloc;
+	final Queue<ByteBuf>   queue;
+	final int              limit;
 
-	private ByteBuf byteBuf;
+	CompositeByteBuf buffer;
 
-	private volatile boolean canceled = false;
+	Stage stage = Stage.PREAMBLE;
 
-	private int crlfPosition;
+	int consumed;
 
-	private int delimiterPosition;
+	volatile boolean done;
+	Throwable error;
 
-	private boolean done = false;
+	volatile boolean cancelled;
 
-	private int doubleDashPosition;
+	volatile int wip;
+	static final AtomicIntegerFieldUpdater<MultipartTokenizer> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(MultipartTokenizer.class, "wip");
 
-	private int position;
+	volatile long requested;
+	static final AtomicLongFieldUpdater<MultipartTokenizer> REQUESTED =
+			AtomicLongFieldUpdater.newUpdater(MultipartTokenizer.class, "requested");
 
-	private Stage stage;
+	volatile int started;
+	static final AtomicIntegerFieldUpdater<MultipartTokenizer> STARTED =
+			AtomicIntegerFieldUpdater.newUpdater(MultipartTokenizer.class, "started");
 
-	MultipartTokenizer(String boundary, Subscriber<? super Token> subscriber) {
+	MultipartTokenizer(String boundary,
+			ByteBufAllocator alloc,
+			Subscriber<? super Token> subscriber) {
 		super(subscriber);
-		this.boundary = boundary.toCharArray();
-		reset();
+		this.delimiter = new BoundaryMatcher("\r\n--" + boundary);
+		this.dashBoundary = new BoundaryMatcher("--" + boundary);
+		this.alloc = alloc;
+		this.queue = QueueSupplier.<ByteBuf>get(PREFETCH).get();
+		this.limit = PREFETCH - (PREFETCH >> 2);
 	}
 
 	@Override
 	protected void doCancel() {
-		if (this.canceled) {
+		if (this.cancelled) {
 			return;
 		}
 
-		this.canceled = true;
+		this.cancelled = true;
 		this.subscription.cancel();
+
+		if (WIP.getAndIncrement(this) == 0) {
+			cleanup();
+		}
 	}
 
 	@Override
 	protected void doComplete() {
-		if (this.done) {
-			return;
-		}
-
 		this.done = true;
-		this.subscriber.onComplete();
+		drain();
 	}
 
 	@Override
@@ -89,298 +127,394 @@ final class MultipartTokenizer
 			return;
 		}
 
+		this.error = throwable;
 		this.done = true;
-		this.subscriber.onError(throwable);
+		drain();
 	}
 
 	@Override
 	protected void doNext(ByteBuf byteBuf) {
-		if (this.done) {
+		if (this.done || this.cancelled) {
 			Exceptions.onNextDropped(byteBuf);
 			return;
 		}
 
-		this.byteBuf =
-				this.byteBuf != null ? Unpooled.wrappedBuffer(this.byteBuf, byteBuf) :
-						byteBuf;
-
-		while (this.position < this.byteBuf.readableBytes()) {
-			if (this.canceled) {
-				break;
-			}
-
-			char c = getChar();
-
-			switch (this.stage) {
-				case BODY:
-					body(c);
-					break;
-				case BOUNDARY:
-					boundary(c);
-					break;
-				case END_CRLF:
-					endCrLf(c);
-					break;
-				case END_DOUBLE_DASH:
-					endDoubleDash(c);
-					break;
-				case START_CRLF:
-					startCrLf(c);
-					break;
-				case START_DOUBLE_DASH:
-					startDoubleDash(c);
-					break;
-				case TRAILING_CRLF:
-					trailingCrLf(c);
-					break;
-			}
-		}
-
-		if (!this.canceled && Stage.BODY == this.stage) {
-			pushTrailingBodyToken();
-			reset();
+		if (!this.queue.offer(byteBuf.retain())) {
+			byteBuf.release();
+			this.subscription.cancel();
+			doError(new IllegalStateException("Multipart chunk queue is full, more " +
+					"chunks were produced than requested"));
+			return;
 		}
+		drain();
 	}
 
 	@Override
 	protected void doRequest(long n) {
-		if (Integer.MAX_VALUE > n) {  // TODO: Support smaller request sizes
-			onError(new IllegalArgumentException(
-					"This operation only supports unbounded requests, was " + n));
-		}
-		else {
-			super.doRequest(n);
+		if (BackpressureUtils.checkRequest(n, this.subscriber)) {
+			BackpressureUtils.getAndAddCap(REQUESTED, this, n);
+			if (STARTED.compareAndSet(this, 0, 1)) {
+				this.subscription.request(PREFETCH);
+			}
+			drain();
 		}
 	}
 
-	private void body(char c) {
-		if (CRLF[0] == c) {
-			this.delimiterPosition = this.position;
-			this.stage = Stage.START_CRLF;
-			this.crlfPosition = 1;
-			this.position++;
-		}
-		else if (DOUBLE_DASH[0] == c) {
-			this.delimiterPosition = this.position;
-			this.stage = Stage.START_DOUBLE_DASH;
-			this.doubleDashPosition = 1;
-			this.position++;
-		}
-		else {
-			this.position++;
+	void drain() {
+		if (WIP.getAndIncrement(this) != 0) {
+			return;
 		}
-	}
 
-	private void boundary(char c) {
-		if (this.boundaryPosition < this.boundary.length) {
-			if (this.boundary[this.boundaryPosition] == c) {
-				this.boundaryPosition++;
-				this.position++;
-			}
-			else {
-				this.stage = Stage.BODY;
+		int missed = 1;
+
+		for (; ; ) {
+			if (this.cancelled) {
+				cleanup();
+				return;
 			}
-		}
-		else {
-			if (CRLF[0] == c) {
-				this.stage = Stage.END_CRLF;
-				this.crlfPosition = 1;
-				this.position++;
+
+			boolean d = this.done;
+			if (d && this.error != null) {
+				terminate();
+				return;
 			}
-			else if (DOUBLE_DASH[0] == c) {
-				this.stage = Stage.END_DOUBLE_DASH;
-				this.doubleDashPosition = 1;
-				this.position++;
+
+			long r = this.requested;
+			long e = 0L;
+			boolean empty = false;
+
+			while (e != r) {
+				Token token;
+				try {
+					token = nextToken();
+				}
+				catch (Throwable t) {
+					Exceptions.throwIfFatal(t);
+					this.subscription.cancel();
+					this.cancelled = true;
+					cleanup();
+					this.subscriber.onError(t);
+					return;
+				}
+
+				if (token == null) {
+					ByteBuf chunk = this.queue.poll();
+					if (chunk == null) {
+						empty = true;
+						break;
+					}
+					append(chunk);
+					continue;
+				}
+
+				this.subscriber.onNext(token);
+
+				if (this.cancelled) {
+					cleanup();
+					return;
+				}
+				e++;
 			}
-			else {
-				this.stage = Stage.BODY;
+
+			if (e != 0L && r != Long.MAX_VALUE) {
+				REQUESTED.addAndGet(this, -e);
 			}
-		}
-	}
 
-	private void endCrLf(char c) {
-		if (this.crlfPosition < CRLF.length) {
-			if (CRLF[this.crlfPosition] == c) {
-				this.crlfPosition++;
-				this.position++;
+			if (this.stage == Stage.EPILOGUE) {
+				// the epilogue is ignored but still read to release the connection
+				ByteBuf chunk;
+				while ((chunk = this.queue.poll()) != null) {
+					append(chunk);
+				}
+				if (this.buffer != null) {
+					this.buffer.skipBytes(this.buffer.readableBytes());
+				}
+				empty = true;
 			}
-			else {
-				this.stage = Stage.BODY;
+
+			if (this.buffer != null) {
+				this.buffer.discardReadComponents();
 			}
-		}
-		else {
-			if (CRLF[0] == c) {
-				this.stage = Stage.TRAILING_CRLF;
-				this.crlfPosition = 1;
-				this.position++;
+
+			if (d && empty && this.queue.isEmpty()) {
+				terminate();
+				return;
 			}
-			else {
-				pushBodyToken();
-				pushDelimiterToken();
+
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				break;
 			}
 		}
 	}
 
-	private void endDoubleDash(char c) {
-		if (this.doubleDashPosition < DOUBLE_DASH.length) {
-			if (DOUBLE_DASH[this.doubleDashPosition] == c) {
-				this.doubleDashPosition++;
-				this.position++;
-			}
-			else {
-				this.stage = Stage.BODY;
-			}
+	void append(ByteBuf chunk) {
+		if (this.buffer == null) {
+			this.buffer = this.alloc.compositeBuffer(Integer.MAX_VALUE);
 		}
-		else {
-			pushBodyToken();
-			pushCloseDelimiterToken();
+		this.buffer.addComponent(true, chunk);
+		if (++this.consumed == this.limit) {
+			this.consumed = 0;
+			this.subscription.request(this.limit);
 		}
 	}
 
-	private char getChar() {
-		return (char) (this.byteBuf.getByte(this.position) & 0xFF);
-	}
+	Token nextToken() {
+		CompositeByteBuf buffer = this.buffer;
+		if (buffer == null) {
+			return null;
+		}
 
-	private void pushBodyToken() {
-		pushToken(TokenKind.BODY, this.bodyPosition, this.delimiterPosition);
-		this.bodyPosition = this.position;
-	}
+		for (; ; ) {
+			int readable = buffer.readableBytes();
+			int index;
 
-	private void pushCloseDelimiterToken() {
-		pushToken(TokenKind.CLOSE_DELIMITER, this.delimiterPosition, this.position);
-		this.stage = Stage.BODY;
-	}
+			switch (this.stage) {
+				case PREAMBLE:
+					index = this.dashBoundary.indexOf(buffer, buffer.readerIndex());
+					if (index == -1) {
+						buffer.skipBytes(Math.max(0, readable - this.dashBoundary.length() + 1));
+						return null;
+					}
+					buffer.readerIndex(index + this.dashBoundary.length());
+					this.stage = Stage.DELIMITER;
+					break;
 
-	private void pushDelimiterToken() {
-		pushToken(TokenKind.DELIMITER, this.delimiterPosition, this.position);
-		this.stage = Stage.BODY;
-	}
+				case DELIMITER:
+					if (readable < 2) {
+						return null;
+					}
+					if (buffer.getByte(buffer.readerIndex()) == '-' &&
+							buffer.getByte(buffer.readerIndex() + 1) == '-') {
+						buffer.skipBytes(2);
+						this.stage = Stage.EPILOGUE;
+						return new Token(TokenKind.CLOSE_DELIMITER, null, null);
+					}
+					// skip transport padding up to the end of the delimiter line
+					index = buffer.indexOf(buffer.readerIndex(), buffer.writerIndex(), (byte) '\n');
+					if (index == -1) {
+						if (readable > MAX_HEADER_SIZE) {
+							throw new TooLongFrameException("Multipart delimiter line is larger than " + MAX_HEADER_SIZE + " bytes");
+						}
+						return null;
+					}
+					buffer.readerIndex(index + 1);
+					this.stage = Stage.HEADERS;
+					break;
 
-	private void pushToken(TokenKind kind, int start, int end) {
-		if (!this.canceled && (end - start > 0)) {
-			this.subscriber.onNext(new Token(kind, this.byteBuf, start, end - start));
-		}
-	}
+				case HEADERS:
+					if (readable < 2) {
+						return null;
+					}
+					if (buffer.getByte(buffer.readerIndex()) == '\r' &&
+							buffer.getByte(buffer.readerIndex() + 1) == '\n') {
+						buffer.skipBytes(2);
+						this.stage = Stage.BODY;
+						return new Token(TokenKind.DELIMITER, null, new DefaultHttpHeaders(false));
+					}
+					index = HEADER_END.indexOf(buffer, buffer.readerIndex());
+					if (index == -1) {
+						if (readable > MAX_HEADER_SIZE) {
+							throw new TooLongFrameException("Multipart headers are larger than " + MAX_HEADER_SIZE + " bytes");
+						}
+						return null;
+					}
+					HttpHeaders headers = parseHeaders(buffer, buffer.readerIndex(), index);
+					buffer.readerIndex(index + HEADER_END.length());
+					this.stage = Stage.BODY;
+					return new Token(TokenKind.DELIMITER, null, headers);
 
-	private void pushTrailingBodyToken() {
-		pushToken(TokenKind.BODY, this.bodyPosition, this.position);
+				case BODY:
+					index = this.delimiter.indexOf(buffer, buffer.readerIndex());
+					if (index == buffer.readerIndex()) {
+						buffer.skipBytes(this.delimiter.length());
+						this.stage = Stage.DELIMITER;
+						break;
+					}
+					int length = index == -1 ? readable - this.delimiter.length() + 1 :
+							index - buffer.readerIndex();
+					if (length <= 0) {
+						return null;
+					}
+					return new Token(TokenKind.BODY, readBody(buffer, length), null);
+
+				case EPILOGUE:
+					buffer.skipBytes(readable);
+					return null;
+			}
+		}
 	}
 
-	private void reset() {
-		this.bodyPosition = 0;
-		this.byteBuf = null;
-		this.position = 0;
-		this.stage = Stage.BODY;
+	void terminate() {
+		Throwable e = this.error;
+		Stage stage = this.stage;
+		cleanup();
+		if (e != null) {
+			this.subscriber.onError(e);
+		}
+		else if (stage == Stage.EPILOGUE || stage == Stage.PREAMBLE) {
+			this.subscriber.onComplete();
+		}
+		else {
+			this.subscriber.onError(new IllegalStateException("Multipart body ended " +
+					"before its close delimiter"));
+		}
 	}
 
-	private void startCrLf(char c) {
-		if (this.crlfPosition < CRLF.length) {
-			if (CRLF[this.crlfPosition] == c) {
-				this.crlfPosition++;
-				this.position++;
-			}
-			else {
-				this.stage = Stage.BODY;
-			}
+	void cleanup() {
+		ByteBuf chunk;
+		while ((chunk = this.queue.poll()) != null) {
+			chunk.release();
 		}
-		else {
-			if (DOUBLE_DASH[0] == c) {
-				this.stage = Stage.START_DOUBLE_DASH;
-				this.doubleDashPosition = 1;
-				this.position++;
-			}
-			else {
-				this.stage = Stage.BODY;
-			}
+		CompositeByteBuf buffer = this.buffer;
+		if (buffer != null) {
+			this.buffer = null;
+			buffer.release();
 		}
 	}
 
-	private void startDoubleDash(char c) {
-		if (this.doubleDashPosition < DOUBLE_DASH.length) {
-			if (DOUBLE_DASH[this.doubleDashPosition] == c) {
-				this.doubleDashPosition++;
-				this.position++;
-			}
-			else {
-				this.stage = Stage.BODY;
-			}
+	static ByteBuf readBody(CompositeByteBuf buffer, int length) {
+		List<ByteBuf> slices = buffer.decompose(buffer.readerIndex(), length);
+		buffer.skipBytes(length);
+		if (slices.size() == 1) {
+			return slices.get(0)
+			             .retain();
 		}
-		else {
-			if (this.boundary[0] == c) {
-				this.stage = Stage.BOUNDARY;
-				this.boundaryPosition = 1;
-				this.position++;
-			}
-			else {
-				this.stage = Stage.BODY;
-			}
+		ByteBuf[] retained = new ByteBuf[slices.size()];
+		for (int i = 0; i < retained.length; i++) {
+			retained[i] = slices.get(i)
+			                    .retain();
 		}
+		return Unpooled.wrappedBuffer(retained.length, retained);
 	}
 
-	private void trailingCrLf(char c) {
-		if (this.crlfPosition < CRLF.length) {
-			if (CRLF[this.crlfPosition] == c) {
-				this.crlfPosition++;
-				this.position++;
+	static HttpHeaders parseHeaders(ByteBuf buffer, int start, int end) {
+		HttpHeaders headers = new DefaultHttpHeaders(false);
+		String block = buffer.toString(start, end - start, StandardCharsets.UTF_8);
+		String name = null;
+		StringBuilder value = null;
+		for (String line : block.split("\r\n")) {
+			if (line.isEmpty()) {
+				continue;
+			}
+			if (name != null && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+				value.append(' ')
+				     .append(line.trim());
+				continue;
 			}
-			else {
-				this.stage = Stage.BODY;
+			if (name != null) {
+				headers.add(name, value.toString());
 			}
+			int colon = line.indexOf(':');
+			if (colon <= 0) {
+				throw new IllegalArgumentException("Invalid multipart header: " + line);
+			}
+			name = line.substring(0, colon)
+			           .trim();
+			value = new StringBuilder(line.substring(colon + 1)
+			                              .trim());
 		}
-		else {
-			pushBodyToken();
-			pushDelimiterToken();
+		if (name != null) {
+			headers.add(name, value.toString());
 		}
+		return headers;
 	}
 
-	private enum Stage {
+	enum Stage {
+
+		PREAMBLE,
+
+		DELIMITER,
+
+		HEADERS,
 
 		BODY,
 
-		BOUNDARY,
+		EPILOGUE
 
-		END_CRLF,
+	}
 
-		END_DOUBLE_DASH,
+	/**
+	 * A Boyer-Moore-Horspool matcher for a fixed ASCII pattern
+	 */
+	static final class BoundaryMatcher {
 
-		START_CRLF,
+		final byte[] pattern;
+		final int[]  shift;
 
-		START_DOUBLE_DASH,
+		BoundaryMatcher(String pattern) {
+			this.pattern = pattern.getBytes(StandardCharsets.US_ASCII);
+			this.shift = new int[256];
+			int last = this.pattern.length - 1;
+			for (int i = 0; i < this.shift.length; i++) {
+				this.shift[i] = this.pattern.length;
+			}
+			for (int i = 0; i < last; i++) {
+				this.shift[this.pattern[i] & 0xFF] = last - i;
+			}
+		}
 
-		TRAILING_CRLF
+		int length() {
+			return this.pattern.length;
+		}
 
+		/**
+		 * @return the absolute index of the first match at or after {@code from}, or -1
+		 */
+		int indexOf(ByteBuf buffer, int from) {
+			byte[] pattern = this.pattern;
+			int last = pattern.length - 1;
+			int end = buffer.writerIndex() - pattern.length;
+			int i = from;
+			while (i <= end) {
+				int j = last;
+				while (buffer.getByte(i + j) == pattern[j]) {
+					if (j == 0) {
+						return i;
+					}
+					j--;
+				}
+				i += this.shift[buffer.getByte(i + last) & 0xFF];
+			}
+			return -1;
+		}
 	}
 
 	static final class Token {
 
-		private final ByteBuf byteBuf;
+		final ByteBuf byteBuf;
 
-		private final TokenKind kind;
+		final HttpHeaders headers;
 
-		private final int length;
+		final TokenKind kind;
 
-		private final int offset;
-
-		Token(TokenKind kind, ByteBuf byteBuf, int offset, int length) {
+		Token(TokenKind kind, ByteBuf byteBuf, HttpHeaders headers) {
 			this.byteBuf = byteBuf;
+			this.headers = headers;
 			this.kind = kind;
-			this.length = length;
-			this.offset = offset;
 		}
 
 		@Override
 		public String toString() {
-			return String.format("Token: %s, offset=%d, length=%d, '%s'",
+			return String.format("Token: %s, %s",
 					this.kind,
-					this.offset,
-					this.length,
-					expandWhitespace(this.byteBuf.toString(this.offset,
-							this.length,
-							Charset.defaultCharset())));
+					this.byteBuf != null ?
+							expandWhitespace(this.byteBuf.toString(StandardCharsets.UTF_8)) :
+							this.headers);
 		}
 
+		/**
+		 * @return the body content, owned by the caller
+		 */
 		ByteBuf getByteBuf() {
-			return this.byteBuf.slice(this.offset, this.length);
+			return this.byteBuf;
+		}
+
+		/**
+		 * @return the part headers of a {@link TokenKind#DELIMITER}
+		 */
+		HttpHeaders getHeaders() {
+			return this.headers;
 		}
 
 		TokenKind getKind() {
@@ -404,4 +538,4 @@ final class MultipartTokenizer
 		DELIMITER
 
 	}
-}
\ No newline at end of file
+}
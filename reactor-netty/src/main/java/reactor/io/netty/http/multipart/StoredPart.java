@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.multipart;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaders;
+
+/**
+ * A multipart part fully received by a {@link MultipartStore}, either held in memory or
+ * written to a temporary file.
+ *
+ * @author Stephane Maldini
+ * @since 2.5
+ */
+public final class StoredPart {
+
+	final MultipartPart           part;
+	final ByteBuf                 memory;
+	final long                    reserved;
+	final Path                    file;
+	final long                    size;
+	final MultipartStore.Request  request;
+
+	volatile int released;
+	static final AtomicIntegerFieldUpdater<StoredPart> RELEASED =
+			AtomicIntegerFieldUpdater.newUpdater(StoredPart.class, "released");
+
+	StoredPart(MultipartPart part,
+			ByteBuf memory,
+			long reserved,
+			Path file,
+			long size,
+			MultipartStore.Request request) {
+		this.part = part;
+		this.memory = memory;
+		this.reserved = reserved;
+		this.file = file;
+		this.size = size;
+		this.request = request;
+	}
+
+	/**
+	 * @return the in-memory content of this part
+	 *
+	 * @throws IllegalStateException if this part has been written to disk or released
+	 */
+	public ByteBuf content() {
+		if (file != null) {
+			throw new IllegalStateException("Part has been stored to " + file);
+		}
+		if (released == 1) {
+			throw new IllegalStateException("Part has been released");
+		}
+		return memory != null ? memory : Unpooled.EMPTY_BUFFER;
+	}
+
+	/**
+	 * @return the part {@code Content-Type} or null if not specified
+	 */
+	public String contentType() {
+		return part.contentType();
+	}
+
+	/**
+	 * @return the temporary file holding this part content or null if held in memory
+	 */
+	public Path file() {
+		return file;
+	}
+
+	/**
+	 * @return the {@code filename} parameter of the part {@code Content-Disposition} or
+	 * null if not specified
+	 */
+	public String filename() {
+		return part.filename();
+	}
+
+	/**
+	 * @return the part headers
+	 */
+	public HttpHeaders headers() {
+		return part.headers();
+	}
+
+	/**
+	 * @return true if the content is held in memory
+	 */
+	public boolean isInMemory() {
+		return file == null;
+	}
+
+	/**
+	 * @return the {@code name} parameter of the part {@code Content-Disposition} or null
+	 * if not specified
+	 */
+	public String name() {
+		return part.name();
+	}
+
+	/**
+	 * Release the part memory or delete its temporary file. Invoked automatically when
+	 * the connection the part has been received on closes.
+	 */
+	public void release() {
+		if (!RELEASED.compareAndSet(this, 0, 1)) {
+			return;
+		}
+		if (memory != null) {
+			memory.release();
+			request.free(reserved);
+		}
+		if (file != null) {
+			try {
+				Files.deleteIfExists(file);
+			}
+			catch (IOException e) {
+				MultipartStore.log.error("Failed to delete multipart temporary file " + file, e);
+			}
+		}
+	}
+
+	/**
+	 * @return the content size in bytes
+	 */
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return "StoredPart{" +
+				"name='" + name() + '\'' +
+				", filename='" + filename() + '\'' +
+				", size=" + size +
+				(file != null ? ", file=" + file : "") +
+				'}';
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.sse;
+
+/**
+ * A typed Server-Sent Event as described by the
+ * <a href="https://www.w3.org/TR/eventsource/">EventSource</a> specification.
+ * Multi-line data is written as several {@code data:} fields, id and event name must be
+ * single line.
+ *
+ * @author Stephane Maldini
+ * @since 2.5
+ */
+public final class ServerSentEvent {
+
+	/**
+	 * Create an unnamed event without id carrying the passed data
+	 *
+	 * @param data the event data
+	 *
+	 * @return a new {@link ServerSentEvent}
+	 */
+	public static ServerSentEvent of(String data) {
+		return new ServerSentEvent(null, null, data, -1L);
+	}
+
+	/**
+	 * Create an event
+	 *
+	 * @param id the optional event id echoed by reconnecting clients in
+	 * {@code Last-Event-ID}
+	 * @param event the optional event name
+	 * @param data the event data
+	 *
+	 * @return a new {@link ServerSentEvent}
+	 */
+	public static ServerSentEvent of(String id, String event, String data) {
+		return new ServerSentEvent(id, event, data, -1L);
+	}
+
+	/**
+	 * Create an event also advising the client reconnection delay
+	 *
+	 * @param id the optional event id echoed by reconnecting clients in
+	 * {@code Last-Event-ID}
+	 * @param event the optional event name
+	 * @param data the event data
+	 * @param retryMillis the reconnection delay in milliseconds
+	 *
+	 * @return a new {@link ServerSentEvent}
+	 */
+	public static ServerSentEvent of(String id, String event, String data, long retryMillis) {
+		if (retryMillis < 0L) {
+			throw new IllegalArgumentException("'retryMillis' must be positive");
+		}
+		return new ServerSentEvent(id, event, data, retryMillis);
+	}
+
+	final String id;
+	final String event;
+	final String data;
+	final long   retry;
+
+	ServerSentEvent(String id, String event, String data, long retry) {
+		this.id = checkSingleLine(id, "id");
+		this.event = checkSingleLine(event, "event");
+		this.data = data;
+		this.retry = retry;
+	}
+
+	/**
+	 * Reject a line end that would start another field of the event
+	 */
+	static String checkSingleLine(String value, String name) {
+		if (value != null && (value.indexOf('\n') != -1 || value.indexOf('\r') != -1)) {
+			throw new IllegalArgumentException("'" + name + "' must not contain CR or LF");
+		}
+		return value;
+	}
+
+	/**
+	 * @return the event data or null
+	 */
+	public String data() {
+		return data;
+	}
+
+	/**
+	 * @return the event name or null
+	 */
+	public String event() {
+		return event;
+	}
+
+	/**
+	 * @return the event id or null
+	 */
+	public String id() {
+		return id;
+	}
+
+	/**
+	 * @return the reconnection delay in milliseconds or -1 if undefined
+	 */
+	public long retry() {
+		return retry;
+	}
+
+	@Override
+	public String toString() {
+		return "ServerSentEvent{" +
+				"id='" + id + '\'' +
+				", event='" + event + '\'' +
+				", data='" + data + '\'' +
+				", retry=" + retry +
+				'}';
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.sse;
+
+import java.nio.charset.StandardCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.AsciiString;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.TimedScheduler;
+import reactor.io.netty.http.HttpChannel;
+
+/**
+ * Encode {@link ServerSentEvent} into {@code text/event-stream} frames written directly
+ * into the channel allocator buffers.
+ *
+ * @author Stephane Maldini
+ * @since 2.5
+ */
+public final class ServerSentEventCodec {
+
+	/**
+	 * Default interval between two comment heartbeats on an idle event stream
+	 */
+	public static final long DEFAULT_HEARTBEAT_MILLIS = 15000L;
+
+	/**
+	 * Request header carrying the last event id received by a reconnecting client
+	 */
+	public static final AsciiString LAST_EVENT_ID = new AsciiString("Last-Event-ID");
+
+	static final byte[] ID    = "id: ".getBytes(StandardCharsets.US_ASCII);
+	static final byte[] EVENT = "event: ".getBytes(StandardCharsets.US_ASCII);
+	static final byte[] DATA  = "data: ".getBytes(StandardCharsets.US_ASCII);
+	static final byte[] RETRY = "retry: ".getBytes(StandardCharsets.US_ASCII);
+
+	static final ByteBuf HEARTBEAT =
+			Unpooled.unreleasableBuffer(Unpooled.copiedBuffer(":\n\n", StandardCharsets.US_ASCII));
+
+	/**
+	 * Encode an event into a new buffer from the given allocator
+	 *
+	 * @param event the event to encode
+	 * @param alloc the allocator to use
+	 *
+	 * @return the encoded event
+	 */
+	public static ByteBuf encode(ServerSentEvent event, ByteBufAllocator alloc) {
+		ByteBuf buf = alloc.buffer(estimateSize(event));
+		if (event.id != null) {
+			writeField(buf, ID, event.id, 0, event.id.length());
+		}
+		if (event.event != null) {
+			writeField(buf, EVENT, event.event, 0, event.event.length());
+		}
+		if (event.retry >= 0L) {
+			String retry = Long.toString(event.retry);
+			writeField(buf, RETRY, retry, 0, retry.length());
+		}
+		String data = event.data;
+		if (data != null) {
+			// CRLF, CR and LF all end a line for the client
+			int start = 0;
+			for (int i = 0; i < data.length(); i++) {
+				char c = data.charAt(i);
+				if (c == '\r' || c == '\n') {
+					writeField(buf, DATA, data, start, i);
+					if (c == '\r' && i + 1 < data.length() && data.charAt(i + 1) == '\n') {
+						i++;
+					}
+					start = i + 1;
+				}
+			}
+			writeField(buf, DATA, data, start, data.length());
+		}
+		buf.writeByte('\n');
+		return buf;
+	}
+
+	/**
+	 * Send the given events on the passed channel as an event stream, flushing once per
+	 * batch of events emitted in a same event loop iteration and writing a comment
+	 * heartbeat when no event has been written over the given interval. Reconnecting
+	 * clients presenting a {@link #LAST_EVENT_ID} header are resumed from the replay ring
+	 * if any.
+	 *
+	 * @param channel the target channel
+	 * @param events the events to send
+	 * @param timer the timer scheduling heartbeats
+	 * @param heartbeatMillis the heartbeat interval, 0 to disable heartbeats
+	 * @param replay an optional replay ring
+	 *
+	 * @return a {@link Mono} completing when the event stream has been written or the
+	 * client disconnected
+	 */
+	public static Mono<Void> send(HttpChannel channel,
+			Publisher<? extends ServerSentEvent> events,
+			TimedScheduler timer,
+			long heartbeatMillis,
+			ServerSentEventReplay replay) {
+		Publisher<? extends ServerSentEvent> source = events;
+		if (replay != null) {
+			String lastEventId = channel.headers()
+			                            .get(LAST_EVENT_ID);
+			if (lastEventId != null) {
+				source = replay.resume(lastEventId, events);
+			}
+		}
+		Publisher<? extends ServerSentEvent> toWrite = source;
+		return channel.sse()
+		              .sendHeaders()
+		              .then(() -> new ServerSentEventWriter(channel.delegate(),
+				              toWrite,
+				              timer,
+				              heartbeatMillis));
+	}
+
+	static void writeField(ByteBuf buf, byte[] field, String value, int start, int end) {
+		buf.writeBytes(field);
+		if (start == 0 && end == value.length()) {
+			ByteBufUtil.writeUtf8(buf, value);
+		}
+		else if (end > start) {
+			ByteBufUtil.writeUtf8(buf, value.subSequence(start, end));
+		}
+		buf.writeByte('\n');
+	}
+
+	static int estimateSize(ServerSentEvent event) {
+		int size = 1;
+		if (event.id != null) {
+			size += ID.length + event.id.length() + 1;
+		}
+		if (event.event != null) {
+			size += EVENT.length + event.event.length() + 1;
+		}
+		if (event.retry >= 0L) {
+			size += RETRY.length + 20;
+		}
+		if (event.data != null) {
+			size += DATA.length + event.data.length() + 1;
+		}
+		return size;
+	}
+}
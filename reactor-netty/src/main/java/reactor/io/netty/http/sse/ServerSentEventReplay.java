@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.sse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+/**
+ * A bounded ring of the last published {@link ServerSentEvent} shared by the connections
+ * of a same event stream. Clients reconnecting with a {@code Last-Event-ID} still in the
+ * ring are resumed from the next event, others only receive the live events and must
+ * resynchronize by themselves.
+ *
+ * @author Stephane Maldini
+ * @since 2.5
+ */
+public final class ServerSentEventReplay {
+
+	/**
+	 * Create a replay ring retaining the given number of events
+	 *
+	 * @param capacity the maximum number of retained events
+	 *
+	 * @return a new {@link ServerSentEventReplay}
+	 */
+	public static ServerSentEventReplay create(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("'capacity' must be greater than 0");
+		}
+		return new ServerSentEventReplay(capacity);
+	}
+
+	final ServerSentEvent[] ring;
+
+	long produced;
+
+	ServerSentEventReplay(int capacity) {
+		this.ring = new ServerSentEvent[capacity];
+	}
+
+	/**
+	 * Record a published event, evicting the oldest one if the ring is full.
+	 *
+	 * @param event the published event
+	 */
+	public synchronized void add(ServerSentEvent event) {
+		ring[(int) (produced % ring.length)] = event;
+		produced++;
+	}
+
+	/**
+	 * @return the maximum number of retained events
+	 */
+	public int capacity() {
+		return ring.length;
+	}
+
+	/**
+	 * Return the retained events following the one with the given id
+	 *
+	 * @param lastEventId the last event id received by the client
+	 *
+	 * @return the events to replay, or null if the given id is no longer retained
+	 */
+	public synchronized List<ServerSentEvent> since(String lastEventId) {
+		long oldest = Math.max(0L, produced - ring.length);
+		for (long i = produced - 1; i >= oldest; i--) {
+			ServerSentEvent event = ring[(int) (i % ring.length)];
+			if (lastEventId.equals(event.id)) {
+				List<ServerSentEvent> missed = new ArrayList<>((int) (produced - i - 1));
+				for (long j = i + 1; j < produced; j++) {
+					missed.add(ring[(int) (j % ring.length)]);
+				}
+				return missed;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Prepend the events missed since the given id to the live events, skipping live
+	 * events already replayed.
+	 *
+	 * @param lastEventId the last event id received by the client
+	 * @param live the live events
+	 *
+	 * @return the resumed events
+	 */
+	public Flux<ServerSentEvent> resume(String lastEventId,
+			Publisher<? extends ServerSentEvent> live) {
+		List<ServerSentEvent> missed = since(lastEventId);
+		if (missed == null || missed.isEmpty()) {
+			return Flux.from(live);
+		}
+		return Flux.concat(Flux.fromIterable(missed),
+				Flux.<ServerSentEvent>from(live).filter(new SkipReplayed(missed)));
+	}
+
+	/**
+	 * Drop live events delivered after the replay snapshot was taken until a new event
+	 * shows up.
+	 */
+	static final class SkipReplayed implements Predicate<ServerSentEvent> {
+
+		Set<ServerSentEvent> replayed;
+
+		SkipReplayed(List<ServerSentEvent> missed) {
+			this.replayed = Collections.newSetFromMap(new IdentityHashMap<>(missed.size()));
+			this.replayed.addAll(missed);
+		}
+
+		@Override
+		public boolean test(ServerSentEvent event) {
+			Set<ServerSentEvent> replayed = this.replayed;
+			if (replayed == null) {
+				return true;
+			}
+			if (replayed.contains(event)) {
+				return false;
+			}
+			this.replayed = null;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.sse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Cancellation;
+import reactor.core.flow.Loopback;
+import reactor.core.flow.Receiver;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.TimedScheduler;
+import reactor.core.state.Cancellable;
+import reactor.core.subscriber.BaseSubscriber;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.Exceptions;
+
+/**
+ * Write {@link ServerSentEvent} to a channel with coalesced flushes, idle heartbeats and
+ * demand replenished as flushed batches reach the socket.
+ *
+ * @author Stephane Maldini
+ * @since 2.5
+ */
+final class ServerSentEventWriter extends Mono<Void> implements Receiver, Loopback {
+
+	/**
+	 * Maximum number of events in-flight between the source and the socket
+	 */
+	static final int PREFETCH = 32;
+
+	final Channel                              channel;
+	final Publisher<? extends ServerSentEvent> source;
+	final TimedScheduler                       timer;
+	final long                                 heartbeatMillis;
+
+	ServerSentEventWriter(Channel channel,
+			Publisher<? extends ServerSentEvent> source,
+			TimedScheduler timer,
+			long heartbeatMillis) {
+		this.channel = channel;
+		this.source = source;
+		this.timer = timer;
+		this.heartbeatMillis = heartbeatMillis;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super Void> s) {
+		source.subscribe(new WriteSubscriber(s, channel, timer, heartbeatMillis));
+	}
+
+	@Override
+	public Object connectedInput() {
+		return channel;
+	}
+
+	@Override
+	public Object connectedOutput() {
+		return channel;
+	}
+
+	@Override
+	public Object upstream() {
+		return source;
+	}
+
+	static final class WriteSubscriber
+			implements BaseSubscriber<ServerSentEvent>, Subscription, Runnable,
+			           ChannelFutureListener, Receiver, Cancellable {
+
+		final Subscriber<? super Void> actual;
+		final Channel                  channel;
+		final TimedScheduler           timer;
+		final long                     heartbeatMillis;
+
+		Subscription subscription;
+		Cancellation heartbeat;
+
+		volatile ChannelFuture lastWrite;
+		volatile boolean       active;
+
+		volatile int flushScheduled;
+		static final AtomicIntegerFieldUpdater<WriteSubscriber> FLUSH_SCHEDULED =
+				AtomicIntegerFieldUpdater.newUpdater(WriteSubscriber.class, "flushScheduled");
+
+		volatile long unflushed;
+		static final AtomicLongFieldUpdater<WriteSubscriber> UNFLUSHED =
+				AtomicLongFieldUpdater.newUpdater(WriteSubscriber.class, "unflushed");
+
+		volatile int terminated;
+		static final AtomicIntegerFieldUpdater<WriteSubscriber> TERMINATED =
+				AtomicIntegerFieldUpdater.newUpdater(WriteSubscriber.class, "terminated");
+
+		WriteSubscriber(Subscriber<? super Void> actual,
+				Channel channel,
+				TimedScheduler timer,
+				long heartbeatMillis) {
+			this.actual = actual;
+			this.channel = channel;
+			this.timer = timer;
+			this.heartbeatMillis = heartbeatMillis;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(subscription, s)) {
+				subscription = s;
+
+				channel.closeFuture()
+				       .addListener(this);
+
+				if (heartbeatMillis > 0L) {
+					heartbeat = timer.schedulePeriodically(this::heartbeat,
+							heartbeatMillis,
+							heartbeatMillis,
+							TimeUnit.MILLISECONDS);
+				}
+
+				actual.onSubscribe(this);
+				s.request(PREFETCH);
+			}
+		}
+
+		@Override
+		public void onNext(ServerSentEvent event) {
+			BaseSubscriber.super.onNext(event);
+			if (terminated == 1) {
+				Exceptions.onNextDropped(event);
+				return;
+			}
+			lastWrite = channel.write(ServerSentEventCodec.encode(event, channel.alloc()));
+			active = true;
+			UNFLUSHED.incrementAndGet(this);
+			if (FLUSH_SCHEDULED.compareAndSet(this, 0, 1)) {
+				channel.eventLoop()
+				       .execute(this);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			BaseSubscriber.super.onError(t);
+			if (terminate()) {
+				channel.flush();
+				actual.onError(t);
+			}
+			else {
+				Exceptions.onErrorDropped(t);
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			if (terminate()) {
+				ChannelFuture last = lastWrite;
+				channel.flush();
+				if (last == null) {
+					actual.onComplete();
+				}
+				else {
+					last.addListener(f -> {
+						if (f.isSuccess()) {
+							actual.onComplete();
+						}
+						else {
+							actual.onError(f.cause());
+						}
+					});
+				}
+			}
+		}
+
+		/**
+		 * Flush the events written since the last flush and replenish demand once they
+		 * have been written to the socket.
+		 */
+		@Override
+		public void run() {
+			flushScheduled = 0;
+			channel.flush();
+			long n = UNFLUSHED.getAndSet(this, 0L);
+			ChannelFuture last = lastWrite;
+			if (n != 0L && last != null) {
+				last.addListener(f -> {
+					if (f.isSuccess() && terminated == 0) {
+						subscription.request(n);
+					}
+				});
+			}
+		}
+
+		/**
+		 * Client disconnected
+		 */
+		@Override
+		public void operationComplete(ChannelFuture future) throws Exception {
+			if (terminate()) {
+				subscription.cancel();
+				actual.onComplete();
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			// ignore: Void downstream
+		}
+
+		@Override
+		public void cancel() {
+			if (terminate()) {
+				subscription.cancel();
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return terminated == 1;
+		}
+
+		@Override
+		public Object upstream() {
+			return subscription;
+		}
+
+		void heartbeat() {
+			if (active) {
+				active = false;
+			}
+			else if (terminated == 0) {
+				channel.writeAndFlush(ServerSentEventCodec.HEARTBEAT.duplicate());
+			}
+		}
+
+		boolean terminate() {
+			if (TERMINATED.compareAndSet(this, 0, 1)) {
+				Cancellation heartbeat = this.heartbeat;
+				if (heartbeat != null) {
+					heartbeat.dispose();
+				}
+				channel.closeFuture()
+				       .removeListener(this);
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -159,7 +159,9 @@ public class TcpChannel
 
 	@Override
 	public InetSocketAddress remoteAddress() {
-		return (InetSocketAddress) ioChannel.remoteAddress();
+		SocketAddress remote = ioChannel.remoteAddress();
+		// unix domain socket peers have no inet address
+		return remote instanceof InetSocketAddress ? (InetSocketAddress) remote : null;
 	}
 
 	@Override
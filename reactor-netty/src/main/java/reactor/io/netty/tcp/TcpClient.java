@@ -17,6 +17,7 @@
 package reactor.io.netty.tcp;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.net.ssl.SSLException;
@@ -28,9 +29,11 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.JdkSslContext;
 import io.netty.handler.ssl.SslContext;
@@ -49,6 +52,7 @@ import reactor.io.netty.common.MonoChannelFuture;
 import reactor.io.netty.common.NettyChannel;
 import reactor.io.netty.common.NettyChannelHandler;
 import reactor.io.netty.common.NettyHandlerNames;
+import reactor.io.netty.common.NettyTimeoutHandler;
 import reactor.io.netty.common.Peer;
 import reactor.io.netty.config.ClientOptions;
 import reactor.io.netty.config.NettyOptions;
@@ -185,7 +189,10 @@ public class TcpClient extends Peer<ByteBuf, ByteBuf, NettyChannel>
 	final SslContext          sslContext;
 	final NettyNativeDetector channelAdapter;
 
-	final InetSocketAddress connectAddress;
+	final InetSocketAddress   connectAddress;
+	final DomainSocketAddress domainSocketAddress;
+
+	final AtomicLong          timeouts = new AtomicLong();
 
 	protected TcpClient(ClientOptions options) {
 		super(options.timer(), options.prefetch());
@@ -195,6 +202,7 @@ public class TcpClient extends Peer<ByteBuf, ByteBuf, NettyChannel>
 		else{
 			this.connectAddress = options.remoteAddress();
 		}
+		this.domainSocketAddress = options.domainSocketAddress();
 
 		this.options = options.toImmutable();
 
@@ -275,9 +283,30 @@ public class TcpClient extends Peer<ByteBuf, ByteBuf, NettyChannel>
 		return connectAddress;
 	}
 
+	/**
+	 * Get the unix domain socket address to which this client must connect, if any. When
+	 * set it takes precedence over any {@link InetSocketAddress}.
+	 *
+	 * @return the domain socket address or null
+	 */
+	public DomainSocketAddress getDomainSocketAddress() {
+		return domainSocketAddress;
+	}
+
+	/**
+	 * Get the number of connections closed so far because they exceeded the configured
+	 * idle or write timeouts.
+	 *
+	 * @return the number of timed out connections
+	 */
+	public long getTimeoutCount() {
+		return timeouts.get();
+	}
+
 	@Override
 	public String getName() {
-		return "TcpClient:" + getConnectAddress().toString();
+		return "TcpClient:" + (domainSocketAddress != null ? domainSocketAddress :
+				getConnectAddress()).toString();
 	}
 
 	/**
@@ -304,32 +333,63 @@ public class TcpClient extends Peer<ByteBuf, ByteBuf, NettyChannel>
 				null == handler ? (ChannelHandler<ByteBuf, ByteBuf, NettyChannel>) PING : handler;
 
 		Bootstrap _bootstrap = new Bootstrap().group(ioGroup)
-		                                      .channel(channelAdapter.getChannel(
-				                                      ioGroup))
 		                                      .option(ChannelOption.ALLOCATOR,
 				                                      PooledByteBufAllocator.DEFAULT)
-		                                       .option(ChannelOption.SO_RCVBUF,
-				                                      options.rcvbuf())
-		                                      .option(ChannelOption.SO_SNDBUF,
-				                                      options.sndbuf())
 		                                      .option(ChannelOption.AUTO_READ, false)
-		                                      .option(ChannelOption.SO_KEEPALIVE,
-				                                      options.keepAlive())
-		                                      .option(ChannelOption.SO_LINGER,
-				                                      options.linger())
-		                                      .option(ChannelOption.TCP_NODELAY,
-				                                      options.tcpNoDelay())
 		                                      .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
 				                                      options.timeout());
+
+		final SocketAddress target;
+		if (null != domainSocketAddress) {
+			target = domainSocketAddress;
+			_bootstrap.channel(channelAdapter.getDomainChannel(ioGroup));
+		}
+		else {
+			target = address;
+			_bootstrap.channel(channelAdapter.getChannel(ioGroup))
+			          .option(ChannelOption.SO_RCVBUF, options.rcvbuf())
+			          .option(ChannelOption.SO_SNDBUF, options.sndbuf())
+			          .option(ChannelOption.SO_KEEPALIVE, options.keepAlive())
+			          .option(ChannelOption.SO_LINGER, options.linger())
+			          .option(ChannelOption.TCP_NODELAY, options.tcpNoDelay());
+		}
+
+		if (options.hasEpollOptions()) {
+			Class<? extends io.netty.channel.Channel> channelClass = null != domainSocketAddress ?
+					channelAdapter.getDomainChannel(ioGroup) : channelAdapter.getChannel(ioGroup);
+			if (EpollSocketChannel.class.isAssignableFrom(channelClass)) {
+				if (options.tcpQuickAck()) {
+					_bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+				}
+				if (options.tcpCork()) {
+					_bootstrap.option(EpollChannelOption.TCP_CORK, true);
+				}
+				if (options.tcpNotSentLowAt() > 0L) {
+					_bootstrap.option(EpollChannelOption.TCP_NOTSENT_LOWAT, options.tcpNotSentLowAt());
+				}
+				if (options.tcpFastOpen() > 0) {
+					log.warn("TCP_FASTOPEN only applies to listening sockets, ignoring it");
+				}
+			}
+			if (channelClass.getSimpleName().startsWith("Epoll")) {
+				if (options.epollMode() != null) {
+					_bootstrap.option(EpollChannelOption.EPOLL_MODE, options.epollMode());
+				}
+			}
+			else {
+				log.warn("Epoll specific options require the native epoll transport, ignoring them");
+			}
+		}
+
 		if (!secure) {
 			_bootstrap.handler(new TcpClientChannelSetup(this, null, channelBridge,
 					targetHandler));
-			return MonoChannelFuture.from(_bootstrap.connect(address));
+			return MonoChannelFuture.from(_bootstrap.connect(target));
 		}
 		else {
 			DirectProcessor<Void> p = DirectProcessor.create();
 			_bootstrap.handler(new TcpClientChannelSetup(this, p, channelBridge, targetHandler));
-			return MonoChannelFuture.from(_bootstrap.connect(address)).flux().then(p);
+			return MonoChannelFuture.from(_bootstrap.connect(target)).flux().then(p);
 
 		}
 	}
@@ -349,7 +409,7 @@ public class TcpClient extends Peer<ByteBuf, ByteBuf, NettyChannel>
 	}
 
 	protected void bindChannel(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler,
-			SocketChannel ch, ChannelBridge<? extends TcpChannel> channelBridge)
+			io.netty.channel.Channel ch, ChannelBridge<? extends TcpChannel> channelBridge)
 			throws Exception {
 		ch.pipeline()
 		  .addLast(new NettyChannelHandler<>(handler, channelBridge));
@@ -362,7 +422,8 @@ public class TcpClient extends Peer<ByteBuf, ByteBuf, NettyChannel>
 
 	protected static final Logger log = Logger.getLogger(TcpClient.class);
 
-	static final class TcpClientChannelSetup extends ChannelInitializer<SocketChannel> {
+	static final class TcpClientChannelSetup
+			extends ChannelInitializer<io.netty.channel.Channel> {
 
 		final TcpClient                                      parent;
 		final ChannelBridge<? extends TcpChannel>            channelBridge;
@@ -380,12 +441,18 @@ public class TcpClient extends Peer<ByteBuf, ByteBuf, NettyChannel>
 		}
 
 		@Override
-		public void initChannel(final SocketChannel ch) throws Exception {
+		public void initChannel(final io.netty.channel.Channel ch) throws Exception {
 			if (parent.channelGroup != null) {
 				parent.channelGroup.add(ch);
 			}
 
 			ChannelPipeline pipeline = ch.pipeline();
+			if (parent.options.idleTimeout() > 0L || parent.options.writeTimeout() > 0L) {
+				pipeline.addFirst(NettyHandlerNames.TimeoutHandler,
+						new NettyTimeoutHandler(parent.options.idleTimeout(),
+								parent.options.writeTimeout(),
+								parent.timeouts));
+			}
 			if (secureCallback != null && null != parent.sslContext) {
 				if (log.isTraceEnabled()) {
 					pipeline.addFirst(NettyHandlerNames.SslLoggingHandler,
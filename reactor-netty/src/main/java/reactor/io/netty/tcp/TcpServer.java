@@ -17,7 +17,12 @@
 package reactor.io.netty.tcp;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.net.ssl.SSLException;
 
@@ -29,15 +34,21 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.SocketChannelConfig;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.handler.ssl.JdkSslContext;
 import io.netty.handler.ssl.SslContext;
 import org.reactivestreams.Subscriber;
 import reactor.core.flow.MultiProducer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import reactor.core.state.Introspectable;
@@ -50,6 +61,8 @@ import reactor.io.netty.common.ChannelBridge;
 import reactor.io.netty.common.MonoChannelFuture;
 import reactor.io.netty.common.NettyChannel;
 import reactor.io.netty.common.NettyChannelHandler;
+import reactor.io.netty.common.NettyHandlerNames;
+import reactor.io.netty.common.NettyTimeoutHandler;
 import reactor.io.netty.common.Peer;
 import reactor.io.netty.config.NettyOptions;
 import reactor.io.netty.config.ServerOptions;
@@ -187,13 +200,22 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 	final ServerOptions       options;
 	final SslContext          sslContext;
 
+	final DomainSocketAddress domainSocketAddress;
+
+	final int                 acceptors;
+
+	protected final AtomicLong timeouts = new AtomicLong();
+
 	//Carefully reset
 	InetSocketAddress listenAddress;
-	ChannelFuture     bindFuture;
+	ChannelFuture[]   bindFutures;
+
+	volatile boolean draining;
 
 	protected TcpServer(ServerOptions options) {
 		super(options.timer(), options.prefetch());
 		this.listenAddress = options.listenAddress();
+		this.domainSocketAddress = options.domainSocketAddress();
 		this.options = options.toImmutable();
 		int selectThreadCount = DEFAULT_TCP_SELECT_COUNT;
 		int ioThreadCount = DEFAULT_TCP_THREAD_COUNT;
@@ -218,35 +240,85 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 			channelAdapter = NettyNativeDetector.instance();
 		}
 
-		this.selectorGroup = channelAdapter.newEventLoopGroup(selectThreadCount,
-				(Runnable r) -> new Thread(r, "reactor-tcp-server-select-"+COUNTER.incrementAndGet()));
-
 		if (null != options.eventLoopGroup()) {
 			this.ioGroup = options.eventLoopGroup();
 		}
 		else {
 			this.ioGroup = channelAdapter.newEventLoopGroup(ioThreadCount,
-					(Runnable r) -> new Thread(r, "reactor-tcp-server-io-"+COUNTER.incrementAndGet()));
+					null != options.ioThreadFactory() ? options.ioThreadFactory() :
+							(Runnable r) -> new Thread(r, "reactor-tcp-server-io-"+COUNTER.incrementAndGet()));
 		}
 
+		this.acceptors = acceptorCount(options, channelAdapter.getServerChannel(ioGroup), ioGroup);
+
+		// one select loop per listening socket so that each accepts on its own thread
+		this.selectorGroup = channelAdapter.newEventLoopGroup(Math.max(selectThreadCount, acceptors),
+				(Runnable r) -> new Thread(r, "reactor-tcp-server-select-"+COUNTER.incrementAndGet()));
+
 		ServerBootstrap _serverBootstrap = new ServerBootstrap().group(selectorGroup, ioGroup)
-		                                                        .channel(channelAdapter.getServerChannel(ioGroup))
-		                                                        .localAddress((null == listenAddress ?
-				                                                        new InetSocketAddress(0) : listenAddress))
 		                                                        .childOption(ChannelOption.ALLOCATOR,
 				                                                        PooledByteBufAllocator.DEFAULT)
 		                                                        .childOption(ChannelOption.AUTO_READ,
 				                                                        options.ssl() != null);
 
-		_serverBootstrap = _serverBootstrap.option(ChannelOption.SO_BACKLOG, options.backlog())
-		                                   .option(ChannelOption.SO_RCVBUF, options.rcvbuf())
-		                                   .option(ChannelOption.SO_SNDBUF, options.sndbuf())
-		                                   .option(ChannelOption.SO_REUSEADDR, options.reuseAddr());
+		final Class<? extends ServerChannel> channelClass = null != domainSocketAddress ?
+				channelAdapter.getDomainServerChannel(ioGroup) :
+				channelAdapter.getServerChannel(ioGroup);
+
+		if (null != domainSocketAddress) {
+			_serverBootstrap = _serverBootstrap.channel(channelClass)
+			                                   .localAddress(domainSocketAddress)
+			                                   .option(ChannelOption.SO_BACKLOG, options.backlog());
+		}
+		else {
+			_serverBootstrap = _serverBootstrap.channel(channelClass)
+			                                   .localAddress((null == listenAddress ?
+					                                   new InetSocketAddress(0) : listenAddress))
+			                                   .option(ChannelOption.SO_BACKLOG, options.backlog())
+			                                   .option(ChannelOption.SO_RCVBUF, options.rcvbuf())
+			                                   .option(ChannelOption.SO_SNDBUF, options.sndbuf())
+			                                   .option(ChannelOption.SO_REUSEADDR, options.reuseAddr());
+		}
+
+		if (acceptors > 1) {
+			_serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+		}
+
+		if (options.hasEpollOptions()) {
+			if (EpollServerSocketChannel.class.isAssignableFrom(channelClass)) {
+				if (options.tcpFastOpen() > 0) {
+					_serverBootstrap.option(EpollChannelOption.TCP_FASTOPEN, options.tcpFastOpen());
+				}
+				if (options.tcpQuickAck()) {
+					_serverBootstrap.childOption(EpollChannelOption.TCP_QUICKACK, true);
+				}
+				if (options.tcpCork()) {
+					_serverBootstrap.childOption(EpollChannelOption.TCP_CORK, true);
+				}
+				if (options.tcpNotSentLowAt() > 0L) {
+					_serverBootstrap.childOption(EpollChannelOption.TCP_NOTSENT_LOWAT,
+							options.tcpNotSentLowAt());
+				}
+			}
+			if (channelClass.getSimpleName().startsWith("Epoll")) {
+				if (options.epollMode() != null) {
+					_serverBootstrap.option(EpollChannelOption.EPOLL_MODE, options.epollMode())
+					                .childOption(EpollChannelOption.EPOLL_MODE, options.epollMode());
+				}
+			}
+			else {
+				log.warn("Epoll specific options require the native epoll transport, ignoring them");
+			}
+		}
 
 		if (options.isManaged() || NettyOptions.DEFAULT_MANAGED_PEER) {
 			log.debug("Server is managed.");
 			this.channelGroup = new DefaultChannelGroup(null);
 		}
+		else if (options.shutdownTimeout() > 0L) {
+			log.debug("Server is not managed, connections are tracked to be drained on shutdown");
+			this.channelGroup = new DefaultChannelGroup(null);
+		}
 		else {
 			log.debug("Server is not managed (Not directly introspectable)");
 			this.channelGroup = null;
@@ -258,16 +330,21 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 	@Override
 	@SuppressWarnings("unchecked")
 	public Mono<Void> doShutdown() {
+		draining = true;
 		try {
-			bindFuture.channel()
-			          .close()
-			          .sync();
+			for (ChannelFuture bindFuture : bindFutures) {
+				if (bindFuture != null) {
+					bindFuture.channel()
+					          .close()
+					          .sync();
+				}
+			}
 		}
 		catch (InterruptedException ie) {
 			return Mono.error(ie);
 		}
 
-		final Mono<Void> shutdown = MonoChannelFuture.from(selectorGroup.shutdownGracefully());
+		final Mono<Void> shutdown = drain().then(() -> MonoChannelFuture.from(selectorGroup.shutdownGracefully()));
 
 		if (null == getOptions() || null == getOptions().eventLoopGroup()) {
 			return shutdown.then(aVoid -> MonoChannelFuture.from(ioGroup.shutdownGracefully()));
@@ -276,6 +353,47 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 		return shutdown;
 	}
 
+	/**
+	 * Wait for the open connections to close, up to {@link ServerOptions#shutdownTimeout()},
+	 * then close the remaining ones.
+	 *
+	 * @return a {@link Mono} completing when all connections are closed
+	 */
+	Mono<Void> drain() {
+		final long timeout = getOptions().shutdownTimeout();
+		if (timeout <= 0L || channelGroup == null || channelGroup.isEmpty()) {
+			return Mono.empty();
+		}
+
+		List<io.netty.channel.Channel> channels = new ArrayList<>(channelGroup);
+		if (log.isInfoEnabled()) {
+			log.info("Draining {} connections for up to {}ms", channels.size(), timeout);
+		}
+
+		return Flux.fromIterable(channels)
+		           .flatMap(c -> MonoChannelFuture.from(c.closeFuture()))
+		           .then()
+		           .timeout(Duration.ofMillis(timeout))
+		           .otherwise(TimeoutException.class, e -> {
+			           log.warn("Closing {} connections still open after {}ms",
+					           channelGroup.size(),
+					           timeout);
+			           return Flux.fromIterable(channelGroup)
+			                      .flatMap(c -> MonoChannelFuture.from(c.close()))
+			                      .then();
+		           });
+	}
+
+	/**
+	 * Return true once shutdown has started, new connections are then refused and open
+	 * ones are being drained.
+	 *
+	 * @return true if this server is shutting down
+	 */
+	public boolean isDraining() {
+		return draining;
+	}
+
 	@Override
 	public long downstreamCount() {
 		return channelGroup == null ? -1 : channelGroup.size();
@@ -311,6 +429,32 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 		return listenAddress;
 	}
 
+	/**
+	 * Get the number of listening sockets, greater than one when {@link
+	 * ServerOptions#reusePort()} is enabled on the native epoll transport.
+	 * @return the number of listening sockets
+	 */
+	public int getAcceptorCount() {
+		return acceptors;
+	}
+
+	/**
+	 * Get the number of connections closed so far because they exceeded one of the
+	 * configured idle, write or request timeouts.
+	 * @return the number of timed out connections
+	 */
+	public long getTimeoutCount() {
+		return timeouts.get();
+	}
+
+	/**
+	 * Get the unix domain socket address to which this server is bound, if any.
+	 * @return the domain socket address bound or null
+	 */
+	public DomainSocketAddress getDomainSocketAddress() {
+		return domainSocketAddress;
+	}
+
 	/**
 	 * Get the {@link ServerOptions} currently in effect.
 	 * @return the current server options
@@ -321,7 +465,8 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 
 	@Override
 	public String getName() {
-		return "TcpServer:" + getListenAddress().toString();
+		return "TcpServer:" + (domainSocketAddress != null ? domainSocketAddress :
+				getListenAddress()).toString();
 	}
 
 	@Override
@@ -332,11 +477,11 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 	@Override
 	protected Mono<Void> doStart(final ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler) {
 
-		bootstrap.childHandler(new ChannelInitializer<SocketChannel>() {
+		bootstrap.childHandler(new ChannelInitializer<io.netty.channel.Channel>() {
 			@Override
-			public void initChannel(final SocketChannel ch) throws Exception {
-				if (getOptions() != null) {
-					SocketChannelConfig config = ch.config();
+			public void initChannel(final io.netty.channel.Channel ch) throws Exception {
+				if (getOptions() != null && ch instanceof SocketChannel) {
+					SocketChannelConfig config = ((SocketChannel) ch).config();
 					config.setReceiveBufferSize(getOptions().rcvbuf());
 					config.setSendBufferSize(getOptions().sndbuf());
 					config.setKeepAlive(getOptions().keepAlive());
@@ -353,13 +498,24 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 					channelGroup.add(ch);
 				}
 
+				if (getOptions() != null &&
+						(getOptions().idleTimeout() > 0L || getOptions().writeTimeout() > 0L)) {
+					ch.pipeline()
+					  .addLast(NettyHandlerNames.TimeoutHandler,
+							  new NettyTimeoutHandler(getOptions().idleTimeout(),
+									  getOptions().writeTimeout(),
+									  timeouts));
+				}
+
 				bindChannel(handler, ch);
 			}
 		});
 
-		bindFuture = bootstrap.bind();
+		final ChannelFuture[] bindFutures = new ChannelFuture[acceptors];
+		this.bindFutures = bindFutures;
+		bindFutures[0] = bootstrap.bind();
 
-		return new MonoChannelFuture<ChannelFuture>(bindFuture) {
+		Mono<Void> bound = new MonoChannelFuture<ChannelFuture>(bindFutures[0]) {
 			@Override
 			protected void doComplete(ChannelFuture future, Subscriber<? super Void> s) {
 				if(log.isInfoEnabled()) {
@@ -368,13 +524,40 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 							future.channel()
 							      .localAddress());
 				}
-				if (listenAddress.getPort() == 0) {
+				if (domainSocketAddress == null && (listenAddress == null || listenAddress.getPort() == 0)) {
 					listenAddress = (InetSocketAddress) future.channel()
 					                                          .localAddress();
 				}
 				super.doComplete(future, s);
 			}
 		};
+
+		if (acceptors == 1) {
+			return bound;
+		}
+
+		// bind the other sockets to the address resolved by the first one
+		return bound.then(() -> {
+			SocketAddress localAddress = bindFutures[0].channel()
+			                                           .localAddress();
+			for (int i = 1; i < bindFutures.length; i++) {
+				bindFutures[i] = bootstrap.bind(localAddress);
+			}
+			return Flux.fromArray(bindFutures)
+			           .skip(1)
+			           .flatMap(MonoChannelFuture::from)
+			           .then()
+			           .doOnSuccess(v -> log.info("BIND {} acceptors with SO_REUSEPORT on {}",
+					           bindFutures.length,
+					           localAddress))
+			           .doOnError(e -> {
+				           // leave no acceptor bound when one of them failed
+				           for (ChannelFuture f : bindFutures) {
+					           f.channel()
+					            .close();
+				           }
+			           });
+		});
 	}
 
 	@Override
@@ -386,7 +569,8 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 		);
 	}
 
-	protected void bindChannel(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler, SocketChannel nativeChannel) {
+	protected void bindChannel(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler,
+			io.netty.channel.Channel nativeChannel) {
 		ChannelPipeline pipeline = nativeChannel.pipeline();
 
 		if (sslContext != null) {
@@ -406,6 +590,26 @@ public class TcpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implements
 		pipeline.addLast(new NettyChannelHandler<>(handler, this));
 	}
 
+	static int acceptorCount(ServerOptions options,
+			Class<? extends ServerChannel> serverChannel,
+			EventLoopGroup ioGroup) {
+		if (!options.reusePort() || options.domainSocketAddress() != null) {
+			return 1;
+		}
+		if (!EpollServerSocketChannel.class.isAssignableFrom(serverChannel)) {
+			log.warn("SO_REUSEPORT requires the native epoll transport, binding a single socket");
+			return 1;
+		}
+		if (options.reusePortSockets() > 0) {
+			return options.reusePortSockets();
+		}
+		int count = 0;
+		for (EventExecutor ignored : ioGroup) {
+			count++;
+		}
+		return Math.max(1, count);
+	}
+
 	final static Logger log = Logger.getLogger(TcpServer.class);
 
 	static final AtomicLong COUNTER = new AtomicLong();
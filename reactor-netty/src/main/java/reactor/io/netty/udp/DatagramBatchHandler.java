@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.udp;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.MaxMessagesRecvByteBufAllocator;
+import io.netty.channel.RecvByteBufAllocator;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
+
+/**
+ * Group the datagrams read in a same event loop read loop into a single
+ * {@link List} message, flushed downstream on read completion.
+ * <p>
+ * The datagram transports read a single datagram per loop by default and stop after any
+ * datagram smaller than the receive buffer, the handler installs a
+ * {@link ReadLoopAllocator} reading up to {@link #DEFAULT_MAX_MESSAGES_PER_READ}
+ * datagrams per loop, or more if configured, while it is in the pipeline.
+ *
+ * @author Stephane Maldini
+ */
+final class DatagramBatchHandler extends ChannelInboundHandlerAdapter {
+
+	static final int DEFAULT_MAX_MESSAGES_PER_READ = 16;
+
+	Batch                batch;
+	RecvByteBufAllocator previousAllocator;
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+		ChannelConfig config = ctx.channel()
+		                          .config();
+		RecvByteBufAllocator allocator = config.getRecvByteBufAllocator();
+		if (allocator instanceof ReadLoopAllocator) {
+			return;
+		}
+		int maxMessages = allocator instanceof MaxMessagesRecvByteBufAllocator ?
+				Math.max(DEFAULT_MAX_MESSAGES_PER_READ,
+						((MaxMessagesRecvByteBufAllocator) allocator).maxMessagesPerRead()) :
+				DEFAULT_MAX_MESSAGES_PER_READ;
+		previousAllocator = allocator;
+		config.setRecvByteBufAllocator(new ReadLoopAllocator(allocator, maxMessages));
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+		if (!(msg instanceof DatagramPacket)) {
+			ctx.fireChannelRead(msg);
+			return;
+		}
+		Batch batch = this.batch;
+		if (batch == null) {
+			batch = new Batch();
+			this.batch = batch;
+		}
+		batch.packets.add((DatagramPacket) msg);
+	}
+
+	@Override
+	public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+		Batch batch = this.batch;
+		if (batch != null) {
+			this.batch = null;
+			ctx.fireChannelRead(batch);
+		}
+		ctx.fireChannelReadComplete();
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		Batch batch = this.batch;
+		if (batch != null) {
+			this.batch = null;
+			ReferenceCountUtil.release(batch);
+		}
+		RecvByteBufAllocator allocator = previousAllocator;
+		if (allocator != null) {
+			previousAllocator = null;
+			ctx.channel()
+			   .config()
+			   .setRecvByteBufAllocator(allocator);
+		}
+	}
+
+	/**
+	 * Keep reading datagrams until the socket is drained, {@code maxMessages} were
+	 * read or reads were suspended, whatever the size of each datagram compared to its
+	 * receive buffer.
+	 */
+	static final class ReadLoopAllocator implements RecvByteBufAllocator {
+
+		final RecvByteBufAllocator delegate;
+		final int                  maxMessages;
+
+		ReadLoopAllocator(RecvByteBufAllocator delegate, int maxMessages) {
+			this.delegate = delegate;
+			this.maxMessages = maxMessages;
+		}
+
+		@Override
+		public Handle newHandle() {
+			Handle handle = delegate.newHandle();
+			return new Handle() {
+				ChannelConfig config;
+				int           messages;
+
+				@Override
+				public ByteBuf allocate(ByteBufAllocator alloc) {
+					return handle.allocate(alloc);
+				}
+
+				@Override
+				public int guess() {
+					return handle.guess();
+				}
+
+				@Override
+				public void reset(ChannelConfig config) {
+					this.config = config;
+					messages = 0;
+					handle.reset(config);
+				}
+
+				@Override
+				public void incMessagesRead(int numMessages) {
+					messages += numMessages;
+					handle.incMessagesRead(numMessages);
+				}
+
+				@Override
+				public void lastBytesRead(int bytes) {
+					handle.lastBytesRead(bytes);
+				}
+
+				@Override
+				public int lastBytesRead() {
+					return handle.lastBytesRead();
+				}
+
+				@Override
+				public void attemptedBytesRead(int bytes) {
+					handle.attemptedBytesRead(bytes);
+				}
+
+				@Override
+				public int attemptedBytesRead() {
+					return handle.attemptedBytesRead();
+				}
+
+				@Override
+				public boolean continueReading() {
+					// an empty socket already ends the read loop
+					return config.isAutoRead() && handle.lastBytesRead() >= 0 &&
+							messages < maxMessages;
+				}
+
+				@Override
+				public void readComplete() {
+					handle.readComplete();
+				}
+			};
+		}
+	}
+
+	/**
+	 * A reference counted list of datagrams, retaining or releasing all of them
+	 */
+	static final class Batch extends AbstractList<DatagramPacket>
+			implements ReferenceCounted {
+
+		final List<DatagramPacket> packets = new ArrayList<>();
+
+		@Override
+		public DatagramPacket get(int index) {
+			return packets.get(index);
+		}
+
+		@Override
+		public int size() {
+			return packets.size();
+		}
+
+		@Override
+		public int refCnt() {
+			return packets.isEmpty() ? 1 : packets.get(0)
+			                                      .refCnt();
+		}
+
+		@Override
+		public Batch retain() {
+			for (DatagramPacket packet : packets) {
+				packet.retain();
+			}
+			return this;
+		}
+
+		@Override
+		public Batch retain(int increment) {
+			for (DatagramPacket packet : packets) {
+				packet.retain(increment);
+			}
+			return this;
+		}
+
+		@Override
+		public Batch touch() {
+			for (DatagramPacket packet : packets) {
+				packet.touch();
+			}
+			return this;
+		}
+
+		@Override
+		public Batch touch(Object hint) {
+			for (DatagramPacket packet : packets) {
+				packet.touch(hint);
+			}
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			boolean released = true;
+			for (DatagramPacket packet : packets) {
+				released &= packet.release();
+			}
+			return released;
+		}
+
+		@Override
+		public boolean release(int decrement) {
+			boolean released = true;
+			for (DatagramPacket packet : packets) {
+				released &= packet.release(decrement);
+			}
+			return released;
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.udp;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.socket.DatagramPacket;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.io.ipc.ChannelHandler;
+import reactor.io.netty.common.NettyChannel;
+
+/**
+ * A datagram {@link NettyChannel} able to read and write packets in batches.
+ *
+ * @author Stephane Maldini
+ * @since 2.5
+ */
+public interface UdpChannel extends NettyChannel {
+
+	/**
+	 * Adapt a {@link UdpChannel} handler to the {@link NettyChannel} handler accepted by
+	 * {@link UdpServer#start(ChannelHandler)}.
+	 *
+	 * @param handler the handler using the batching operations of {@link UdpChannel}
+	 *
+	 * @return a handler to start a {@link UdpServer} with
+	 */
+	static ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler(
+			ChannelHandler<ByteBuf, ByteBuf, UdpChannel> handler) {
+		return ch -> handler.apply((UdpChannel) ch);
+	}
+
+	/**
+	 * Receive the datagrams read during a same read loop of the event loop as a single
+	 * batch. Each batch and its packets are released after their delivery to the
+	 * subscriber, they must be retained to be used asynchronously.
+	 *
+	 * @return a {@link Flux} of datagram batches
+	 */
+	Flux<List<DatagramPacket>> receivePacketBatches();
+
+	/**
+	 * Send each batch of datagrams with a single flush, letting the transport write them
+	 * with as few system calls as possible ({@code sendmmsg} on the native epoll
+	 * transport). A batch is written once the previous one has been written.
+	 *
+	 * @param batches the datagram batches to send
+	 *
+	 * @return a {@link Mono} completing when all batches have been written
+	 */
+	Mono<Void> sendPacketBatches(Publisher<? extends Iterable<? extends DatagramPacket>> batches);
+}
@@ -32,17 +32,20 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.InternetProtocolFamily;
 import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.NetUtil;
-import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.EventExecutor;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.core.subscriber.Subscribers;
 import reactor.core.util.EmptySubscription;
 import reactor.core.util.Exceptions;
 import reactor.core.util.Logger;
@@ -172,7 +175,9 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 	final NetworkInterface  multicastInterface;
 	final ServerOptions     options;
 
-	volatile DatagramChannel channel;
+	final boolean epoll;
+
+	volatile DatagramChannel[] channels;
 
 	UdpServer(ServerOptions options) {
 		super(options.timer(), options.prefetch());
@@ -184,8 +189,8 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 			this.ioGroup = options.eventLoopGroup();
 		} else {
 			int ioThreadCount = DEFAULT_UDP_THREAD_COUNT;
-			ThreadFactory tf = (Runnable r) -> new Thread(r,
-					"reactor-udp-io-" + COUNTER.incrementAndGet());
+			ThreadFactory tf = null != options.ioThreadFactory() ? options.ioThreadFactory() :
+					(Runnable r) -> new Thread(r, "reactor-udp-io-" + COUNTER.incrementAndGet());
 
 			this.ioGroup = options.protocolFamily() == null ?
 							NettyNativeDetector.instance().newEventLoopGroup(ioThreadCount,
@@ -200,8 +205,19 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 		if ((options.protocolFamily() == null) &&
 				NettyNativeDetector.instance().getDatagramChannel(ioGroup).getSimpleName().startsWith("Epoll")) {
 			bootstrap.channel(NettyNativeDetector.instance().getDatagramChannel(ioGroup));
+			this.epoll = true;
 		} else {
 			bootstrap.channelFactory(() -> new NioDatagramChannel(toNettyFamily(options.protocolFamily())));
+			this.epoll = false;
+		}
+
+		if (options.reusePort()) {
+			if (epoll) {
+				bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+			}
+			else {
+				log.warn("SO_REUSEPORT requires the native epoll transport, binding a single socket");
+			}
 		}
 
 			bootstrap.option(ChannelOption.SO_RCVBUF, options.rcvbuf())
@@ -263,7 +279,8 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 	 * @return a {@link Publisher} that will be complete when the group has been joined
 	 */
 	public Mono<Void> join(final InetAddress multicastAddress, NetworkInterface iface) {
-		if (null == channel) {
+		DatagramChannel[] channels = this.channels;
+		if (null == channels) {
 			throw new IllegalStateException("UdpServer not running.");
 		}
 
@@ -271,20 +288,18 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 			iface = getMulticastInterface();
 		}
 
-		final ChannelFuture future;
-		if (null != iface) {
-			future = channel.joinGroup(new InetSocketAddress(multicastAddress, getListenAddress().getPort()), iface);
-		} else {
-			future = channel.joinGroup(multicastAddress);
+		final ChannelFuture[] futures = new ChannelFuture[channels.length];
+		for (int i = 0; i < channels.length; i++) {
+			if (null != iface) {
+				futures[i] = channels[i].joinGroup(new InetSocketAddress(multicastAddress,
+						getListenAddress().getPort()), iface);
+			}
+			else {
+				futures[i] = channels[i].joinGroup(multicastAddress);
+			}
 		}
 
-		return new MonoChannelFuture<Future<?>>(future){
-			@Override
-			protected void doComplete(Future<?> future, Subscriber<? super Void> s) {
-				log.info("JOIN {}", multicastAddress);
-				super.doComplete(future, s);
-			}
-		};
+		return all(futures).doOnSuccess(v -> log.info("JOIN {}", multicastAddress));
 	}
 
 	/**
@@ -304,7 +319,8 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 	 * @return a {@link Publisher} that will be complete when the group has been left
 	 */
 	public Mono<Void> leave(final InetAddress multicastAddress, NetworkInterface iface) {
-		if (null == channel) {
+		DatagramChannel[] channels = this.channels;
+		if (null == channels) {
 			throw new IllegalStateException("UdpServer not running.");
 		}
 
@@ -312,20 +328,29 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 			iface = getMulticastInterface();
 		}
 
-		final ChannelFuture future;
-		if (null != iface) {
-			future = channel.leaveGroup(new InetSocketAddress(multicastAddress, getListenAddress().getPort()), iface);
-		} else {
-			future = channel.leaveGroup(multicastAddress);
+		final ChannelFuture[] futures = new ChannelFuture[channels.length];
+		for (int i = 0; i < channels.length; i++) {
+			if (null != iface) {
+				futures[i] = channels[i].leaveGroup(new InetSocketAddress(multicastAddress,
+						getListenAddress().getPort()), iface);
+			}
+			else {
+				futures[i] = channels[i].leaveGroup(multicastAddress);
+			}
 		}
 
-		return new MonoChannelFuture<Future<?>>(future){
-			@Override
-			protected void doComplete(Future<?> future, Subscriber<? super Void> s) {
-				log.info("LEAVE {}", multicastAddress);
-				super.doComplete(future, s);
-			}
-		};
+		return all(futures).doOnSuccess(v -> log.info("LEAVE {}", multicastAddress));
+	}
+
+	/**
+	 * Return the number of sockets bound by this server, greater than one when {@link
+	 * ServerOptions#reusePort()} is enabled on the native epoll transport.
+	 *
+	 * @return the number of bound sockets, 0 if not started
+	 */
+	public int getSocketCount() {
+		DatagramChannel[] channels = this.channels;
+		return channels != null ? channels.length : 0;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -335,7 +360,7 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 
 			@Override
 			public void subscribe(final Subscriber<? super Void> subscriber) {
-				ChannelFuture future = bootstrap.handler(new ChannelInitializer<DatagramChannel>() {
+				bootstrap.handler(new ChannelInitializer<DatagramChannel>() {
 					@Override
 					public void initChannel(final DatagramChannel ch) throws Exception {
 						if (null != getOptions() && null != getOptions().pipelineConfigurer()) {
@@ -345,23 +370,54 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 
 						bindChannel(channelHandler, ch);
 					}
-				})
-				                                .bind();
-				future.addListener(new ChannelFutureListener() {
+				});
+
+				final DatagramChannel[] bound = new DatagramChannel[socketCount()];
+
+				// bind the first socket alone to resolve an ephemeral port shared by the others
+				bootstrap.bind()
+				         .addListener(new ChannelFutureListener() {
 					@Override
 					public void operationComplete(ChannelFuture future) throws Exception {
-						subscriber.onSubscribe(EmptySubscription.INSTANCE);
-						if (future.isSuccess()) {
-							log.info("BIND {}",
-									future.channel()
-									      .localAddress());
-							channel = (DatagramChannel) future.channel();
-							subscriber.onComplete();
-						}
-						else {
+						if (!future.isSuccess()) {
+							subscriber.onSubscribe(EmptySubscription.INSTANCE);
 							Exceptions.throwIfFatal(future.cause());
 							subscriber.onError(future.cause());
+							return;
+						}
+						bound[0] = (DatagramChannel) future.channel();
+						log.info("BIND {}", bound[0].localAddress());
+
+						if (bound.length == 1) {
+							channels = bound;
+							subscriber.onSubscribe(EmptySubscription.INSTANCE);
+							subscriber.onComplete();
+							return;
+						}
+
+						ChannelFuture[] futures = new ChannelFuture[bound.length - 1];
+						for (int i = 1; i < bound.length; i++) {
+							futures[i - 1] = bootstrap.bind(bound[0].localAddress());
 						}
+						all(futures).subscribe(Subscribers.consumer(null, e -> {
+							for (ChannelFuture f : futures) {
+								f.channel()
+								 .close();
+							}
+							bound[0].close();
+							subscriber.onSubscribe(EmptySubscription.INSTANCE);
+							subscriber.onError(e);
+						}, () -> {
+							for (int i = 1; i < bound.length; i++) {
+								bound[i] = (DatagramChannel) futures[i - 1].channel();
+							}
+							log.info("BIND {} sockets with SO_REUSEPORT on {}",
+									bound.length,
+									bound[0].localAddress());
+							channels = bound;
+							subscriber.onSubscribe(EmptySubscription.INSTANCE);
+							subscriber.onComplete();
+						}));
 					}
 				});
 			}
@@ -371,17 +427,39 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 	@Override
 	@SuppressWarnings("unchecked")
 	protected Mono<Void> doShutdown() {
-		return new MonoChannelFuture<ChannelFuture>(channel.close()) {
-			@Override
-			protected void doComplete(ChannelFuture future, Subscriber<? super Void> s) {
-				if (null == getOptions() || null == getOptions().eventLoopGroup()) {
-					MonoChannelFuture.from(ioGroup.shutdownGracefully()).subscribe(s);
-				}
-				else {
-					super.doComplete(future, s);
-				}
-			}
-		};
+		DatagramChannel[] channels = this.channels;
+		ChannelFuture[] futures = new ChannelFuture[channels.length];
+		for (int i = 0; i < channels.length; i++) {
+			futures[i] = channels[i].close();
+		}
+		Mono<Void> closed = all(futures);
+		if (null == getOptions() || null == getOptions().eventLoopGroup()) {
+			return closed.then(() -> MonoChannelFuture.from(ioGroup.shutdownGracefully()));
+		}
+		return closed;
+	}
+
+	int socketCount() {
+		if (!options.reusePort() || !epoll) {
+			return 1;
+		}
+		if (options.reusePortSockets() > 0) {
+			return options.reusePortSockets();
+		}
+		int count = 0;
+		for (EventExecutor ignored : ioGroup) {
+			count++;
+		}
+		return Math.max(1, count);
+	}
+
+	static Mono<Void> all(ChannelFuture[] futures) {
+		if (futures.length == 1) {
+			return MonoChannelFuture.from(futures[0]);
+		}
+		return Flux.fromArray(futures)
+		           .flatMap(MonoChannelFuture::from)
+		           .then();
 	}
 
 	void bindChannel(ChannelHandler<ByteBuf, ByteBuf, NettyChannel> handler,
@@ -416,7 +494,7 @@ final public class UdpServer extends Peer<ByteBuf, ByteBuf, NettyChannel> implem
 	@Override
 	public TcpChannel createChannelBridge(io.netty.channel.Channel ioChannel,
 			Object... parameters) {
-		return new TcpChannel(
+		return new UdpServerChannel(
 				getDefaultPrefetchSize(),
 				ioChannel
 		);
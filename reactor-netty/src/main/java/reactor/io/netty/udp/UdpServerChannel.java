@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.udp;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.concurrent.PromiseCombiner;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.io.netty.common.MonoChannelFuture;
+import reactor.io.netty.common.NettyChannelHandler;
+import reactor.io.netty.tcp.TcpChannel;
+
+/**
+ * @author Stephane Maldini
+ */
+final class UdpServerChannel extends TcpChannel implements UdpChannel {
+
+	static final String BATCH_HANDLER = "reactor.udp.batch";
+
+	UdpServerChannel(long prefetch, io.netty.channel.Channel ioChannel) {
+		super(prefetch, ioChannel);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Flux<List<DatagramPacket>> receivePacketBatches() {
+		return Flux.defer(() -> {
+			ChannelPipeline pipeline = delegate().pipeline();
+			if (pipeline.get(BATCH_HANDLER) == null) {
+				ChannelHandlerContext ctx = pipeline.context(NettyChannelHandler.class);
+				if (ctx == null) {
+					return Flux.error(new IllegalStateException("Channel is not bound to a reactor handler"));
+				}
+				pipeline.addBefore(ctx.name(), BATCH_HANDLER, new DatagramBatchHandler());
+			}
+			// datagrams read before the batch handler was added come alone
+			return receiveObject().filter(o -> o instanceof List || o instanceof DatagramPacket)
+			                      .map(o -> o instanceof DatagramPacket ?
+					                      Collections.singletonList((DatagramPacket) o) :
+					                      (List<DatagramPacket>) o);
+		});
+	}
+
+	@Override
+	public Mono<Void> sendPacketBatches(Publisher<? extends Iterable<? extends DatagramPacket>> batches) {
+		return Flux.from(batches)
+		           .concatMap(this::writeBatch)
+		           .then();
+	}
+
+	Mono<Void> writeBatch(Iterable<? extends DatagramPacket> batch) {
+		io.netty.channel.Channel channel = delegate();
+		ChannelPromise promise = channel.newPromise();
+		channel.eventLoop()
+		       .execute(() -> {
+			       PromiseCombiner combiner = new PromiseCombiner();
+			       try {
+				       for (DatagramPacket packet : batch) {
+					       ChannelPromise write = channel.newPromise();
+					       channel.write(packet, write);
+					       combiner.add(write);
+				       }
+			       }
+			       catch (Throwable t) {
+				       channel.flush();
+				       promise.tryFailure(t);
+				       return;
+			       }
+			       // flush the whole batch at once, letting epoll use sendmmsg
+			       channel.flush();
+			       // single-threaded event loop: combiner listeners all run here
+			       combiner.finish(promise);
+		       });
+		return MonoChannelFuture.from(promise);
+	}
+}
@@ -22,7 +22,9 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -67,6 +69,20 @@ public class EpollDetector {
 		  EpollDatagramChannel.class : NioDatagramChannel.class;
 	}
 
+	public static Class<? extends ServerChannel> getDomainServerChannel(EventLoopGroup group) {
+		if (!EpollEventLoopGroup.class.isAssignableFrom(group.getClass()) || !epoll) {
+			throw new UnsupportedOperationException("Unix domain sockets require the native epoll transport");
+		}
+		return EpollServerDomainSocketChannel.class;
+	}
+
+	public static Class<? extends Channel> getDomainChannel(EventLoopGroup group) {
+		if (!EpollEventLoopGroup.class.isAssignableFrom(group.getClass()) || !epoll) {
+			throw new UnsupportedOperationException("Unix domain sockets require the native epoll transport");
+		}
+		return EpollDomainSocketChannel.class;
+	}
+
 	public static boolean hasEpoll() {
 		return epoll;
 	}
@@ -76,4 +76,18 @@ public final class NettyNativeDetector {
 		return epoll ? EpollDetector.getDatagramChannel(group) :  NioDatagramChannel.class;
 	}
 
+	public Class<? extends ServerChannel> getDomainServerChannel(EventLoopGroup group) {
+		if (!epoll) {
+			throw new UnsupportedOperationException("Unix domain sockets require the native epoll transport");
+		}
+		return EpollDetector.getDomainServerChannel(group);
+	}
+
+	public Class<? extends Channel> getDomainChannel(EventLoopGroup group) {
+		if (!epoll) {
+			throw new UnsupportedOperationException("Unix domain sockets require the native epoll transport");
+		}
+		return EpollDetector.getDomainChannel(group);
+	}
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.netty.common;
+
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.Exceptions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Stephane Maldini
+ */
+public class NettyChannelHandlerTests {
+
+	@Test
+	public void bufferedMessagesConsumeTheDemand() {
+		TestSubscriber<Object> ts = TestSubscriber.create(0L);
+		NettyChannelHandler.ChannelInputSubscriber input =
+				new NettyChannelHandler.ChannelInputSubscriber(ts, 32);
+		input.onSubscribe(EmptySubscription.INSTANCE);
+
+		input.onNext("a");
+		input.onNext("b");
+		input.onNext("c");
+		ts.assertNoValues();
+
+		ts.request(1);
+		ts.assertValues("a");
+
+		// no demand is left, the new message queues up behind the buffered ones
+		input.onNext("d");
+		ts.assertValues("a");
+
+		ts.request(3);
+		ts.assertValues("a", "b", "c", "d");
+	}
+
+	@Test
+	public void readsAreSuspendedBeforeTheRingOverflows() {
+		TestSubscriber<Object> ts = TestSubscriber.create(0L);
+		NettyChannelHandler.ChannelInputSubscriber input =
+				new NettyChannelHandler.ChannelInputSubscriber(ts, 32);
+		input.readHeadroom = 16;
+		input.onSubscribe(EmptySubscription.INSTANCE);
+
+		for (int i = 0; i < 31; i++) {
+			input.onNext(i);
+		}
+		assertFalse(input.shouldSuspendRead());
+		input.onNext(31);
+		assertTrue(input.shouldSuspendRead());
+
+		// the rest of the read loop still fits in the ring
+		for (int i = 32; i < 48; i++) {
+			input.onNext(i);
+		}
+		assertEquals(48, input.getPending());
+		ts.assertNoValues()
+		  .assertNoError();
+
+		ts.request(48);
+		ts.assertValueCount(48)
+		  .assertNoError();
+		assertEquals(0, input.getPending());
+	}
+
+	@Test
+	public void ringOverflowIsSignalledAfterBufferedMessages() {
+		TestSubscriber<Object> ts = TestSubscriber.create(0L);
+		NettyChannelHandler.ChannelInputSubscriber input =
+				new NettyChannelHandler.ChannelInputSubscriber(ts, 32);
+		input.readHeadroom = 32;
+		input.onSubscribe(EmptySubscription.INSTANCE);
+
+		for (int i = 0; i < 64; i++) {
+			input.onNext(i);
+		}
+		// the message which did not fit is dropped, so are the ones after it
+		input.onNext(64);
+		input.onNext(65);
+		assertEquals(64, input.getPending());
+		ts.assertNoValues()
+		  .assertNoError();
+
+		ts.request(Long.MAX_VALUE);
+		ts.assertValueCount(64)
+		  .assertError(Exceptions.failWithOverflow()
+		                         .getClass());
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.netty.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import reactor.core.flow.Cancellation;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.util.EmptySubscription;
+import reactor.io.netty.config.ServerOptions;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Stephane Maldini
+ */
+public class ConcurrencyLimiterTests {
+
+	ExecutorService    threadPool;
+	HttpServer         server;
+	MonoProcessor<Void> gate;
+	CountDownLatch     received;
+
+	@Before
+	public void setup() {
+		threadPool = Executors.newCachedThreadPool();
+		gate = MonoProcessor.create();
+		received = new CountDownLatch(1);
+	}
+
+	@After
+	public void cleanup() throws InterruptedException {
+		gate.onComplete();
+		if (server != null) {
+			server.shutdown()
+			      .block();
+		}
+		threadPool.shutdownNow();
+		threadPool.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void rejectsExcessRequestsWithRetryAfter() throws Exception {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.create()
+		                                               .initialLimit(1)
+		                                               .limits(1, 1)
+		                                               .retryAfter(3);
+		start(limiter);
+
+		Future<String> slow = threadPool.submit(() -> request("/slow"));
+		assertTrue("slow request was not admitted", received.await(5, TimeUnit.SECONDS));
+
+		String rejected = request("/fast");
+		assertTrue("unexpected response " + rejected, rejected.startsWith("HTTP/1.1 503"));
+		assertTrue("missing Retry-After " + rejected, rejected.contains("retry-after: 3"));
+		assertTrue("rejection was not counted", limiter.rejectedCount() == 1L);
+
+		gate.onComplete();
+		assertTrue("slow request failed", slow.get(5, TimeUnit.SECONDS)
+		                                      .contains("slow"));
+		assertTrue("fast request failed", request("/fast").contains("fast"));
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (limiter.inFlight() != 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue("permits were not released", limiter.inFlight() == 0);
+	}
+
+	@Test
+	public void queuesExcessRequestsUntilAdmitted() throws Exception {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.create()
+		                                               .initialLimit(1)
+		                                               .limits(1, 1)
+		                                               .queue(8, 5000);
+		start(limiter);
+
+		Future<String> slow = threadPool.submit(() -> request("/slow"));
+		assertTrue("slow request was not admitted", received.await(5, TimeUnit.SECONDS));
+
+		Future<String> queued = threadPool.submit(() -> request("/fast"));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (limiter.queued() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue("request was not queued", limiter.queued() == 1);
+
+		gate.onComplete();
+		assertTrue("slow request failed", slow.get(5, TimeUnit.SECONDS)
+		                                      .contains("slow"));
+		assertTrue("queued request failed", queued.get(5, TimeUnit.SECONDS)
+		                                          .contains("fast"));
+		assertTrue("request was rejected", limiter.rejectedCount() == 0L);
+	}
+
+	@Test
+	public void rejectsQueuedRequestsAfterTheirDeadline() throws Exception {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.create()
+		                                               .initialLimit(1)
+		                                               .limits(1, 1)
+		                                               .queue(8, 100);
+		start(limiter);
+
+		threadPool.submit(() -> request("/slow"));
+		assertTrue("slow request was not admitted", received.await(5, TimeUnit.SECONDS));
+
+		String rejected = request("/fast");
+		assertTrue("unexpected response " + rejected, rejected.startsWith("HTTP/1.1 503"));
+		assertTrue("request is still queued", limiter.queued() == 0);
+	}
+
+	@Test
+	public void shedsLowerPriorityRequestsFirst() throws Exception {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.create()
+		                                               .initialLimit(2)
+		                                               .limits(2, 2)
+		                                               .priority(HttpMappings.get("/slow"), 1)
+		                                               .priority(HttpMappings.get("/batch"), 1);
+		start(limiter);
+
+		threadPool.submit(() -> request("/slow"));
+		assertTrue("slow request was not admitted", received.await(5, TimeUnit.SECONDS));
+
+		String batch = request("/batch");
+		assertTrue("unexpected response " + batch, batch.startsWith("HTTP/1.1 503"));
+		String fast = request("/fast");
+		assertTrue("unexpected response " + fast, fast.contains("fast"));
+	}
+
+	@Test
+	public void adaptsLimitToLatency() {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.create()
+		                                               .initialLimit(10)
+		                                               .limits(1, 100);
+
+		synchronized (limiter) {
+			limiter.inFlight = 10;
+			for (int i = 0; i < 50; i++) {
+				limiter.update(1_000_000L, false);
+			}
+		}
+		int grown = limiter.limit();
+		assertTrue("limit did not grow: " + grown, grown > 10);
+
+		synchronized (limiter) {
+			limiter.inFlight = grown;
+			for (int i = 0; i < 50; i++) {
+				limiter.update(50_000_000L, false);
+			}
+		}
+		int shrunk = limiter.limit();
+		assertTrue("limit did not shrink: " + shrunk, shrunk < grown);
+
+		synchronized (limiter) {
+			limiter.update(1_000_000L, true);
+		}
+		assertTrue("limit did not shrink on failure", limiter.limit() < shrunk);
+	}
+
+	@Test
+	public void freesQueueSlotOfDisconnectedClients() {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.create()
+		                                               .initialLimit(1)
+		                                               .limits(1, 1)
+		                                               .queue(1, 60000);
+		EmbeddedChannel channel = new EmbeddedChannel();
+		synchronized (limiter) {
+			limiter.inFlight = 1;
+		}
+
+		AtomicBoolean resumed = new AtomicBoolean();
+		Mono.<Boolean>create(e -> limiter.acquire(httpChannel(channel), 0, e))
+		    .subscribe(resumed::set);
+		assertTrue("request was not queued", limiter.queued() == 1);
+
+		channel.close();
+		assertTrue("queue slot was not freed", limiter.queued() == 0);
+
+		limiter.release(System.nanoTime(), false, new AtomicBoolean());
+		channel.runPendingTasks();
+		assertTrue("disconnected request was admitted", limiter.inFlight() == 0 && !resumed.get());
+	}
+
+	@Test
+	public void returnsPermitOfRequestCancelledBeforeResuming() {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.create()
+		                                               .initialLimit(1)
+		                                               .limits(1, 1)
+		                                               .queue(1, 60000);
+		EmbeddedChannel channel = new EmbeddedChannel();
+		synchronized (limiter) {
+			limiter.inFlight = 1;
+		}
+
+		AtomicBoolean resumed = new AtomicBoolean();
+		Cancellation waiting = Mono.<Boolean>create(e -> limiter.acquire(httpChannel(channel), 0, e))
+		                           .subscribe(resumed::set);
+		assertTrue("request was not queued", limiter.queued() == 1);
+
+		// admitted, its resumption is pending on the event loop
+		limiter.release(System.nanoTime(), false, new AtomicBoolean());
+		assertTrue("request was not admitted", limiter.queued() == 0 && limiter.inFlight() == 1);
+
+		waiting.dispose();
+		assertTrue("permit was not returned", limiter.inFlight() == 0);
+
+		channel.runPendingTasks();
+		assertTrue("cancelled request was resumed", limiter.inFlight() == 0 && !resumed.get());
+	}
+
+	static HttpChannel httpChannel(EmbeddedChannel channel) {
+		return new NettyHttpChannel(0, channel, null) {
+			@Override
+			protected void doSubscribeHeaders(Subscriber<? super Void> s) {
+				s.onSubscribe(EmptySubscription.INSTANCE);
+				s.onComplete();
+			}
+
+			@Override
+			public Mono<Void> upgradeToWebsocket(String protocols, boolean textPlain) {
+				return Mono.error(new UnsupportedOperationException());
+			}
+		};
+	}
+
+	void start(ConcurrencyLimiter limiter) {
+		server = HttpServer.create(ServerOptions.create()
+		                                        .listen("localhost", 0));
+		server.get("/slow", ch -> {
+			received.countDown();
+			return gate.then(() -> ch.sendString(Mono.just("slow")));
+		})
+		      .get("/batch", ch -> ch.sendString(Mono.just("batch")))
+		      .get("/fast", ch -> ch.sendString(Mono.just("fast")))
+		      .concurrencyLimiter(limiter)
+		      .start()
+		      .block();
+	}
+
+	String request(String path) throws IOException {
+		try (Socket socket = new Socket("localhost",
+				server.getListenAddress()
+				      .getPort())) {
+			socket.setSoTimeout(10000);
+			socket.getOutputStream()
+			      .write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes());
+
+			ByteArrayOutputStream response = new ByteArrayOutputStream();
+			InputStream in = socket.getInputStream();
+			byte[] buffer = new byte[1024];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				response.write(buffer, 0, read);
+			}
+			return response.toString();
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.io.netty.http.sse.ServerSentEvent;
+import reactor.io.netty.http.sse.ServerSentEventCodec;
+import reactor.io.netty.http.sse.ServerSentEventReplay;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Stephane Maldini
+ */
+public class ServerSentEventTests {
+
+	@Test
+	public void encodeMultilineEvent() {
+		ByteBuf buf = ServerSentEventCodec.encode(ServerSentEvent.of("1", "quote", "a\r\nb\nc\rd", 3000L),
+				UnpooledByteBufAllocator.DEFAULT);
+		try {
+			assertThat(buf.toString(StandardCharsets.UTF_8),
+					is("id: 1\nevent: quote\nretry: 3000\ndata: a\ndata: b\ndata: c\ndata: d\n\n"));
+		}
+		finally {
+			buf.release();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectLineEndInId() {
+		ServerSentEvent.of("1\ndata: injected", "quote", "a");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectLineEndInEventName() {
+		ServerSentEvent.of("1", "quote\rretry: 0", "a");
+	}
+
+	@Test
+	public void replayFromLastEventId() {
+		ServerSentEventReplay replay = ServerSentEventReplay.create(3);
+		for (int i = 1; i <= 5; i++) {
+			replay.add(ServerSentEvent.of(String.valueOf(i), null, "e" + i));
+		}
+
+		assertThat(replay.since("1"), is((List<ServerSentEvent>) null));
+
+		List<String> ids = replay.resume("3",
+				Flux.just(ServerSentEvent.of("6", null, "e6")))
+		                         .map(ServerSentEvent::id)
+		                         .collectList()
+		                         .block();
+		assertThat(ids.toString(), is("[4, 5, 6]"));
+	}
+
+	@Test
+	public void eventStreamRoundTrip() {
+		ServerSentEventReplay replay = ServerSentEventReplay.create(16);
+		for (int i = 1; i <= 3; i++) {
+			replay.add(ServerSentEvent.of(String.valueOf(i), null, "e" + i));
+		}
+
+		HttpServer server = HttpServer.create(0);
+		server.get("/events",
+				channel -> channel.sendEvents(Flux.just(ServerSentEvent.of("4", null, "e4")),
+						1000L,
+						replay))
+		      .start()
+		      .block();
+
+		try {
+			String res = HttpClient.create("localhost",
+					server.getListenAddress()
+					      .getPort())
+			                       .get("/events",
+					                       c -> c.addHeader(ServerSentEventCodec.LAST_EVENT_ID, "2")
+					                             .sendHeaders())
+			                       .doOnNext(r -> assertThat(r.responseHeaders()
+			                                                  .get("Content-Type"),
+					                       is("text/event-stream")))
+			                       .flatMap(HttpInbound::receiveString)
+			                       .reduce(String::concat)
+			                       .block();
+
+			assertThat(res, is("id: 3\ndata: e3\n\nid: 4\ndata: e4\n\n"));
+			assertThat(res, not(containsString("e2")));
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+}
@@ -16,10 +16,33 @@
 
 package reactor.io.netty.http;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.test.TestSubscriber;
+import reactor.io.netty.config.ClientOptions;
+import reactor.io.netty.config.ServerOptions;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 
 /**
  * @author tjreactive
@@ -61,6 +84,133 @@ public class WebsocketTests {
 		}
 	}
 
+	@Test
+	public void compressedTest() {
+		StringBuilder payload = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			payload.append("{\"symbol\":\"ABC\",\"bid\":12.5,\"ask\":12.6}");
+		}
+		String expected = payload.toString();
+
+		HttpServer server = HttpServer.create(ServerOptions.on(0)
+		                                                   .websocketCompression(true)
+		                                                   .websocketMaxFrameSize(131072));
+		server.start(channel -> channel.upgradeToTextWebsocket()
+		                               .concatWith(channel.sendString(Mono.just(expected))))
+		      .block();
+
+		try {
+			AtomicReference<String> extensions = new AtomicReference<>();
+
+			String res = HttpClient.create(ClientOptions.to("localhost",
+					server.getListenAddress()
+					      .getPort())
+			                                            .websocketCompression(true)
+			                                            .websocketMaxFrameSize(131072))
+			                       .get("/test", HttpOutbound::upgradeToTextWebsocket)
+			                       .doOnNext(r -> extensions.set(r.responseHeaders()
+			                                                      .get(HttpHeaderNames.SEC_WEBSOCKET_EXTENSIONS)))
+			                       .flatMap(HttpInbound::receiveString)
+			                       .reduce(String::concat)
+			                       .block();
+
+			assertThat(extensions.get(), containsString("permessage-deflate"));
+			assertThat(res, is(expected));
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void fragmentedMessageTest() {
+		HttpServer server = HttpServer.create(0);
+		server.start(channel -> channel.upgradeToWebsocket()
+		                               .concatWith(channel.sendWebsocketMessage(Flux.just("abc", "def", "ghi")
+		                                                                             .map(s -> Unpooled.copiedBuffer(s, StandardCharsets.UTF_8)))))
+		      .block();
+
+		try {
+			String res = HttpClient.create("localhost", server.getListenAddress()
+			                                                  .getPort())
+			                       .get("/test", HttpOutbound::upgradeToWebsocket)
+			                       .flatMap(r -> r.receiveWebsocketMessages()
+			                                      .map(b -> b.toString(StandardCharsets.UTF_8)))
+			                       .collectList()
+			                       .block()
+			                       .get(0);
+
+			assertThat(res, is("abcdefghi"));
+
+			List<Boolean> finalFlags = HttpClient.create("localhost", server.getListenAddress()
+			                                                                 .getPort())
+			                                     .get("/test", HttpOutbound::upgradeToWebsocket)
+			                                     .flatMap(HttpInbound::receiveWebsocketFrames)
+			                                     .map(WebSocketFrame::isFinalFragment)
+			                                     .collectList()
+			                                     .block();
+
+			assertThat(finalFlags, is(Arrays.asList(false, false, true)));
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void clientFragmentedMessageTest() {
+		HttpServer server = HttpServer.create(0);
+		server.start(channel -> channel.upgradeToWebsocket()
+		                               .concatWith(channel.sendString(channel.receiveWebsocketMessages()
+		                                                                     .map(b -> b.toString(StandardCharsets.UTF_8)))))
+		      .block();
+
+		try {
+			List<String> res = HttpClient.create("localhost", server.getListenAddress()
+			                                                        .getPort())
+			                             .get("/test", c -> c.upgradeToWebsocket()
+			                                                 .concatWith(c.sendWebsocketMessage(Flux.just("abc", "def", "ghi")
+			                                                                                        .map(s -> Unpooled.copiedBuffer(s, StandardCharsets.UTF_8)))))
+			                             .flatMap(HttpInbound::receiveString)
+			                             .take(1)
+			                             .collectList()
+			                             .block();
+
+			assertThat(res, is(Arrays.asList("abcdefghi")));
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void tooLongMessageTerminatesOnce() {
+		Publisher<WebSocketFrame> frames = s -> {
+			s.onSubscribe(new Subscription() {
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			// frames already in flight keep coming after the cancellation
+			s.onNext(new BinaryWebSocketFrame(false, 0, Unpooled.wrappedBuffer(new byte[8])));
+			s.onNext(new ContinuationWebSocketFrame(false, 0, Unpooled.wrappedBuffer(new byte[8])));
+			s.onNext(new ContinuationWebSocketFrame(true, 0, Unpooled.wrappedBuffer(new byte[1])));
+			s.onNext(new BinaryWebSocketFrame(Unpooled.wrappedBuffer(new byte[1])));
+			s.onComplete();
+		};
+
+		TestSubscriber<ByteBuf> subscriber = TestSubscriber.create();
+		new WebsocketMessageFlux(frames, UnpooledByteBufAllocator.DEFAULT, 10).subscribe(subscriber);
+
+		subscriber.assertNoValues()
+		          .assertError(TooLongFrameException.class)
+		          .assertNotComplete();
+	}
+
 	@After
 	public void teardown() throws Exception {
 		httpServer.shutdown();
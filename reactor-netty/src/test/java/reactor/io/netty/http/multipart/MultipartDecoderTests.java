@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.multipart;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import reactor.core.subscriber.BaseSubscriber;
+import reactor.core.subscriber.Subscribers;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Stephane Maldini
+ */
+public class MultipartDecoderTests {
+
+	static final String BODY = "preamble\r\n" +
+			"--AaB03x\r\n" +
+			"Content-Disposition: form-data; name=\"field\"\r\n" +
+			"\r\n" +
+			"value\r\n" +
+			"--AaB03x\r\n" +
+			"Content-Disposition: form-data; name=\"file\"; filename=\"a;b.txt\"\r\n" +
+			"Content-Type: text/plain\r\n" +
+			"\r\n" +
+			"line1\r\n--AaB03\r\nline2\r\n" +
+			"--AaB03x\r\n" +
+			"\r\n" +
+			"\r\n" +
+			"--AaB03x--\r\n" +
+			"epilogue";
+
+	@Test
+	public void decodeAcrossChunkSizes() {
+		for (int size = 1; size <= BODY.length(); size++) {
+			List<ByteBuf> chunks = chunks(BODY, size);
+
+			List<String> parts = new MultipartDecoder(Flux.fromIterable(chunks),
+					"AaB03x",
+					UnpooledByteBufAllocator.DEFAULT)
+					.concatMap(p -> p.content()
+					                 .aggregate()
+					                 .map(b -> p.name() + "|" + p.filename() + "|" + p.contentType() + "|" + b.toString(StandardCharsets.UTF_8))
+					                 .defaultIfEmpty(p.name() + "|<empty>"))
+					.collectList()
+					.block();
+
+			assertThat("chunk size " + size, parts.toString(),
+					is("[field|null|null|value, " +
+							"file|a;b.txt|text/plain|line1\r\n--AaB03\r\nline2, " +
+							"null|<empty>]"));
+
+			for (ByteBuf chunk : chunks) {
+				assertThat("chunk size " + size, chunk.refCnt(), is(1));
+			}
+		}
+	}
+
+	@Test
+	public void boundedPartDemand() {
+		List<ByteBuf> chunks = chunks(BODY, 5);
+		List<String> names = new ArrayList<>();
+
+		new MultipartDecoder(Flux.fromIterable(chunks), "AaB03x", UnpooledByteBufAllocator.DEFAULT)
+				.subscribe(new BaseSubscriber<MultipartPart>() {
+					Subscription s;
+
+					@Override
+					public void onSubscribe(Subscription s) {
+						this.s = s;
+						s.request(1);
+					}
+
+					@Override
+					public void onNext(MultipartPart part) {
+						names.add(part.name());
+						part.content()
+						    .subscribe(Subscribers.consumer(ByteBuf::refCnt,
+								    null,
+								    () -> s.request(1)));
+					}
+				});
+
+		assertThat(names.toString(), is("[field, file, null]"));
+	}
+
+	@Test
+	public void missingCloseDelimiter() {
+		try {
+			new MultipartDecoder(Flux.just(Unpooled.copiedBuffer("--AaB03x\r\n\r\nvalue",
+					StandardCharsets.UTF_8)), "AaB03x", UnpooledByteBufAllocator.DEFAULT)
+					.concatMap(p -> p.content()
+					                 .aggregate())
+					.collectList()
+					.block();
+			fail("Expected an error on truncated multipart body");
+		}
+		catch (RuntimeException e) {
+			assertThat(e.getCause() instanceof IllegalStateException, is(true));
+		}
+	}
+
+	static List<ByteBuf> chunks(String body, int size) {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		List<ByteBuf> chunks = new ArrayList<>();
+		for (int i = 0; i < bytes.length; i += size) {
+			chunks.add(Unpooled.copiedBuffer(bytes, i, Math.min(size, bytes.length - i)));
+		}
+		return chunks;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io.netty.http.multipart;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.io.netty.http.HttpClient;
+import reactor.io.netty.http.HttpInbound;
+import reactor.io.netty.http.HttpServer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Stephane Maldini
+ */
+public class MultipartStoreTests {
+
+	@Test
+	public void spillLargePartsToDisk() throws Exception {
+		Path directory = Files.createTempDirectory("multipart-store");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		AtomicInteger writes = new AtomicInteger();
+		MultipartStore store = MultipartStore.create()
+		                                     .threshold(64)
+		                                     .directory(directory)
+		                                     .scheduler(Schedulers.fromExecutor(task -> {
+			                                     writes.incrementAndGet();
+			                                     executor.execute(task);
+		                                     }));
+
+		StringBuilder large = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			large.append("0123456789");
+		}
+		String body = "--AaB03x\r\n" +
+				"Content-Disposition: form-data; name=\"small\"\r\n" +
+				"\r\n" +
+				"value\r\n" +
+				"--AaB03x\r\n" +
+				"Content-Disposition: form-data; name=\"large\"; filename=\"large.txt\"\r\n" +
+				"\r\n" +
+				large +
+				"\r\n--AaB03x--\r\n";
+
+		List<String> files = Collections.synchronizedList(new ArrayList<>());
+
+		HttpServer server = HttpServer.create(0);
+		server.post("/upload",
+				channel -> channel.sendString(channel.receiveMultipart()
+				                                     .receiveStoredParts(store)
+				                                     .map(p -> {
+					                                     String res = p.name() + ":" + p.size() + ":" +
+							                                     (p.isInMemory() ?
+									                                     p.content()
+									                                      .toString(StandardCharsets.UTF_8) :
+									                                     "file");
+					                                     if (!p.isInMemory()) {
+						                                     try {
+							                                     files.add(new String(Files.readAllBytes(p.file()),
+									                                     StandardCharsets.UTF_8));
+						                                     }
+						                                     catch (Exception e) {
+							                                     throw new IllegalStateException(e);
+						                                     }
+					                                     }
+					                                     p.release();
+					                                     return res + "\n";
+				                                     })))
+		      .start()
+		      .block();
+
+		try {
+			String res = HttpClient.create("localhost",
+					server.getListenAddress()
+					      .getPort())
+			                       .post("/upload",
+					                       c -> c.addHeader("Content-Type", "multipart/form-data; boundary=AaB03x")
+					                             .sendString(Mono.just(body)))
+			                       .flatMap(HttpInbound::receiveString)
+			                       .reduce(String::concat)
+			                       .block();
+
+			assertThat(res, is("small:5:value\nlarge:100000:file\n"));
+			assertThat(files.size(), is(1));
+			assertThat(files.get(0), is(large.toString()));
+			assertThat(store.memory(), is(0L));
+			assertThat(writes.get() > 0, is(true));
+			assertThat(Files.list(directory)
+			                .count(), is(0L));
+		}
+		finally {
+			server.shutdown();
+			executor.shutdown();
+			Files.deleteIfExists(directory);
+		}
+	}
+}
@@ -16,25 +16,42 @@
 
 package reactor.io.netty.tcp;
 
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.security.cert.CertificateException;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.codec.LineBasedFrameDecoder;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -51,11 +68,13 @@ import reactor.io.codec.LengthFieldCodec;
 import reactor.io.codec.StandardCodecs;
 import reactor.io.ipc.ChannelHandler;
 import reactor.io.netty.common.NettyChannel;
+import reactor.io.netty.common.NettyChannelHandler;
 import reactor.io.netty.common.NettyCodec;
 import reactor.io.netty.config.ClientOptions;
 import reactor.io.netty.config.ServerOptions;
 import reactor.io.netty.http.HttpClient;
 import reactor.io.netty.http.HttpServer;
+import reactor.io.netty.util.EpollDetector;
 import reactor.io.netty.util.SocketUtils;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -137,6 +156,468 @@ public class TcpServerTests {
 		server.shutdown();
 	}
 
+	@Test
+	public void tcpServerAndClientOverDomainSocket() throws Exception {
+		Assume.assumeTrue(epollEnabled());
+		final File socket = File.createTempFile("reactor-tcp", ".sock");
+		socket.delete();
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		final TcpServer server = TcpServer.create(ServerOptions.create()
+		                                                       .listen(new DomainSocketAddress(socket)));
+		server.start(ch -> ch.sendString(ch.receiveString()
+		                                   .take(1)
+		                                   .map(s -> "echo " + s)))
+		      .block();
+
+		final TcpClient client = TcpClient.create(ClientOptions.create()
+		                                                       .connect(new DomainSocketAddress(socket)));
+		client.start(ch -> {
+			ch.receiveString()
+			  .subscribe(s -> {
+				  if ("echo hello".equals(s)) {
+					  latch.countDown();
+				  }
+			  });
+			return ch.sendString(Mono.just("hello"))
+			         .concatWith(Flux.never());
+		})
+		      .block();
+
+		try {
+			assertTrue("latch was counted down", latch.await(5, TimeUnit.SECONDS));
+		}
+		finally {
+			client.shutdown();
+			server.shutdown();
+			socket.delete();
+		}
+	}
+
+	@Test
+	public void httpServerAndClientOverDomainSocket() throws Exception {
+		Assume.assumeTrue(epollEnabled());
+		final File socket = File.createTempFile("reactor-http", ".sock");
+		socket.delete();
+
+		HttpServer server = HttpServer.create(ServerOptions.create()
+		                                                   .listen(new DomainSocketAddress(socket)));
+		server.get("/hello", ch -> ch.sendString(Mono.just("hello " + ch.headers()
+		                                                                 .get("Host"))))
+		      .start()
+		      .block();
+
+		try {
+			String res = HttpClient.create(ClientOptions.create()
+			                                            .connect(new DomainSocketAddress(socket)))
+			                       .get("http://localhost/hello")
+			                       .flatMap(r -> r.receiveString())
+			                       .reduce(String::concat)
+			                       .block();
+			assertThat("unexpected response " + res, "hello localhost".equals(res));
+		}
+		finally {
+			server.shutdown();
+			socket.delete();
+		}
+	}
+
+	@Test
+	public void httpServerWithEpollOptions() throws Exception {
+		Assume.assumeTrue(epollEnabled());
+		Map<ChannelOption<?>, Object> accepted = new ConcurrentHashMap<>();
+		long plain = averageRoundTripNanos(ServerOptions.create()
+		                                                .listen("localhost", 0), null);
+		long tuned = averageRoundTripNanos(ServerOptions.create()
+		                                                .listen("localhost", 0)
+		                                                .tcpFastOpen(16)
+		                                                .tcpQuickAck(true)
+		                                                .tcpNotSentLowAt(16384)
+		                                                .epollMode(EpollMode.EDGE_TRIGGERED), accepted);
+		log.info("Average loopback request latency: {}us default, {}us with epoll options",
+				plain / 1000,
+				tuned / 1000);
+
+		assertTrue("unexpected accepted channel options " + accepted,
+				Boolean.TRUE.equals(accepted.get(EpollChannelOption.TCP_QUICKACK)) &&
+						Long.valueOf(16384L).equals(accepted.get(EpollChannelOption.TCP_NOTSENT_LOWAT)) &&
+						EpollMode.EDGE_TRIGGERED == accepted.get(EpollChannelOption.EPOLL_MODE));
+		assertTrue("unexpected listening channel options " + accepted,
+				Integer.valueOf(16).equals(accepted.get(EpollChannelOption.TCP_FASTOPEN)));
+	}
+
+	long averageRoundTripNanos(ServerOptions options,
+			Map<ChannelOption<?>, Object> accepted) {
+		final int requests = 100;
+		HttpServer server = HttpServer.create(options);
+		server.get("/ping", ch -> {
+			if (accepted != null && accepted.isEmpty()) {
+				// read the options back on the event loop while the connection is open
+				ChannelConfig child = ch.delegate()
+				                        .config();
+				accepted.put(EpollChannelOption.TCP_QUICKACK,
+						child.getOption(EpollChannelOption.TCP_QUICKACK));
+				accepted.put(EpollChannelOption.TCP_NOTSENT_LOWAT,
+						child.getOption(EpollChannelOption.TCP_NOTSENT_LOWAT));
+				accepted.put(EpollChannelOption.EPOLL_MODE,
+						child.getOption(EpollChannelOption.EPOLL_MODE));
+				accepted.put(EpollChannelOption.TCP_FASTOPEN,
+						ch.delegate()
+						  .parent()
+						  .config()
+						  .getOption(EpollChannelOption.TCP_FASTOPEN));
+			}
+			return ch.sendString(Mono.just("pong"));
+		})
+		      .start()
+		      .block();
+
+		try {
+			HttpClient client = HttpClient.create("localhost",
+					server.getListenAddress()
+					      .getPort());
+			long start = 0L;
+			for (int i = -10; i < requests; i++) {
+				if (i == 0) {
+					start = System.nanoTime();
+				}
+				String res = client.get("/ping")
+				                   .flatMap(r -> r.receiveString())
+				                   .reduce(String::concat)
+				                   .block();
+				assertThat("unexpected response " + res, "pong".equals(res));
+			}
+			return (System.nanoTime() - start) / requests;
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void tcpServerWithReusePortAcceptors() throws Exception {
+		final int port = SocketUtils.findAvailableTcpPort();
+		final int connections = 8;
+		final CountDownLatch latch = new CountDownLatch(connections);
+		final AtomicLong ioThreads = new AtomicLong();
+
+		final TcpServer server = TcpServer.create(ServerOptions.on("localhost", port)
+		                                                       .reusePort(true)
+		                                                       .reusePortSockets(2)
+		                                                       .ioThreadFactory(r -> new Thread(r,
+				                                                       "pinned-io-" + ioThreads.incrementAndGet())));
+		server.start(ch -> ch.sendString(Mono.just("hi")))
+		      .block();
+
+		try {
+			assertTrue("unexpected acceptor count " + server.getAcceptorCount(),
+					server.getAcceptorCount() == (epollEnabled() ? 2 : 1));
+
+			for (int i = 0; i < connections; i++) {
+				TcpClient client = TcpClient.create("localhost", port);
+				client.start(ch -> {
+					ch.receiveString()
+					  .subscribe(s -> latch.countDown());
+					return Flux.never();
+				})
+				      .block();
+			}
+
+			assertTrue("latch was counted down", latch.await(5, TimeUnit.SECONDS));
+			assertTrue("IO threads were not created by the factory", ioThreads.get() > 0);
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public void httpServerDrainsInFlightRequestsOnShutdown() throws Exception {
+		final CountDownLatch received = new CountDownLatch(1);
+		final AtomicReference<String> connection = new AtomicReference<>();
+
+		HttpServer server = HttpServer.create(ServerOptions.create()
+		                                                   .listen("localhost", 0)
+		                                                   .shutdownTimeout(5000));
+		server.get("/slow", ch -> {
+			received.countDown();
+			// respond once shutdown has started
+			return Mono.delay(500)
+			           .then(l -> ch.sendString(Mono.just("done")));
+		})
+		      .start()
+		      .block();
+
+		Future<String> response = threadPool.submit(() -> HttpClient.create("localhost",
+				server.getListenAddress()
+				      .getPort())
+		                                                            .get("/slow")
+		                                                            .flatMap(r -> {
+			                                                            connection.set(r.responseHeaders()
+			                                                                            .get("Connection"));
+			                                                            return r.receiveString();
+		                                                            })
+		                                                            .reduce(String::concat)
+		                                                            .block());
+
+		assertTrue("request was received", received.await(5, TimeUnit.SECONDS));
+		server.shutdown()
+		      .block();
+
+		assertThat("in-flight request was not drained", "done".equals(response.get(5, TimeUnit.SECONDS)));
+		assertThat("unexpected Connection header " + connection.get(), "close".equals(connection.get()));
+	}
+
+	@Test
+	public void httpServerClosesConnectionsAfterShutdownTimeout() throws Exception {
+		final CountDownLatch received = new CountDownLatch(1);
+
+		HttpServer server = HttpServer.create(ServerOptions.create()
+		                                                   .listen("localhost", 0)
+		                                                   .shutdownTimeout(200));
+		server.get("/never", ch -> {
+			received.countDown();
+			return Mono.never();
+		})
+		      .start()
+		      .block();
+
+		threadPool.submit(() -> HttpClient.create("localhost",
+				server.getListenAddress()
+				      .getPort())
+		                                  .get("/never")
+		                                  .block());
+
+		assertTrue("request was received", received.await(5, TimeUnit.SECONDS));
+		long start = System.currentTimeMillis();
+		server.shutdown()
+		      .block();
+		long elapsed = System.currentTimeMillis() - start;
+
+		assertTrue("shutdown took " + elapsed + "ms", elapsed < 5000);
+	}
+
+	@Test
+	public void tcpServerTracksConnectionsToDrainWhenNotManaged() throws Exception {
+		TcpServer server = TcpServer.create(ServerOptions.create()
+		                                                 .listen("localhost", 0)
+		                                                 .shutdownTimeout(200));
+		assertTrue("connections are not tracked", server.downstreamCount() == 0L);
+
+		server.start(ch -> Flux.never())
+		      .block();
+
+		try (Socket socket = new Socket("localhost",
+				server.getListenAddress()
+				      .getPort())) {
+			long deadline = System.currentTimeMillis() + 5000;
+			while (server.downstreamCount() == 0L && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertTrue("connection is not tracked", server.downstreamCount() == 1L);
+
+			socket.setSoTimeout(5000);
+			server.shutdown()
+			      .block();
+			assertTrue("connection was not closed after shutdown timeout",
+					socket.getInputStream()
+					      .read() == -1);
+		}
+	}
+
+	static boolean epollEnabled() {
+		return Boolean.parseBoolean(System.getProperty("reactor.io.epoll", "true")) &&
+				EpollDetector.hasEpoll();
+	}
+
+	@Test
+	public void tcpServerClosesIdleConnections() throws Exception {
+		TcpServer server = TcpServer.create(ServerOptions.create()
+		                                                 .listen("localhost", 0)
+		                                                 .idleTimeout(200));
+		server.start(ch -> Flux.never())
+		      .block();
+
+		try (Socket socket = new Socket("localhost",
+				server.getListenAddress()
+				      .getPort())) {
+			socket.setSoTimeout(5000);
+			assertTrue("idle connection was not closed",
+					socket.getInputStream()
+					      .read() == -1);
+		}
+
+		assertTrue("timeout was not counted", server.getTimeoutCount() == 1L);
+		server.shutdown()
+		      .block();
+	}
+
+	@Test
+	public void tcpServerClosesStalledWrites() throws Exception {
+		TcpServer server = TcpServer.create(ServerOptions.create()
+		                                                 .listen("localhost", 0)
+		                                                 .sndbuf(4096)
+		                                                 .writeTimeout(200));
+		byte[] chunk = new byte[8192];
+		server.start(ch -> ch.sendByteArray(Flux.range(0, 1024)
+		                                        .map(n -> chunk)))
+		      .block();
+
+		try (Socket socket = new Socket()) {
+			socket.setReceiveBufferSize(4096);
+			socket.connect(new InetSocketAddress("localhost",
+					server.getListenAddress()
+					      .getPort()));
+
+			long deadline = System.currentTimeMillis() + 5000;
+			while (server.getTimeoutCount() == 0L && System.currentTimeMillis() < deadline) {
+				Thread.sleep(50);
+			}
+		}
+
+		assertTrue("stalled write was not timed out", server.getTimeoutCount() == 1L);
+		server.shutdown()
+		      .block();
+	}
+
+	@Test
+	public void httpServerAnswersSlowRequestHeadersWithRequestTimeout() throws Exception {
+		HttpServer server = HttpServer.create(ServerOptions.create()
+		                                                   .listen("localhost", 0)
+		                                                   .headersTimeout(200));
+		server.get("/", ch -> ch.sendString(Mono.just("hello")))
+		      .start()
+		      .block();
+
+		try (Socket socket = new Socket("localhost",
+				server.getListenAddress()
+				      .getPort())) {
+			socket.setSoTimeout(5000);
+			socket.getOutputStream()
+			      .write("GET / HTTP/1.1\r\nHost: loc".getBytes());
+
+			BufferedReader reader =
+					new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			String status = reader.readLine();
+			assertTrue("unexpected status " + status,
+					status != null && status.contains("408"));
+		}
+
+		assertTrue("timeout was not counted", server.getTimeoutCount() == 1L);
+		server.shutdown()
+		      .block();
+	}
+
+	@Test
+	public void httpServerBodyTimeoutOnlyClosesStalledBodies() throws Exception {
+		HttpServer server = HttpServer.create(ServerOptions.create()
+		                                                   .listen("localhost", 0)
+		                                                   .bodyTimeout(300));
+		server.post("/", ch -> ch.sendString(ch.receiveString()
+		                                      .reduce(String::concat)))
+		      .start()
+		      .block();
+
+		try (Socket socket = new Socket("localhost",
+				server.getListenAddress()
+				      .getPort())) {
+			socket.setSoTimeout(5000);
+			OutputStream out = socket.getOutputStream();
+			out.write("POST / HTTP/1.1\r\nHost: localhost\r\nContent-Length: 4\r\n\r\n".getBytes());
+			out.flush();
+			// the body takes longer than the timeout but never stays silent that long
+			for (char c : "slow".toCharArray()) {
+				Thread.sleep(150);
+				out.write(c);
+				out.flush();
+			}
+
+			BufferedReader reader =
+					new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			String line;
+			do {
+				line = reader.readLine();
+			}
+			while (line != null && !line.equals("slow"));
+			assertTrue("body was not echoed", line != null);
+		}
+
+		try (Socket socket = new Socket("localhost",
+				server.getListenAddress()
+				      .getPort())) {
+			socket.setSoTimeout(5000);
+			socket.getOutputStream()
+			      .write("POST / HTTP/1.1\r\nHost: localhost\r\nContent-Length: 4\r\n\r\ns".getBytes());
+
+			// the response headers may be sent before the body is received
+			InputStream in = socket.getInputStream();
+			while (in.read() != -1) {
+			}
+		}
+
+		assertTrue("timeout was not counted", server.getTimeoutCount() == 1L);
+		server.shutdown()
+		      .block();
+	}
+
+	@Test
+	public void tcpServerBoundsInboundBufferWithoutDemand() throws Exception {
+		final int port = SocketUtils.findAvailableTcpPort();
+		final int chunks = 2048;
+		final byte[] chunk = new byte[8192];
+		final AtomicReference<NettyChannel> serverChannel = new AtomicReference<>();
+		final CountDownLatch connected = new CountDownLatch(1);
+
+		final TcpServer server = TcpServer.create(ServerOptions.on("localhost", port)
+		                                                       .sslSelfSigned());
+		server.start(ch -> {
+			serverChannel.set(ch);
+			connected.countDown();
+			return Flux.never();
+		})
+		      .block();
+
+		SslContextBuilder clientOptions = SslContextBuilder.forClient()
+		                                                   .trustManager(InsecureTrustManagerFactory.INSTANCE);
+		final TcpClient client = TcpClient.create(ClientOptions.to("localhost", port)
+		                                                       .ssl(clientOptions));
+		client.start(ch -> ch.send(Flux.range(0, chunks)
+		                               .map(i -> Unpooled.wrappedBuffer(chunk)))
+		                     .concatWith(Flux.never()))
+		      .block();
+
+		assertTrue("not connected", connected.await(5, TimeUnit.SECONDS));
+		Thread.sleep(1000);
+
+		io.netty.channel.Channel ioChannel = serverChannel.get()
+		                                                  .delegate();
+		NettyChannelHandler.ChannelInputSubscriber buffer =
+				(NettyChannelHandler.ChannelInputSubscriber) ioChannel.pipeline()
+				                                                      .get(NettyChannelHandler.class)
+				                                                      .downstream();
+		log.info("Buffered {} messages without demand", buffer.getPending());
+		assertTrue("buffered " + buffer.getPending() + " messages", buffer.getPending() <= 256);
+		assertTrue("still reading", !ioChannel.config()
+		                                      .isAutoRead());
+
+		final AtomicLong received = new AtomicLong();
+		final CountDownLatch done = new CountDownLatch(1);
+		serverChannel.get()
+		             .receive()
+		             .subscribe(buf -> {
+			             if (received.addAndGet(buf.readableBytes()) == (long) chunks * chunk.length) {
+				             done.countDown();
+			             }
+		             });
+
+		assertTrue("received " + received.get() + " bytes", done.await(10, TimeUnit.SECONDS));
+
+		client.shutdown()
+		      .block();
+		server.shutdown()
+		      .block();
+	}
+
 	@Test
 	public void tcpServerHandlesLengthFieldData() throws InterruptedException {
 		final int port = SocketUtils.findAvailableTcpPort();
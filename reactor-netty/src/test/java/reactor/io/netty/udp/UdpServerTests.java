@@ -24,17 +24,22 @@ import java.net.MulticastSocket;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import io.netty.buffer.Unpooled;
 import io.netty.util.NetUtil;
 import org.junit.After;
 import org.junit.Before;
@@ -111,6 +116,162 @@ public class UdpServerTests {
 		server.shutdown().block();
 	}
 
+	@Test
+	public void supportsReusePortSockets() throws Exception {
+		final int port = SocketUtils.findAvailableUdpPort();
+		final CountDownLatch latch = new CountDownLatch(16);
+
+		final UdpServer server = UdpServer.create(ServerOptions.create()
+		                                                       .listen("127.0.0.1", port)
+		                                                       .reusePort(true)
+		                                                       .reusePortSockets(2));
+
+		server.start(ch -> {
+			ch.receiveByteArray()
+			  .subscribe(bytes -> latch.countDown());
+			return Flux.never();
+		})
+		      .block();
+
+		assertThat("unexpected socket count " + server.getSocketCount(),
+				server.getSocketCount() == (server.epoll ? 2 : 1));
+
+		for (int i = 0; i < 16; i++) {
+			DatagramChannel udp = DatagramChannel.open();
+			udp.connect(new InetSocketAddress("127.0.0.1", port));
+			udp.write(ByteBuffer.wrap(new byte[]{(byte) i}));
+			udp.close();
+		}
+
+		assertThat("latch was counted down", latch.await(10, TimeUnit.SECONDS));
+		server.shutdown()
+		      .block();
+	}
+
+	@Test
+	public void supportsReceivingDatagramBatches() throws Exception {
+		final int port = SocketUtils.findAvailableUdpPort();
+		final int count = 1000;
+		final CountDownLatch latch = new CountDownLatch(count);
+		final AtomicInteger batches = new AtomicInteger();
+		final AtomicInteger largestBatch = new AtomicInteger();
+		final AtomicReference<UdpChannel> channel = new AtomicReference<>();
+		final CountDownLatch subscribed = new CountDownLatch(1);
+
+		final UdpServer server = UdpServer.create(ServerOptions.create()
+		                                                       .listen("127.0.0.1", port)
+		                                                       .rcvbuf(1024 * 1024));
+
+		server.start(UdpChannel.handler(ch -> {
+			ch.receivePacketBatches()
+			  .subscribe(batch -> {
+				  batches.incrementAndGet();
+				  largestBatch.accumulateAndGet(batch.size(), Math::max);
+				  for (int i = 0; i < batch.size(); i++) {
+					  latch.countDown();
+				  }
+			  });
+			channel.set(ch);
+			subscribed.countDown();
+			return Flux.never();
+		}))
+		      .block();
+
+		assertThat("channel was subscribed", subscribed.await(10, TimeUnit.SECONDS));
+
+		// hold the event loop until every datagram is queued in the socket buffer
+		final CountDownLatch written = new CountDownLatch(1);
+		channel.get()
+		       .delegate()
+		       .eventLoop()
+		       .execute(() -> {
+			       try {
+				       written.await(10, TimeUnit.SECONDS);
+			       }
+			       catch (InterruptedException e) {
+				       Thread.currentThread()
+				             .interrupt();
+			       }
+		       });
+
+		long start = System.nanoTime();
+		DatagramChannel udp = DatagramChannel.open();
+		udp.connect(new InetSocketAddress("127.0.0.1", port));
+		for (int i = 0; i < count; i++) {
+			udp.write(ByteBuffer.wrap(new byte[64]));
+		}
+		udp.close();
+		written.countDown();
+
+		assertThat("latch was counted down", latch.await(10, TimeUnit.SECONDS));
+		long elapsed = Math.max(1, System.nanoTime() - start);
+		log.info("Received {} datagrams in {} batches, {} packets/s",
+				count,
+				batches.get(),
+				count * 1_000_000_000L / elapsed);
+		assertThat("datagrams were not batched: " + batches.get() + " batches",
+				batches.get() < count && largestBatch.get() > 1);
+		server.shutdown()
+		      .block();
+	}
+
+	@Test
+	public void supportsSendingDatagramBatches() throws Exception {
+		final int port = SocketUtils.findAvailableUdpPort();
+		final int batchSize = 32;
+		final int batchCount = 16;
+		final CountDownLatch sent = new CountDownLatch(1);
+
+		final DatagramChannel receiver = DatagramChannel.open();
+		receiver.setOption(StandardSocketOptions.SO_RCVBUF, 1024 * 1024);
+		receiver.bind(new InetSocketAddress("127.0.0.1", 0));
+		final InetSocketAddress target = (InetSocketAddress) receiver.getLocalAddress();
+
+		final UdpServer server = UdpServer.create(ServerOptions.create()
+		                                                       .listen("127.0.0.1", port));
+
+		long start = System.nanoTime();
+		server.start(UdpChannel.handler(ch -> ch.sendPacketBatches(Flux.range(0, batchCount)
+		                                            .map(n -> {
+			                                            List<io.netty.channel.socket.DatagramPacket>
+					                                            batch = new ArrayList<>(batchSize);
+			                                            for (int i = 0; i < batchSize; i++) {
+				                                            batch.add(new io.netty.channel.socket.DatagramPacket(
+						                                            Unpooled.wrappedBuffer(new byte[]{(byte) i}),
+						                                            target));
+			                                            }
+			                                            return batch;
+		                                            }))
+		                     .doOnSuccess(v -> sent.countDown())))
+		      .block();
+
+		assertThat("batches were sent", sent.await(10, TimeUnit.SECONDS));
+		long elapsed = Math.max(1, System.nanoTime() - start);
+		log.info("Sent {} datagrams in {} batches, {} packets/s",
+				batchSize * batchCount,
+				batchCount,
+				batchSize * batchCount * 1_000_000_000L / elapsed);
+
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		receiver.configureBlocking(false);
+		int received = 0;
+		long deadline = System.currentTimeMillis() + 5000;
+		while (received < batchSize * batchCount && System.currentTimeMillis() < deadline) {
+			buffer.clear();
+			if (receiver.receive(buffer) != null) {
+				received++;
+			}
+			else {
+				Thread.sleep(10);
+			}
+		}
+		receiver.close();
+
+		assertThat("received " + received + " datagrams", received == batchSize * batchCount);
+		server.shutdown()
+		      .block();
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void supportsUdpMulticast() throws Exception {